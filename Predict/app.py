@@ -7,6 +7,8 @@ import torch.nn.functional as F
 import httpx
 import os
 import re
+import asyncio
+from typing import List
 
 # database.py에서 필요한 객체를 import
 # 이 import 문이 실행될 때 database.py가 바로 실행되어 모든 변수를 초기화합니다.
@@ -35,6 +37,10 @@ class TextRequest(BaseModel):
     text: str
 
 
+class BatchTextRequest(BaseModel):
+    texts: List[str]
+
+
 # =========================
 # 3️⃣ 모델 로딩 (감정 분류 모델)
 # =========================
@@ -171,6 +177,52 @@ async def predict(req: TextRequest):
         raise HTTPException(status_code=500, detail=f"예측 실패: {str(e)}")
 
 
+# =========================
+# 6️⃣-2 묶음 예측 API (Spring 서버의 EmotionBatcher가 호출)
+# =========================
+@app.post("/predict/batch")
+async def predict_batch(req: BatchTextRequest):
+    texts = [t.strip() for t in req.texts]
+    if not texts:
+        return {"results": []}
+    try:
+        # 여러 문장을 한 번의 forward pass로 처리. 묶음 안에서 가장 긴 문장 길이까지만 패딩한다.
+        encoding = tokenizer(
+            texts,
+            truncation=True,
+            padding=True,
+            max_length=256,
+            return_tensors="pt"
+        )
+        input_ids = encoding['input_ids'].to(device)
+        attention_mask = encoding['attention_mask'].to(device)
+
+        with torch.no_grad():
+            logits = model(input_ids=input_ids, attention_mask=attention_mask).logits
+            all_probs = F.softmax(logits, dim=1).cpu()
+
+        labels = []
+        for text, probs in zip(texts, all_probs):
+            probs = adjust_emotion_by_keywords(text, probs.clone())
+            labels.append(label_classes[int(probs.argmax())])
+
+        # 추천 문구는 감정별로 한 번만 생성해서 나눠 쓴다
+        unique_labels = list(dict.fromkeys(labels))
+        recommendations = await asyncio.gather(*(call_gemini(label) for label in unique_labels))
+        by_label = dict(zip(unique_labels, recommendations))
+
+        return {
+            "results": [
+                {"predicted_emotion": label, "recommendation": by_label[label]}
+                for label in labels
+            ]
+        }
+
+    except Exception as e:
+        print(f"묶음 예측 오류: {e}")
+        raise HTTPException(status_code=500, detail=f"예측 실패: {str(e)}")
+
+
 # =========================
 # 7️⃣ 서버 실행
 # =========================
@@ -0,0 +1,44 @@
+package com.example.demo.food;
+
+import com.example.demo.food.Service.FoodService;
+import com.example.demo.food.model.dto.FoodResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FastAPI /upload 응답 처리 벤치마크.
+ * toResponse는 RestTemplate가 만든 Map을 DTO로 바꾸는 부분만, readAndConvert는 JSON 파싱까지 포함한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FoodResponseParsingBenchmark {
+
+    private static final String RESPONSE_JSON = """
+            {"food_name": "김치찌개", "confidence": 0.9342,
+             "nutrition_info": {"calories": 412.5, "protein": 21.3, "fat": 18.0, "carbohydrates": 35.7}}
+            """;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Map<String, Object> response;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        response = objectMapper.readValue(RESPONSE_JSON, Map.class);
+    }
+
+    @Benchmark
+    public FoodResponseDto toResponse() {
+        return FoodService.toResponse(response);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public FoodResponseDto readAndConvert() throws Exception {
+        return FoodService.toResponse(objectMapper.readValue(RESPONSE_JSON, Map.class));
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.demo.meal;
+
+import com.example.demo.food.model.Food;
+import com.example.demo.meal.NutritionCalculator.NutritionRequirement;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 식단 화면/추천/캘린더의 영양소 계산 경로 벤치마크.
+ * foodCount는 하루 음식 기록 수, dietCount는 캘린더에 올라가는 회원의 전체 식단 수.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NutritionBenchmark {
+
+    @Param({"3", "30"})
+    int foodCount;
+
+    @Param({"30", "1000"})
+    int dietCount;
+
+    private List<Food> foods;
+    private List<Diet> diets;
+    private NutritionRequirement requirement;
+    private String existingMeals;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        String[] mealTimes = {"breakfast", "lunch", "dinner"};
+        foods = new ArrayList<>(foodCount);
+        for (int i = 0; i < foodCount; i++) {
+            Food food = new Food();
+            food.setFoodName("음식" + i);
+            food.setMealTime(mealTimes[i % mealTimes.length]);
+            food.setCalories(random.nextInt(800) + 0.5);
+            food.setCarbohydrates(random.nextInt(100) + 0.5);
+            food.setProtein(i % 5 == 0 ? null : random.nextInt(40) + 0.5);   // 일부는 값 없음
+            food.setFat(random.nextInt(30) + 0.5);
+            foods.add(food);
+        }
+
+        diets = new ArrayList<>(dietCount);
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < dietCount; i++) {
+            Diet diet = new Diet();
+            diet.setDietDate(start.plusDays(i));
+            diet.setTotalKcal(1500.0 + random.nextInt(1000));
+            diets.add(diet);
+        }
+
+        requirement = NutritionCalculator.calculateDailyRequirement("남", 175, 70);
+        existingMeals = "현미밥, 달걀찜, 시금치나물";
+    }
+
+    @Benchmark
+    public NutritionCalculator.NutritionInfo sumNutrition() {
+        return NutritionCalculator.sum(foods);
+    }
+
+    @Benchmark
+    public void assumedConsumedNutrition(Blackhole bh) {
+        bh.consume(NutritionCalculator.calculateAssumedConsumedNutrition(requirement, true, false, false, "lunch"));
+        bh.consume(NutritionCalculator.calculateAssumedConsumedNutrition(requirement, false, false, false, "breakfast"));
+    }
+
+    @Benchmark
+    public NutritionRequirement dailyRequirement() {
+        return NutritionCalculator.calculateDailyRequirement("female", 162, 55);
+    }
+
+    @Benchmark
+    public void mergeMeals(Blackhole bh) {
+        bh.consume(NutritionCalculator.mergeMeals(existingMeals, "김치"));
+        bh.consume(NutritionCalculator.mergeMeals(null, "김치"));
+        bh.consume(NutritionCalculator.mergeMeals(existingMeals, ""));
+    }
+
+    @Benchmark
+    public Map<LocalDate, Double> calendarSummary() {
+        return NutritionCalculator.summarizeKcalByDate(diets);
+    }
+}
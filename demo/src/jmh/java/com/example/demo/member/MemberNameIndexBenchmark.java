@@ -0,0 +1,65 @@
+package com.example.demo.member;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 관리자 회원 이름 부분검색(MemberNameIndex) 벤치마크. memberCount명의 난수 한글 이름을 색인한 뒤
+ * MemberService.search가 한 번에 읽는 후보 수(200)만큼 조회한다. 목표: 1,000,000명에서 p99 10ms 미만.
+ * SampleTime 모드라 결과에 p0.99가 함께 나온다.
+ * 실행: ./gradlew jmh -Pjmh.includes=MemberNameIndex
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MemberNameIndexBenchmark {
+
+    private static final String[] SURNAMES = {"김", "이", "박", "최", "정", "강", "조", "윤", "장", "임", "한", "오", "서", "신", "권"};
+    private static final String SYLLABLES = "민서준지현우수영하윤도연시은예진성호재아유나태경동혁주희승채소율건";
+    private static final int CANDIDATES = 200;   // MemberService.NAME_CANDIDATE_CHUNK
+
+    @Param({"1000000"})
+    int memberCount;
+
+    private MemberNameIndex index;
+    private long middleNum;
+
+    @Setup
+    public void setUp() {
+        index = new MemberNameIndex(null);   // DB 없이 update로만 채운다
+        Random random = new Random(42);
+        for (long num = 1; num <= memberCount; num++) {
+            StringBuilder name = new StringBuilder(SURNAMES[random.nextInt(SURNAMES.length)]);
+            int length = 1 + random.nextInt(2);
+            for (int i = 0; i < length; i++) name.append(SYLLABLES.charAt(random.nextInt(SYLLABLES.length())));
+            index.update(num, null, name.toString());
+        }
+        middleNum = memberCount / 2;
+    }
+
+    // 1글자: 가장 긴 목록 하나를 최신순으로 훑는다
+    @Benchmark
+    public List<Long> singleSyllable() {
+        return index.search("민", CANDIDATES);
+    }
+
+    // 2글자 조각 여러 개의 교집합
+    @Benchmark
+    public List<Long> fullName() {
+        return index.search("김민서", CANDIDATES);
+    }
+
+    @Benchmark
+    public List<Long> choseong() {
+        return index.search("ㅁㅅ", CANDIDATES);
+    }
+
+    // DB 확인 뒤 후보가 모자라 다음 후보를 이어서 읽는 경우
+    @Benchmark
+    public List<Long> nextCandidates() {
+        return index.search("민서", middleNum, CANDIDATES);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.demo.search;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 관리자 공지/문의 검색(TextIndex) 벤치마크. docCount개 문서를 색인한 뒤 첫 페이지와 두 번째 페이지(cursor) 검색 시간.
+ * 실행: ./gradlew jmh -Pjmh.includes=TextIndex
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TextIndexBenchmark {
+
+    private static final String[] WORDS = {"식단", "기록", "칼로리", "사진", "분석", "회원", "탈퇴", "비밀번호", "로그인", "오류", "감정", "음식"};
+
+    @Param({"10000", "100000"})
+    int docCount;
+
+    private TextIndex index;
+    private SearchCursor secondPage;
+
+    @Setup
+    public void setUp() {
+        index = new TextIndex(3);
+        for (long id = 1; id <= docCount; id++) {
+            String body = WORDS[(int) (id % WORDS.length)] + " " + WORDS[(int) (id * 7 % WORDS.length)] + " 문의드립니다";
+            index.put(id, WORDS[(int) (id * 3 % WORDS.length)] + " 관련", body);
+        }
+        secondPage = SearchCursor.decode(index.search("칼로리 관련", null, 10).getNextCursor());
+    }
+
+    @Benchmark
+    public SearchPage firstPage() {
+        return index.search("칼로리 관련", null, 10);
+    }
+
+    @Benchmark
+    public SearchPage nextPage() {
+        return index.search("칼로리 관련", secondPage, 10);
+    }
+
+    @Benchmark
+    public SearchPage singleTerm() {
+        return index.search("비밀번호", null, 10);
+    }
+}
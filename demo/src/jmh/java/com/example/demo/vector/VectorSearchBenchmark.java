@@ -0,0 +1,69 @@
+package com.example.demo.vector;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 감정 벡터 top-k 검색: HNSW와 전체 비교(BruteForceIndex). 384차원 군집형 난수 벡터 count개.
+ * 재현율은 HnswIndexTest에서 확인한다.
+ * 실행: ./gradlew jmh -Pjmh.includes=VectorSearch
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VectorSearchBenchmark {
+
+    private static final int DIM = 384;
+    private static final int K = 10;
+
+    @Param({"1000", "10000"})
+    int count;
+
+    private BruteForceIndex exact;
+    private HnswIndex hnsw;
+    private float[][] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        float[][] centers = new float[50][DIM];
+        for (float[] center : centers) {
+            for (int i = 0; i < DIM; i++) center[i] = (float) random.nextGaussian();
+        }
+        VectorStore store = new VectorStore(DIM, count);
+        float[] v = new float[DIM];
+        for (int n = 0; n < count; n++) {
+            float[] center = centers[random.nextInt(centers.length)];
+            for (int i = 0; i < DIM; i++) v[i] = center[i] + (float) random.nextGaussian() * 0.5f;
+            store.add(v);
+        }
+        exact = new BruteForceIndex(store);
+        hnsw = HnswIndex.build(store, 16, 200, 64);
+
+        queries = new float[256][];
+        for (int q = 0; q < queries.length; q++) {
+            float[] base = store.get(random.nextInt(store.size()));
+            for (int i = 0; i < DIM; i++) base[i] += (float) random.nextGaussian() * 0.1f;
+            queries[q] = base;
+        }
+    }
+
+    private float[] nextQuery() {
+        next = (next + 1) & (queries.length - 1);
+        return queries[next];
+    }
+
+    @Benchmark
+    public List<Neighbor> bruteForce() {
+        return exact.search(nextQuery(), K);
+    }
+
+    @Benchmark
+    public List<Neighbor> hnsw() {
+        return hnsw.search(nextQuery(), K);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.demo.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 스텁 응답 지연 분포 + 오류율.
+ * 지연 형식: fixed:50 / uniform:20:200 / lognormal:150:0.6 (중앙값 ms, 시그마). 단위는 ms.
+ */
+public class LatencyProfile {
+
+    private final String kind;
+    private final double a;
+    private final double b;
+    private final double errorRate;
+
+    private LatencyProfile(String kind, double a, double b, double errorRate) {
+        this.kind = kind;
+        this.a = a;
+        this.b = b;
+        this.errorRate = errorRate;
+    }
+
+    public static LatencyProfile parse(String spec, double errorRate) {
+        String[] parts = spec.trim().split(":");
+        String kind = parts[0].toLowerCase();
+        double a = parts.length > 1 ? Double.parseDouble(parts[1]) : 0;
+        double b = parts.length > 2 ? Double.parseDouble(parts[2]) : 0;
+        switch (kind) {
+            case "fixed", "uniform", "lognormal" -> {
+            }
+            default -> throw new IllegalArgumentException("알 수 없는 지연 분포: " + spec);
+        }
+        if (errorRate < 0 || errorRate > 1) {
+            throw new IllegalArgumentException("오류율은 0~1 사이여야 합니다: " + errorRate);
+        }
+        return new LatencyProfile(kind, a, b, errorRate);
+    }
+
+    /** stub.<name>.latency / stub.<name>.error-rate 시스템 프로퍼티로 읽는다. */
+    public static LatencyProfile fromSystemProperties(String name, String defaultLatency) {
+        String latency = System.getProperty("stub." + name + ".latency", defaultLatency);
+        double errorRate = Double.parseDouble(System.getProperty("stub." + name + ".error-rate", "0"));
+        return parse(latency, errorRate);
+    }
+
+    public long sampleMillis() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double millis = switch (kind) {
+            case "uniform" -> a + random.nextDouble() * Math.max(0, b - a);
+            case "lognormal" -> a * Math.exp(b * random.nextGaussian());
+            default -> a;
+        };
+        return Math.max(0, Math.round(millis));
+    }
+
+    public boolean shouldFail() {
+        return errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+    }
+
+    @Override
+    public String toString() {
+        return kind + ":" + a + (kind.equals("fixed") ? "" : ":" + b) + (errorRate > 0 ? " (error " + errorRate + ")" : "");
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.demo.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 스프링 앱 대상 부하 테스트. 가상 사용자 수만큼 스레드를 띄워 로그인 → (식단 화면, 사진 분석/저장, 다음 끼니 추천, 캘린더) 를 반복한다.
+ * 끝나면 단계별 처리량과 p50/p90/p99를 출력하고 load.report 경로에 JSON으로 저장한다.
+ *
+ * 실행 순서: ./gradlew loadStubs (모델 서버 대신) → 앱 실행 → ./gradlew loadTest -Dload.users=50 -Dload.duration-seconds=120
+ */
+public class LoadTestDriver {
+
+    public record Config(String baseUrl, int users, int durationSeconds, int rampUpSeconds, long thinkMillis,
+                         int reloginEvery, String userPrefix, String password, boolean signup,
+                         int requestTimeoutSeconds, byte[] image, String report) {
+
+        static Config fromSystemProperties() throws IOException {
+            String imagePath = System.getProperty("load.image", "");
+            byte[] image = imagePath.isBlank() ? placeholderJpeg() : Files.readAllBytes(Path.of(imagePath));
+            return new Config(
+                    System.getProperty("load.base-url", "http://localhost:8080"),
+                    Integer.getInteger("load.users", 20),
+                    Integer.getInteger("load.duration-seconds", 60),
+                    Integer.getInteger("load.ramp-up-seconds", 10),
+                    Long.getLong("load.think-ms", 500),
+                    Integer.getInteger("load.relogin-every", 10),
+                    System.getProperty("load.user-prefix", "loadtest"),
+                    System.getProperty("load.password", "loadtest1234!"),
+                    Boolean.parseBoolean(System.getProperty("load.signup", "true")),
+                    Integer.getInteger("load.request-timeout-seconds", 60),
+                    image,
+                    System.getProperty("load.report", "build/results/loadtest/report.json"));
+        }
+
+        // 스텁 서버는 이미지 내용을 보지 않으므로 JPEG 헤더만 있는 작은 바이트 배열로 충분
+        private static byte[] placeholderJpeg() {
+            byte[] bytes = new byte[16 * 1024];
+            bytes[0] = (byte) 0xFF;
+            bytes[1] = (byte) 0xD8;
+            bytes[bytes.length - 2] = (byte) 0xFF;
+            bytes[bytes.length - 1] = (byte) 0xD9;
+            return bytes;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Config config = Config.fromSystemProperties();
+        System.out.printf("부하 테스트: %s, 사용자 %d명, %d초 (ramp-up %d초)%n",
+                config.baseUrl(), config.users(), config.durationSeconds(), config.rampUpSeconds());
+
+        Map<String, StepStats> stats = new ConcurrentHashMap<>();
+        AtomicLong failedUsers = new AtomicLong();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(config.durationSeconds());
+
+        ExecutorService pool = Executors.newFixedThreadPool(config.users());
+        for (int i = 0; i < config.users(); i++) {
+            int index = i;
+            long delayMillis = config.users() > 1 ? config.rampUpSeconds() * 1000L * i / (config.users() - 1) : 0;
+            pool.submit(() -> runUser(config, stats, index, delayMillis, deadline, failedUsers));
+        }
+        pool.shutdown();
+        pool.awaitTermination(config.durationSeconds() + config.rampUpSeconds() + config.requestTimeoutSeconds() + 30L, TimeUnit.SECONDS);
+        pool.shutdownNow();
+
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        report(config, stats, elapsed, failedUsers.get());
+    }
+
+    private static void runUser(Config config, Map<String, StepStats> stats, int index, long delayMillis,
+                                long deadline, AtomicLong failedUsers) {
+        VirtualUser user = new VirtualUser(config, stats, index);
+        try {
+            Thread.sleep(delayMillis);
+            if (!user.login()) {
+                failedUsers.incrementAndGet();
+                System.out.println("로그인 실패: " + config.userPrefix() + index);
+                return;
+            }
+            int iterations = 0;
+            while (System.nanoTime() < deadline) {
+                user.iterate();
+                if (config.reloginEvery() > 0 && ++iterations % config.reloginEvery() == 0) {
+                    user.logout();
+                    if (!user.login()) {
+                        failedUsers.incrementAndGet();
+                        return;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            failedUsers.incrementAndGet();
+            System.out.println("가상 사용자 " + index + " 중단: " + e);
+        }
+    }
+
+    private static void report(Config config, Map<String, StepStats> stats, double elapsed, long failedUsers) throws IOException {
+        List<StepStats.Summary> summaries = new ArrayList<>();
+        stats.values().forEach(s -> summaries.add(s.summarize(elapsed)));
+        summaries.sort(Comparator.comparing(StepStats.Summary::step));
+
+        System.out.printf("%n%-22s %8s %7s %9s %9s %9s %9s %9s%n", "step", "count", "errors", "req/s", "p50(ms)", "p90(ms)", "p99(ms)", "max(ms)");
+        for (StepStats.Summary s : summaries) {
+            System.out.printf("%-22s %8d %7d %9.2f %9.1f %9.1f %9.1f %9.1f%n",
+                    s.step(), s.count(), s.errors(), s.throughput(), s.p50Ms(), s.p90Ms(), s.p99Ms(), s.maxMs());
+        }
+        System.out.printf("경과 %.1f초, 중단된 가상 사용자 %d명%n", elapsed, failedUsers);
+
+        if (config.report() == null || config.report().isBlank()) return;
+        StringBuilder json = new StringBuilder();
+        json.append(String.format("{\"base_url\":\"%s\",\"users\":%d,\"elapsed_seconds\":%.1f,\"failed_users\":%d,\"steps\":[",
+                config.baseUrl(), config.users(), elapsed, failedUsers));
+        for (int i = 0; i < summaries.size(); i++) {
+            if (i > 0) json.append(',');
+            json.append(summaries.get(i).toJson());
+        }
+        json.append("]}\n");
+        Path path = Path.of(config.report());
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+        Files.writeString(path, json.toString());
+        System.out.println("결과 저장: " + path.toAbsolutePath());
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.demo.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * 시나리오 단계별 응답시간(마이크로초) 기록. 부하 테스트가 끝난 뒤 정렬해서 백분위를 계산한다.
+ */
+public class StepStats {
+
+    private final String name;
+    private long[] latencies = new long[1024];
+    private int count;
+    private long errors;
+
+    public StepStats(String name) {
+        this.name = name;
+    }
+
+    public synchronized void record(long micros, boolean ok) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = micros;
+        if (!ok) errors++;
+    }
+
+    public synchronized Summary summarize(double elapsedSeconds) {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        return new Summary(name, count, errors, count / elapsedSeconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                count == 0 ? 0 : sorted[count - 1] / 1000.0);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1000.0;
+    }
+
+    public record Summary(String step, long count, long errors, double throughput,
+                          double p50Ms, double p90Ms, double p99Ms, double maxMs) {
+
+        String toJson() {
+            return String.format("{\"step\":\"%s\",\"count\":%d,\"errors\":%d,\"throughput\":%.2f,"
+                            + "\"p50_ms\":%.1f,\"p90_ms\":%.1f,\"p99_ms\":%.1f,\"max_ms\":%.1f}",
+                    step, count, errors, throughput, p50Ms, p90Ms, p99Ms, maxMs);
+        }
+    }
+}
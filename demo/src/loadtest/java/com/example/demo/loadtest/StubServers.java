@@ -0,0 +1,175 @@
+package com.example.demo.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Python 모델 서버 대신 띄우는 스텁 서버. (JDK 내장 HttpServer)
+ * - 8000: /upload (음식 사진 분석), /predict, /predict/batch (감정 분석)
+ * - 8001: /recommend, /recommend/next (식단 추천)
+ * 포트는 stub.vision-port / stub.diet-port, 엔드포인트별 지연/오류율은 LatencyProfile 참고.
+ * GET /stats (8000) 는 /upload 동시 처리 수(현재/최대)를 돌려주고, POST /stats/reset 으로 초기화한다.
+ * 실행: ./gradlew loadStubs -Dstub.upload.latency=lognormal:300:0.5 -Dstub.upload.error-rate=0.02
+ */
+public class StubServers {
+
+    private static final String[] FOODS = {"김치찌개", "비빔밥", "불고기", "된장찌개", "제육볶음", "닭가슴살샐러드"};
+    private static final String[] EMOTIONS = {"기쁨", "슬픔", "분노", "불안", "당황", "상처", "중립"};
+
+    // 앱이 동시에 몇 건의 업로드를 모델 서버까지 보내는지 (UploadConcurrencyBenchmark)
+    private static final AtomicInteger uploadsInFlight = new AtomicInteger();
+    private static final AtomicInteger maxUploadsInFlight = new AtomicInteger();
+
+    private final HttpServer vision;
+    private final HttpServer diet;
+
+    public StubServers(int visionPort, int dietPort) throws IOException {
+        ExecutorService executor = Executors.newCachedThreadPool();   // 지연(sleep) 중인 요청이 다른 요청을 막지 않도록
+
+        vision = HttpServer.create(new InetSocketAddress(visionPort), 512);
+        vision.setExecutor(executor);
+        route(vision, "/upload", LatencyProfile.fromSystemProperties("upload", "lognormal:300:0.4"), StubServers::uploadBody);
+        vision.createContext("/stats", StubServers::stats);
+        route(vision, "/predict", LatencyProfile.fromSystemProperties("predict", "lognormal:120:0.4"), StubServers::predictBody);
+        route(vision, "/predict/batch", LatencyProfile.fromSystemProperties("predict", "lognormal:120:0.4"), StubServers::predictBatchBody);
+
+        diet = HttpServer.create(new InetSocketAddress(dietPort), 512);
+        diet.setExecutor(executor);
+        route(diet, "/recommend", LatencyProfile.fromSystemProperties("recommend", "lognormal:800:0.5"), StubServers::recommendBody);
+        route(diet, "/recommend/next", LatencyProfile.fromSystemProperties("recommend-next", "lognormal:600:0.5"), StubServers::recommendBody);
+    }
+
+    public void start() {
+        vision.start();
+        diet.start();
+        System.out.println("스텁 서버 시작: vision=" + vision.getAddress().getPort() + ", diet=" + diet.getAddress().getPort());
+    }
+
+    public void stop() {
+        vision.stop(0);
+        diet.stop(0);
+    }
+
+    private interface BodyFactory {
+        String create(String requestBody);
+    }
+
+    private static void route(HttpServer server, String path, LatencyProfile profile, BodyFactory body) {
+        System.out.println("  " + path + " → " + profile);
+        server.createContext(path, exchange -> {
+            try (exchange) {
+                // HttpServer는 접두사로 매칭하므로 /predict가 /predict/batch를 가로채지 않게 정확히 비교
+                if (!exchange.getRequestURI().getPath().equals(path)) {
+                    send(exchange, 404, "{\"detail\":\"Not Found\"}");
+                    return;
+                }
+                String request = readBody(exchange.getRequestBody());
+                boolean upload = path.equals("/upload");
+                if (upload) maxUploadsInFlight.accumulateAndGet(uploadsInFlight.incrementAndGet(), Math::max);
+                try {
+                    sleep(profile.sampleMillis());
+                } finally {
+                    if (upload) uploadsInFlight.decrementAndGet();
+                }
+                if (profile.shouldFail()) {
+                    send(exchange, 500, "{\"detail\":\"stub error\"}");
+                } else {
+                    send(exchange, 200, body.create(request));
+                }
+            }
+        });
+    }
+
+    private static void stats(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            readBody(exchange.getRequestBody());
+            if ("POST".equals(exchange.getRequestMethod()) && exchange.getRequestURI().getPath().equals("/stats/reset")) {
+                maxUploadsInFlight.set(uploadsInFlight.get());
+            }
+            send(exchange, 200, "{\"uploads_in_flight\":" + uploadsInFlight.get()
+                    + ",\"max_uploads_in_flight\":" + maxUploadsInFlight.get() + "}");
+        }
+    }
+
+    private static String readBody(InputStream in) throws IOException {
+        return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String uploadBody(String request) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return String.format("{\"food_name\":\"%s\",\"confidence\":%.4f,\"nutrition_info\":"
+                        + "{\"calories\":%.1f,\"protein\":%.1f,\"fat\":%.1f,\"carbohydrates\":%.1f}}",
+                FOODS[random.nextInt(FOODS.length)], 0.6 + random.nextDouble() * 0.4,
+                200 + random.nextDouble() * 600, 5 + random.nextDouble() * 35,
+                3 + random.nextDouble() * 25, 10 + random.nextDouble() * 90);
+    }
+
+    private static String emotion() {
+        String label = EMOTIONS[ThreadLocalRandom.current().nextInt(EMOTIONS.length)];
+        return "{\"predicted_emotion\":\"" + label + "\",\"recommendation\":\"" + label + "일 때는 따뜻한 국물 요리를 추천합니다.\"}";
+    }
+
+    private static String predictBody(String request) {
+        return emotion();
+    }
+
+    private static String predictBatchBody(String request) {
+        // {"texts": [...]} 의 문장 수만큼 결과를 만든다. (스텁이므로 큰따옴표 개수로 대략 계산)
+        int start = request.indexOf('[');
+        int end = request.lastIndexOf(']');
+        int count = 0;
+        if (start >= 0 && end > start) {
+            String list = request.substring(start + 1, end).trim();
+            count = list.isEmpty() ? 0 : list.split("\"\\s*,\\s*\"").length;
+        }
+        StringBuilder sb = new StringBuilder("{\"results\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(emotion());
+        }
+        return sb.append("]}").toString();
+    }
+
+    private static String recommendBody(String request) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return String.format("{\"meals\":[{\"name\":\"현미밥\",\"kcal\":%.0f},{\"name\":\"%s\",\"kcal\":%.0f}],\"total_kcal\":%.0f}",
+                300 + random.nextDouble() * 50, FOODS[random.nextInt(FOODS.length)], 250 + random.nextDouble() * 200,
+                600 + random.nextDouble() * 200);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int visionPort = Integer.getInteger("stub.vision-port", 8000);
+        int dietPort = Integer.getInteger("stub.diet-port", 8001);
+        StubServers stubs = new StubServers(visionPort, dietPort);
+        stubs.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(stubs::stop));
+        Thread.currentThread().join();
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.demo.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 사진 업로드를 동시에 bench.concurrency건 보내고, 앱이 그중 몇 건을 동시에 모델 서버(스텁)까지 보냈는지 잰다.
+ * 플랫폼 스레드 모드는 Tomcat 스레드 수(server.tomcat.threads.max, 기본 200)에서 막히고,
+ * 가상 스레드 모드는 DB 커넥션/HttpClient 쪽 한도까지 올라간다.
+ *
+ * 실행 예) ./gradlew loadStubs -Dstub.upload.latency=fixed:2000
+ *          앱 실행 (기본 / virtual-threads 프로필) 후 각각
+ *          ./gradlew uploadConcurrency -Dbench.mode=platform -Dbench.concurrency=400
+ *          ./gradlew uploadConcurrency -Dbench.mode=virtual  -Dbench.concurrency=400
+ * 결과는 bench.report 파일에 한 줄씩(JSON) 추가되어 두 모드를 나란히 비교할 수 있다.
+ */
+public class UploadConcurrencyBenchmark {
+
+    private static final Pattern MAX_IN_FLIGHT = Pattern.compile("\"max_uploads_in_flight\":(\\d+)");
+
+    public static void main(String[] args) throws Exception {
+        LoadTestDriver.Config config = LoadTestDriver.Config.fromSystemProperties();
+        String mode = System.getProperty("bench.mode", "unknown");
+        int concurrency = Integer.getInteger("bench.concurrency", 400);
+        int rounds = Integer.getInteger("bench.rounds", 3);
+        String stubUrl = System.getProperty("bench.stub-url", "http://localhost:8000");
+        Path report = Path.of(System.getProperty("bench.report", "build/results/loadtest/upload-concurrency.jsonl"));
+
+        System.out.printf("업로드 동시성 측정: mode=%s, 동시 요청 %d건 x %d회%n", mode, concurrency, rounds);
+
+        Map<String, StepStats> stats = new ConcurrentHashMap<>();
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<VirtualUser> users = login(config, stats, concurrency, pool);
+            HttpClient stubClient = HttpClient.newHttpClient();
+
+            int bestInFlight = 0;
+            List<String> roundResults = new ArrayList<>();
+            for (int round = 1; round <= rounds; round++) {
+                stubClient.send(HttpRequest.newBuilder(URI.create(stubUrl + "/stats/reset")).POST(HttpRequest.BodyPublishers.noBody()).build(),
+                        HttpResponse.BodyHandlers.discarding());
+
+                CountDownLatch go = new CountDownLatch(1);
+                AtomicInteger ok = new AtomicInteger();
+                List<Future<?>> futures = new ArrayList<>(users.size());
+                for (VirtualUser user : users) {
+                    futures.add(pool.submit(() -> {
+                        go.await();
+                        if (user.upload()) ok.incrementAndGet();
+                        return null;
+                    }));
+                }
+                long start = System.nanoTime();
+                go.countDown();
+                for (Future<?> f : futures) {
+                    try {
+                        f.get();
+                    } catch (ExecutionException ignore) {
+                        // 실패는 StepStats에 기록됨
+                    }
+                }
+                double seconds = (System.nanoTime() - start) / 1e9;
+
+                String body = stubClient.send(HttpRequest.newBuilder(URI.create(stubUrl + "/stats")).GET().build(),
+                        HttpResponse.BodyHandlers.ofString()).body();
+                Matcher m = MAX_IN_FLIGHT.matcher(body);
+                int maxInFlight = m.find() ? Integer.parseInt(m.group(1)) : -1;
+                bestInFlight = Math.max(bestInFlight, maxInFlight);
+
+                System.out.printf("round %d: 최대 동시 업로드 %d건, 성공 %d/%d, %.2f초%n", round, maxInFlight, ok.get(), users.size(), seconds);
+                roundResults.add(String.format("{\"round\":%d,\"max_in_flight\":%d,\"ok\":%d,\"seconds\":%.2f}",
+                        round, maxInFlight, ok.get(), seconds));
+            }
+
+            StepStats.Summary upload = stats.get("photo.upload").summarize(1);
+            String line = String.format("{\"mode\":\"%s\",\"concurrency\":%d,\"max_in_flight\":%d,\"p50_ms\":%.1f,\"p99_ms\":%.1f,\"rounds\":[%s]}%n",
+                    mode, concurrency, bestInFlight, upload.p50Ms(), upload.p99Ms(), String.join(",", roundResults));
+            if (report.getParent() != null) Files.createDirectories(report.getParent());
+            Files.writeString(report, line, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            System.out.printf("mode=%s 최대 동시 업로드 %d건 (p50 %.1fms, p99 %.1fms) → %s%n",
+                    mode, bestInFlight, upload.p50Ms(), upload.p99Ms(), report.toAbsolutePath());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // 로그인(BCrypt)이 업로드 측정에 섞이지 않도록 먼저 전원 로그인
+    private static List<VirtualUser> login(LoadTestDriver.Config config, Map<String, StepStats> stats,
+                                           int count, ExecutorService pool) throws InterruptedException {
+        List<Future<VirtualUser>> futures = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            futures.add(pool.submit(() -> {
+                VirtualUser user = new VirtualUser(config, stats, index);
+                return user.login() ? user : null;
+            }));
+        }
+        List<VirtualUser> users = new ArrayList<>(count);
+        for (Future<VirtualUser> f : futures) {
+            try {
+                VirtualUser user = f.get();
+                if (user != null) users.add(user);
+            } catch (ExecutionException e) {
+                System.out.println("로그인 실패: " + e.getCause());
+            }
+        }
+        System.out.println("로그인 완료: " + users.size() + "/" + count);
+        return users;
+    }
+}
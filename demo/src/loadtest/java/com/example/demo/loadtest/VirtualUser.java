@@ -0,0 +1,226 @@
+package com.example.demo.loadtest;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 가상 사용자 한 명. 자기 쿠키(세션)를 가진 HttpClient로 로그인 후 시나리오를 반복한다.
+ * 리다이렉트는 따라가지 않는다. (로그인 성공/실패를 Location으로 구분하기 위해)
+ */
+public class VirtualUser {
+
+    private static final Pattern CSRF_INPUT = Pattern.compile("name=\"_csrf\"[^>]*?value=\"([^\"]+)\"");
+    private static final Pattern CSRF_HIDDEN = Pattern.compile("id=\"csrfToken\"[^>]*?value=\"([^\"]+)\"");
+    private static final String[] MEAL_TIMES = {"breakfast", "lunch", "dinner"};
+
+    private final LoadTestDriver.Config config;
+    private final Map<String, StepStats> stats;
+    private final String memberId;
+    private final HttpClient client;
+    private String csrf;
+
+    public VirtualUser(LoadTestDriver.Config config, Map<String, StepStats> stats, int index) {
+        this.config = config;
+        this.stats = stats;
+        this.memberId = config.userPrefix() + index;
+        this.client = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /** 로그인. 계정이 없으면(load.signup=true) 가입부터 한다. */
+    public boolean login() throws IOException, InterruptedException {
+        String token = fetchCsrf("/member/login");
+        HttpResponse<String> response = timed("login", () -> send(post("/member/login", form(Map.of(
+                "memberId", memberId, "password", config.password(), "_csrf", token)))), r -> isRedirectTo(r, "/"));
+        if (isRedirectTo(response, "/")) {
+            csrf = fetchCsrf("/photo");
+            return true;
+        }
+        if (!config.signup()) return false;
+
+        String signupToken = fetchCsrf("/member/signup");
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("_csrf", signupToken);
+        fields.put("memberId", memberId);
+        fields.put("memberName", "부하" + memberId.substring(Math.max(0, memberId.length() - 4)));
+        fields.put("password1", config.password());
+        fields.put("password2", config.password());
+        fields.put("sex", ThreadLocalRandom.current().nextBoolean() ? "남" : "여");
+        fields.put("birthday", LocalDate.of(1995, 1, 1).toString());
+        fields.put("height", "170");
+        fields.put("weight", "65");
+        HttpResponse<String> signup = timed("signup", () -> send(post("/member/signup", form(fields))), r -> isRedirectTo(r, "/"));
+        if (!isRedirectTo(signup, "/")) return false;
+        csrf = fetchCsrf("/photo");
+        return true;
+    }
+
+    public void logout() throws IOException, InterruptedException {
+        send(post("/member/logout", form(Map.of("_csrf", csrf))));
+    }
+
+    /** 시나리오 한 바퀴: 식단 화면 → 사진 분석 + 저장 → 다음 끼니 추천 → 캘린더 조회 */
+    public void iterate() throws IOException, InterruptedException {
+        timed("diet", () -> send(get("/diet")), VirtualUser::isOk);
+        think();
+
+        HttpResponse<String> upload = timed("photo.upload", () -> send(multipartUpload()), VirtualUser::isOk);
+        if (isOk(upload)) {
+            timed("photo.save", () -> send(json("/photo/save", foodJson(upload.body()))), VirtualUser::isOk);
+        }
+        think();
+
+        timed("diet.recommend-next", () -> send(post("/diet/recommend-next", form(Map.of(
+                "sex", "남", "height", "170", "weight", "65", "_csrf", csrf)))), VirtualUser::isOk);
+        think();
+
+        int pages = 1 + ThreadLocalRandom.current().nextInt(3);
+        for (int page = 0; page < pages; page++) {
+            String path = "/record/calendar?page=" + page;
+            timed("record.calendar", () -> send(get(path)), VirtualUser::isOk);
+        }
+        think();
+    }
+
+    /** 사진 분석 한 번 (UploadConcurrencyBenchmark) */
+    public boolean upload() throws IOException, InterruptedException {
+        return isOk(timed("photo.upload", () -> send(multipartUpload()), VirtualUser::isOk));
+    }
+
+    // ===== 요청 =====
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(config.baseUrl() + path)).timeout(Duration.ofSeconds(config.requestTimeoutSeconds()));
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest post(String path, String formBody) {
+        return request(path)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(formBody))
+                .build();
+    }
+
+    private HttpRequest json(String path, String body) {
+        return request(path)
+                .header("Content-Type", "application/json")
+                .header("X-CSRF-TOKEN", csrf)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest multipartUpload() {
+        String boundary = "----loadtest" + UUID.randomUUID().toString().replace("-", "");
+        byte[] head = ("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"foodFile\"; filename=\"food.jpg\"\r\n"
+                + "Content-Type: image/jpeg\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+        byte[] tail = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8);
+        byte[] image = config.image();
+        byte[] body = new byte[head.length + image.length + tail.length];
+        System.arraycopy(head, 0, body, 0, head.length);
+        System.arraycopy(image, 0, body, head.length, image.length);
+        System.arraycopy(tail, 0, body, head.length + image.length, tail.length);
+        return request("/photo/upload")
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .header("X-CSRF-TOKEN", csrf)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private String fetchCsrf(String path) throws IOException, InterruptedException {
+        String body = send(get(path)).body();
+        Matcher m = CSRF_INPUT.matcher(body);
+        if (m.find()) return m.group(1);
+        m = CSRF_HIDDEN.matcher(body);
+        if (m.find()) return m.group(1);
+        throw new IOException(path + " 에서 CSRF 토큰을 찾지 못했습니다.");
+    }
+
+    // ===== 측정 =====
+
+    private interface Call {
+        HttpResponse<String> run() throws IOException, InterruptedException;
+    }
+
+    private interface Check {
+        boolean ok(HttpResponse<String> response);
+    }
+
+    private HttpResponse<String> timed(String step, Call call, Check check) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<String> response = null;
+        try {
+            response = call.run();
+            return response;
+        } finally {
+            long micros = (System.nanoTime() - start) / 1_000;
+            stats.computeIfAbsent(step, StepStats::new).record(micros, response != null && check.ok(response));
+        }
+    }
+
+    private void think() throws InterruptedException {
+        if (config.thinkMillis() > 0) {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(config.thinkMillis() / 2, config.thinkMillis() * 3 / 2 + 1));
+        }
+    }
+
+    private static boolean isOk(HttpResponse<String> response) {
+        return response.statusCode() / 100 == 2;
+    }
+
+    private static boolean isRedirectTo(HttpResponse<String> response, String path) {
+        if (response.statusCode() != 302) return false;
+        return response.headers().firstValue("Location")
+                .map(location -> path.equals(URI.create(location).getPath()))
+                .orElse(false);
+    }
+
+    private static String form(Map<String, String> fields) {
+        StringBuilder sb = new StringBuilder();
+        fields.forEach((k, v) -> {
+            if (!sb.isEmpty()) sb.append('&');
+            sb.append(URLEncoder.encode(k, StandardCharsets.UTF_8)).append('=').append(URLEncoder.encode(v, StandardCharsets.UTF_8));
+        });
+        return sb.toString();
+    }
+
+    /** /photo/upload 응답에서 이름/영양소만 꺼내 /photo/save 요청 본문을 만든다. */
+    private static String foodJson(String uploadResponse) {
+        String mealTime = MEAL_TIMES[ThreadLocalRandom.current().nextInt(MEAL_TIMES.length)];
+        return "{\"foodName\":\"" + field(uploadResponse, "name", "부하테스트음식") + "\""
+                + ",\"calories\":" + field(uploadResponse, "calories", "0")
+                + ",\"protein\":" + field(uploadResponse, "protein", "0")
+                + ",\"fat\":" + field(uploadResponse, "fat", "0")
+                + ",\"carbohydrates\":" + field(uploadResponse, "carbohydrates", "0")
+                + ",\"mealTime\":\"" + mealTime + "\"}";
+    }
+
+    private static String field(String json, String name, String fallback) {
+        Matcher m = Pattern.compile("\"" + name + "\"\\s*:\\s*\"?([^\",}]+)\"?").matcher(json);
+        return m.find() && !m.group(1).equals("null") ? m.group(1) : fallback;
+    }
+}
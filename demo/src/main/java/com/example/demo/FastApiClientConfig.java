@@ -0,0 +1,47 @@
+package com.example.demo;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * FoodService/DietService가 FastAPI(사진 분석, 식단 추천)를 부를 때 쓰는 WebClient. (Reactor Netty, 논블로킹)
+ * 응답을 기다리는 동안 스레드를 잡지 않으므로 느린 추론 수천 건을 Netty 이벤트 루프 스레드 몇 개로 처리한다.
+ * 연결 풀은 하나를 공유하고, 풀이 가득 차면 pending-acquire-max 까지 대기열에 넣은 뒤 그 이상은 바로 실패시킨다.
+ */
+@Configuration
+public class FastApiClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    ConnectionProvider fastApiConnectionProvider(@Value("${fastapi.pool.max-connections:500}") int maxConnections,
+                                                 @Value("${fastapi.pool.pending-acquire-max:5000}") int pendingAcquireMax,
+                                                 @Value("${fastapi.pool.pending-acquire-timeout-ms:30000}") long pendingAcquireTimeoutMillis) {
+        return ConnectionProvider.builder("fastapi")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMax)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMillis))
+                .maxIdleTime(Duration.ofSeconds(30))   // uvicorn keep-alive가 먼저 끊기 전에 정리
+                .metrics(true)                         // reactor.netty.connection.provider.* 지표
+                .build();
+    }
+
+    @Bean
+    WebClient fastApiWebClient(WebClient.Builder builder, ConnectionProvider fastApiConnectionProvider,
+                               @Value("${fastapi.connect-timeout-ms:3000}") int connectTimeoutMillis,
+                               @Value("${fastapi.read-timeout-ms:60000}") long readTimeoutMillis) {
+        HttpClient httpClient = HttpClient.create(fastApiConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+                .responseTimeout(Duration.ofMillis(readTimeoutMillis));
+        return builder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(2 * 1024 * 1024))
+                .build();
+    }
+}
@@ -1,8 +1,14 @@
 package com.example.demo;
 
+import com.example.demo.member.BoundedPasswordEncoder;
+import com.example.demo.member.LoginAdmissionFilter;
+import com.example.demo.member.LoginAttemptLimiter;
+import com.example.demo.member.LoginThrottledException;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.security.servlet.PathRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -16,7 +22,12 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.AuthenticationFailureHandler;
+import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
+import org.springframework.security.web.authentication.SavedRequestAwareAuthenticationSuccessHandler;
 import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
 
 import java.io.IOException;
 
@@ -24,19 +35,30 @@ import java.io.IOException;
 @EnableWebSecurity
 public class SecurityConfig {
     @Bean
-    SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    SecurityFilterChain filterChain(HttpSecurity http, LoginAttemptLimiter loginAttemptLimiter,
+                                    SecurityContextRepository securityContextRepository,
+                                    @Value("${management.server.port:-1}") int managementPort) throws Exception {
         http
+                .securityContext((securityContext) -> securityContext
+                        .securityContextRepository(securityContextRepository))  // 폼 로그인과 회원가입/정보수정이 같은 저장소를 사용
+                .addFilterBefore(new LoginAdmissionFilter(loginAttemptLimiter), UsernamePasswordAuthenticationFilter.class)   // IP별 시도 / (IP, 계정)별 실패 제한
                 .authorizeHttpRequests((authorizeHttpRequests) -> authorizeHttpRequests
                         //.requestMatchers(PathRequest.toStaticResources().atCommonLocations()).permitAll()   // 가장 먼저 정적 리소스에 대한 접근을 모두 허용
                         .requestMatchers("/css/**", "/js/**", "/images/**").permitAll() // 가장 먼저 정적 리소스(CSS, JS, 이미지 등)도 모든 사용자가 접근 가능하도록 설정
                         .requestMatchers("/main.css", "/logo.png").permitAll()
                         .requestMatchers("/", "/member/login", "/member/signup", "/member/bye", "/terms", "/notice", "/notice/{id}").permitAll()  // 로그아웃 상태에서도 접근 가능한 경로들
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()   // 헬스체크
+                        .requestMatchers(request -> request.getLocalPort() == managementPort
+                                && "/actuator/prometheus".equals(request.getRequestURI())).permitAll()   // Prometheus 수집은 관리용 포트로 들어온 요청만
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+                        .requestMatchers("/inquiry/list", "/inquiry/reply/**", "/inquiry/queue/**").hasRole("ADMIN")   // 관리자 문의 처리
+                        .requestMatchers("/admin/**").hasRole("ADMIN")   // 관리자 현황 (샤드 등)
                         .anyRequest().authenticated())  // 위에 명시된 경로를 제외한 모든 경로는 인증된 사용자(로그인한 사용자)만 접근 가능
                 .formLogin((formLogin) -> formLogin
                         .loginPage("/member/login")
-                        .failureHandler(authenticationFailureHandler())
-                        .usernameParameter("memberId")  // 필드 이름을 직접 지정. 이게 없으면 Security는 기본적으로 username으로 ID를 찾음.
-                        .defaultSuccessUrl("/"))
+                        .successHandler(authenticationSuccessHandler(loginAttemptLimiter))
+                        .failureHandler(authenticationFailureHandler(loginAttemptLimiter))
+                        .usernameParameter("memberId"))  // 필드 이름을 직접 지정. 이게 없으면 Security는 기본적으로 username으로 ID를 찾음.
                 .logout((logout) -> logout
                         .logoutUrl("/member/logout") // logoutRequestMatcher 대신 logoutUrl을 사용합니다.
                         .logoutSuccessUrl("/")
@@ -49,9 +71,21 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // 세션(HttpSession)에 SecurityContext 저장. jdbc-session 프로필이면 HttpSession 자체가 DB에 저장된다.
     @Bean
-    PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    SecurityContextRepository securityContextRepository() {
+        return new HttpSessionSecurityContextRepository();
+    }
+
+    // BCrypt는 전용 스레드 풀에서 수행. strength를 올리면 기존 해시는 로그인 성공 시 자동으로 새 cost로 다시 저장된다.
+    @Bean
+    PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                    @Value("${member.password.bcrypt-strength:10}") int strength,
+                                    @Value("${member.password.hash-threads:0}") int threads,
+                                    @Value("${member.password.hash-queue:64}") int queueCapacity,
+                                    @Value("${member.password.hash-timeout-ms:5000}") long timeoutMillis) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), poolSize, queueCapacity, timeoutMillis, meterRegistry);
     }
 
     @Bean
@@ -59,8 +93,19 @@ public class SecurityConfig {
         return authenticationConfiguration.getAuthenticationManager();
     }
 
+    // 로그인 성공: (IP, 계정) 실패 횟수 초기화 후 원래 가려던 페이지(없으면 /)로
+    @Bean
+    public AuthenticationSuccessHandler authenticationSuccessHandler(LoginAttemptLimiter loginAttemptLimiter) {
+        SavedRequestAwareAuthenticationSuccessHandler target = new SavedRequestAwareAuthenticationSuccessHandler();
+        target.setDefaultTargetUrl("/");
+        return (request, response, authentication) -> {
+            loginAttemptLimiter.recordSuccess(request.getRemoteAddr(), authentication.getName());
+            target.onAuthenticationSuccess(request, response, authentication);
+        };
+    }
+
     @Bean
-    public AuthenticationFailureHandler authenticationFailureHandler() {
+    public AuthenticationFailureHandler authenticationFailureHandler(LoginAttemptLimiter loginAttemptLimiter) {
         return new AuthenticationFailureHandler() {
             @Override
             public void onAuthenticationFailure(HttpServletRequest request,
@@ -68,10 +113,14 @@ public class SecurityConfig {
                                                 AuthenticationException exception)
                     throws IOException, ServletException {
                 System.out.println("로그인 실패 예외 타입: " + exception.getClass().getName());
-                if (exception instanceof DisabledException
+                if (exception instanceof LoginThrottledException
+                        || exception.getCause() instanceof LoginThrottledException) {
+                    response.sendRedirect("/member/login?error=busy");
+                } else if (exception instanceof DisabledException
                         || exception.getCause() instanceof DisabledException) {
                     response.sendRedirect("/member/login?error=withdrawal");
                 } else {
+                    loginAttemptLimiter.recordFailure(request.getRemoteAddr(), request.getParameter("memberId"));
                     response.sendRedirect("/member/login?error=bad");
                 }
             }
@@ -0,0 +1,31 @@
+package com.example.demo.batch;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 오래 걸리는 정리 작업의 진행 위치. 작업이 중간에 멈춰도 다음 실행이 여기서부터 이어서 한다.
+ * 값의 의미는 작업마다 다르다. (마지막으로 처리한 파티션 이름 등) JobCheckpoints로 읽고 쓴다.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "job_checkpoint")
+public class JobCheckpoint {
+
+    @Id
+    @Column(name = "job_name", length = 50)
+    private String jobName;
+
+    @Column(name = "checkpoint", length = 100)
+    private String checkpoint;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
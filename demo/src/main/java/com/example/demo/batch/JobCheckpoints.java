@@ -0,0 +1,30 @@
+package com.example.demo.batch;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * job_checkpoint 읽기/쓰기. 작업이 처리하는 테이블과 같은 DB(회원 DB 또는 각 샤드)에 두고,
+ * 작업 결과와 같은 트랜잭션에서 저장해서 결과와 진행 위치가 어긋나지 않게 한다.
+ */
+public final class JobCheckpoints {
+
+    private static final String UPSERT =
+            "INSERT INTO job_checkpoint (job_name, checkpoint, updated_at) VALUES (?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE checkpoint = VALUES(checkpoint), updated_at = VALUES(updated_at)";
+
+    private JobCheckpoints() {
+    }
+
+    public static String get(JdbcTemplate jdbc, String jobName) {
+        List<String> found = jdbc.queryForList("SELECT checkpoint FROM job_checkpoint WHERE job_name = ?", String.class, jobName);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    public static void save(JdbcTemplate jdbc, String jobName, String checkpoint) {
+        jdbc.update(UPSERT, jobName, checkpoint, Timestamp.valueOf(LocalDateTime.now()));
+    }
+}
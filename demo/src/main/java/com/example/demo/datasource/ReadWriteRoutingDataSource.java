@@ -0,0 +1,59 @@
+package com.example.demo.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * 트랜잭션이 readOnly이면 replica, 그 외(쓰기 트랜잭션, 트랜잭션 밖)에는 primary 연결을 준다.
+ * replica가 지연되거나 끊겨 있으면(ReplicaLagMonitor) 읽기도 primary로 보낸다.
+ * 트랜잭션 시작 시점에는 readOnly 여부가 아직 정해지지 않으므로 반드시 LazyConnectionDataSourceProxy로 감싸서 쓴다. (ReplicaRoutingConfig)
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter writes;
+    private final Counter replicaReads;
+    private final Counter fallbackReads;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                      MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.<Object, Object>of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+
+        this.writes = routeCounter(meterRegistry, "primary", "false");
+        this.replicaReads = routeCounter(meterRegistry, "replica", "true");
+        this.fallbackReads = routeCounter(meterRegistry, "primary", "true");
+    }
+
+    private static Counter routeCounter(MeterRegistry meterRegistry, String target, String readOnly) {
+        return Counter.builder("datasource.routing")
+                .description("연결을 받은 풀 (read.only=true, target=primary는 replica 지연으로 인한 대체)")
+                .tag("target", target)
+                .tag("read.only", readOnly)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            writes.increment();
+            return Route.PRIMARY;
+        }
+        if (!lagMonitor.isReplicaUsable()) {
+            fallbackReads.increment();
+            return Route.PRIMARY;
+        }
+        replicaReads.increment();
+        return Route.REPLICA;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.demo.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * replica 복제 지연 확인. lag-check-ms마다 SHOW SLAVE STATUS의 Seconds_Behind_Master를 읽는다.
+ * 지연이 max-lag-seconds를 넘거나, 복제 스레드가 멈췄거나(NULL), 연결에 실패하면 replica를 쓰지 않는다.
+ * 복제 설정이 없는 DB(로컬에서 독립 인스턴스 두 개로 시험할 때)는 지연 0으로 본다.
+ * 첫 확인 전까지는 replica를 쓰지 않는다.
+ */
+public class ReplicaLagMonitor {
+
+    private final DataSource replica;
+    private final long maxLagSeconds;
+
+    private volatile boolean usable;
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaLagMonitor(DataSource replica, long maxLagSeconds, MeterRegistry meterRegistry) {
+        this.replica = replica;
+        this.maxLagSeconds = maxLagSeconds;
+        Gauge.builder("datasource.replica.lag", this, m -> m.lagSeconds)
+                .description("replica 복제 지연(초). 확인 실패 시 NaN")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.usable", this, m -> m.usable ? 1 : 0)
+                .description("읽기 요청을 replica로 보내고 있으면 1")
+                .register(meterRegistry);
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-ms:1000}")
+    public void check() {
+        Long lag;
+        try {
+            lag = readLag();
+        } catch (SQLException e) {
+            if (usable) System.out.println("replica 연결 실패: " + e.getMessage());
+            update(null);
+            return;
+        }
+        update(lag);
+    }
+
+    // lag이 null이면 지연을 알 수 없음(복제 중단, 연결 실패)
+    void update(Long lag) {
+        boolean nowUsable = lag != null && lag <= maxLagSeconds;
+        if (usable && !nowUsable) {
+            System.out.println("replica 지연 " + (lag != null ? lag + "초" : "확인 불가") + " (허용 " + maxLagSeconds + "초), 읽기를 primary로 전환");
+        } else if (!usable && nowUsable) {
+            System.out.println("replica 사용 재개 (지연 " + lag + "초)");
+        }
+        lagSeconds = lag != null ? lag : Double.NaN;
+        usable = nowUsable;
+    }
+
+    private Long readLag() throws SQLException {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SHOW SLAVE STATUS")) {
+            if (!rs.next()) return 0L;   // 복제 설정 없음
+            long lag = rs.getLong("Seconds_Behind_Master");
+            return rs.wasNull() ? null : lag;
+        }
+    }
+}
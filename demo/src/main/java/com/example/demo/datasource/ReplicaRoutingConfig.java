@@ -0,0 +1,66 @@
+package com.example.demo.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * replica 프로필(datasource.replica.enabled=true)에서 primary/replica 풀 두 개와 라우팅 DataSource를 만든다.
+ * JPA, JdbcTemplate, 세션 저장소는 @Primary인 라우팅 DataSource를 쓰고, 풀마다 pool 태그가 붙은 hikaricp.* 지표와 health가 따로 나온다.
+ * 설정을 끄면 이 클래스는 빠지고 Spring Boot 기본 단일 DataSource(spring.datasource.*)가 그대로 쓰인다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.replica.hikari")
+    HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                       @Value("${datasource.replica.url}") String url,
+                                       @Value("${datasource.replica.username:${spring.datasource.username}}") String username,
+                                       @Value("${datasource.replica.password:${spring.datasource.password}}") String password) {
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replica,
+                                        @Value("${datasource.replica.max-lag-seconds:5}") long maxLagSeconds,
+                                        MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replica, maxLagSeconds, meterRegistry);
+    }
+
+    // 트랜잭션 시작 시가 아니라 첫 SQL 실행 시에 연결을 받아야 readOnly 여부로 풀을 고를 수 있다
+    @Bean
+    @Primary
+    DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                          @Qualifier("replicaDataSource") DataSource replica,
+                          ReplicaLagMonitor replicaLagMonitor, MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, replica, replicaLagMonitor, meterRegistry));
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.demo.emotion;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 감정 분석 요청을 모아서(micro-batch) 모델 서버의 /predict/batch로 한 번에 보낸다.
+ * 첫 요청이 들어온 뒤 max-wait-ms 동안 또는 max-size개가 찰 때까지 모으고, 결과는 각 요청의 CompletableFuture로 나눠 준다.
+ * 모델 서버로 동시에 보내는 묶음 수는 max-in-flight로 제한하며, 그동안 들어온 요청은 다음 묶음으로 합쳐진다.
+ */
+@Component
+public class EmotionBatcher implements DisposableBean {
+
+    private record Pending(String text, CompletableFuture<EmotionResult> future) {
+    }
+
+    private final RestTemplate restTemplate;
+    private final String batchUrl;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final BlockingQueue<Pending> queue;
+    private final Semaphore inFlight;
+    private final ExecutorService senders;
+    private final Thread collector;
+    private final DistributionSummary batchSizes;
+    private final Timer batchTimer;
+
+    public EmotionBatcher(MeterRegistry meterRegistry,
+                          @Value("${emotion.api-base:http://127.0.0.1:8000}") String apiBase,
+                          @Value("${emotion.batch.max-size:32}") int maxBatchSize,
+                          @Value("${emotion.batch.max-wait-ms:10}") long maxWaitMillis,
+                          @Value("${emotion.batch.queue-capacity:1024}") int queueCapacity,
+                          @Value("${emotion.batch.max-in-flight:4}") int maxInFlight,
+                          @Value("${emotion.batch.read-timeout-ms:60000}") int readTimeoutMillis) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();   // JDK keep-alive 연결 재사용
+        requestFactory.setConnectTimeout(3000);
+        requestFactory.setReadTimeout(readTimeoutMillis);
+        this.restTemplate = new RestTemplate(requestFactory);
+        this.batchUrl = apiBase + "/predict/batch";
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.inFlight = new Semaphore(maxInFlight);
+
+        AtomicInteger seq = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(maxInFlight, r -> {
+            Thread t = new Thread(r, "emotion-batch-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        this.batchSizes = DistributionSummary.builder("emotion.batch.size")
+                .description("모델 서버 한 번 호출에 담긴 문장 수")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("emotion.batch.latency")
+                .description("모델 서버 /predict/batch 호출 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        this.collector = new Thread(this::collect, "emotion-batch-collector");
+        this.collector.setDaemon(true);
+        this.collector.start();
+    }
+
+    // 대기열이 가득 차면 RejectedExecutionException으로 바로 실패한다
+    public CompletableFuture<EmotionResult> submit(String text) {
+        CompletableFuture<EmotionResult> future = new CompletableFuture<>();
+        if (!queue.offer(new Pending(text, future))) {
+            future.completeExceptionally(new RejectedExecutionException("감정 분석 요청이 많습니다. 잠시 후 다시 시도해주세요."));
+        }
+        return future;
+    }
+
+    private void collect() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                inFlight.acquire();   // 보낼 자리가 날 때까지 기다리는 동안 들어온 요청은 큐에 쌓여 다음 묶음이 커진다
+                List<Pending> batch;
+                try {
+                    batch = nextBatch();
+                } catch (InterruptedException e) {
+                    inFlight.release();
+                    throw e;
+                }
+                senders.execute(() -> {
+                    try {
+                        send(batch);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private List<Pending> nextBatch() throws InterruptedException {
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        batch.add(queue.take());
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (batch.size() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) break;
+            Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) break;
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void send(List<Pending> batch) {
+        batchSizes.record(batch.size());
+        try {
+            Map<String, Object> payload = Map.of("texts", batch.stream().map(Pending::text).toList());
+            Map<String, Object> resp = batchTimer.recordCallable(() -> restTemplate.postForObject(batchUrl, payload, Map.class));
+            List<Map<String, Object>> results = resp != null ? (List<Map<String, Object>>) resp.get("results") : null;
+            if (results == null || results.size() != batch.size()) {
+                throw new IllegalStateException("모델 서버 응답 개수가 요청과 다릅니다.");
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                Map<String, Object> r = results.get(i);
+                batch.get(i).future().complete(new EmotionResult(
+                        String.valueOf(r.get("predicted_emotion")), String.valueOf(r.get("recommendation"))));
+            }
+        } catch (Exception e) {
+            System.out.println("감정 분석 묶음 요청 실패 (" + batch.size() + "건): " + e.getMessage());
+            batch.forEach(p -> p.future().completeExceptionally(e));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        collector.interrupt();
+        senders.shutdownNow();
+    }
+}
@@ -1,13 +1,79 @@
 package com.example.demo.emotion;
 
+import com.example.demo.member.MemberContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 @Controller
+@RequiredArgsConstructor
 public class EmotionController {
 
+    private final EmotionBatcher emotionBatcher;
+    private final EmotionResultCache emotionResultCache;
+    private final EmotionLogWriter emotionLogWriter;
+    private final EmotionStatsService emotionStatsService;
+    private final EmotionSuggestionService emotionSuggestionService;
+
+    @Value("${emotion.predict.timeout-ms:60000}")
+    private long timeoutMillis;
+
     @GetMapping("/emotion")
     public String emotion() {
         return "/emotion/emotion";
     }
+
+    // 감정 예측 + 음식 추천. 요청 스레드는 바로 반환되고, 묶음 결과가 오면 응답한다. (Spring MVC 비동기 처리)
+    @PostMapping("/emotion/predict")
+    @ResponseBody
+    public CompletableFuture<ResponseEntity<Object>> predict(@RequestBody EmotionRequest request,
+                                                             @AuthenticationPrincipal MemberContext memberContext) {
+        String text = request.getText() != null ? request.getText().strip() : "";
+        if (text.isEmpty()) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(Map.of("detail", "⚠️ 기분을 입력해주세요!")));
+        }
+        return emotionResultCache.getOrPredict(text, emotionBatcher::submit)   // 같은 문장은 캐시에서 바로 응답
+                .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .<ResponseEntity<Object>>thenApply(result -> {
+                    emotionLogWriter.record(memberContext.getNum(), text, result.getPredictedEmotion());   // 비동기 배치 저장
+                    return ResponseEntity.ok(result);
+                })
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof RejectedExecutionException) {
+                        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("detail", cause.getMessage()));
+                    }
+                    return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(Map.of("detail", "❌ 예측에 실패했습니다. 다시 시도해주세요."));
+                });
+    }
+
+    // 감정/식단 대시보드 데이터: 최근 days일의 일별·주별 감정 횟수와 같은 날 총 칼로리
+    @GetMapping("/emotion/stats")
+    @ResponseBody
+    public EmotionStats stats(@AuthenticationPrincipal MemberContext memberContext,
+                              @RequestParam(defaultValue = "30") int days) {
+        return emotionStatsService.getStats(memberContext.getNum(), Math.max(1, Math.min(days, 366)));
+    }
+
+    // 감정 → 음식 추천 (서버 내 벡터 검색, Python 서버 호출 없음)
+    @GetMapping("/emotion/suggest")
+    @ResponseBody
+    public List<EmotionSuggestion> suggest(@RequestParam String emotion, @RequestParam(defaultValue = "3") int k) {
+        return emotionSuggestionService.suggest(emotion, Math.max(1, Math.min(k, 10)));
+    }
 }
@@ -0,0 +1,11 @@
+package com.example.demo.emotion;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface EmotionDailyRepository extends JpaRepository<EmotionDaily, EmotionDaily.Key> {
+    // PK(member_num, bucket_date, emotion) 범위 조회
+    List<EmotionDaily> findByMemberNumAndBucketDateBetweenOrderByBucketDate(Long memberNum, LocalDate from, LocalDate to);
+}
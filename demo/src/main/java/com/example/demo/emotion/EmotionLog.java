@@ -0,0 +1,33 @@
+package com.example.demo.emotion;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 감정 분석 기록 원본. EmotionLogWriter가 JDBC 배치로 쌓으며, 화면에서는 읽지 않는다. (집계는 EmotionDaily/EmotionWeekly)
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "emotion_log", indexes = @Index(name = "idx_emotion_log_member_created", columnList = "member_num, created_at"))
+public class EmotionLog {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "member_num", nullable = false)
+    private Long memberNum;
+
+    @Column(length = 10, nullable = false)
+    private String emotion;
+
+    @Column(length = 200)
+    private String inputText;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
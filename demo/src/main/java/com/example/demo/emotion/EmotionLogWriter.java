@@ -0,0 +1,161 @@
+package com.example.demo.emotion;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * 감정 분석 기록을 요청 스레드에서 큐에 넣기만 하고, 주기적으로 모아서 한 트랜잭션에 저장한다.
+ * - emotion_log: JDBC batch INSERT
+ * - emotion_daily / emotion_weekly: 묶음 안에서 먼저 합친 뒤 INSERT ... ON DUPLICATE KEY UPDATE로 증가
+ * 큐가 가득 차면 기록을 버린다. (감정 추천 응답을 늦추지 않는 것이 우선)
+ * 저장에 실패한 묶음은 다음 주기에 max-retries번까지 다시 시도하고, 그동안 새 기록은 큐에 머문다.
+ * 끝내 저장하지 못한 기록은 emotion.log.lost로 센다. (한 트랜잭션이라 실패한 묶음은 집계까지 전부 롤백되어 다시 써도 중복되지 않음)
+ */
+@Component
+public class EmotionLogWriter {
+
+    private static final String INSERT_LOG =
+            "INSERT INTO emotion_log (member_num, emotion, input_text, created_at) VALUES (?, ?, ?, ?)";
+    private static final String UPSERT_DAILY =
+            "INSERT INTO emotion_daily (member_num, bucket_date, emotion, cnt) VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE cnt = cnt + VALUES(cnt)";
+    private static final String UPSERT_WEEKLY =
+            "INSERT INTO emotion_weekly (member_num, week_start, emotion, cnt) VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE cnt = cnt + VALUES(cnt)";
+
+    private record Entry(Long memberNum, String emotion, String inputText, LocalDateTime createdAt) {
+    }
+
+    private record BucketKey(Long memberNum, LocalDate bucket, String emotion) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Entry> queue;
+    private final int batchSize;
+    private final int maxRetries;
+    private final Counter dropped;
+    private final Counter lost;
+    private List<Entry> failedBatch;   // 다음 주기에 다시 저장할 묶음
+    private int failedAttempts;
+
+    public EmotionLogWriter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+                            @Value("${emotion.log.queue-capacity:10000}") int queueCapacity,
+                            @Value("${emotion.log.batch-size:500}") int batchSize,
+                            @Value("${emotion.log.max-retries:3}") int maxRetries) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.maxRetries = maxRetries;
+        this.dropped = Counter.builder("emotion.log.dropped")
+                .description("큐가 가득 차서 저장하지 못한 감정 기록 수")
+                .register(meterRegistry);
+        this.lost = Counter.builder("emotion.log.lost")
+                .description("다시 시도해도 저장하지 못해 버린 감정 기록 수")
+                .register(meterRegistry);
+    }
+
+    public void record(Long memberNum, String text, String emotion) {
+        String inputText = text != null && text.length() > 200 ? text.substring(0, 200) : text;
+        if (!queue.offer(new Entry(memberNum, emotion, inputText, LocalDateTime.now()))) {
+            dropped.increment();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${emotion.log.flush-ms:1000}")
+    public synchronized void flush() {
+        if (failedBatch != null && !tryWrite(failedBatch)) {
+            return;   // DB가 돌아올 때까지 큐에서 더 꺼내지 않는다
+        }
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            if (!tryWrite(batch)) {
+                return;
+            }
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        flush();
+        int remaining = (failedBatch != null ? failedBatch.size() : 0) + queue.size();
+        if (remaining > 0) {
+            lost.increment(remaining);
+            System.out.println("종료 전에 저장하지 못한 감정 기록 " + remaining + "건");
+        }
+    }
+
+    // 실패하면 failedBatch로 남겨 두고, max-retries를 넘기면 버린다
+    private boolean tryWrite(List<Entry> batch) {
+        try {
+            write(batch);
+            failedBatch = null;
+            failedAttempts = 0;
+            return true;
+        } catch (RuntimeException e) {
+            if (++failedAttempts > maxRetries) {
+                lost.increment(batch.size());
+                System.out.println("감정 기록 저장 실패, 버림 (" + batch.size() + "건): " + e.getMessage());
+                failedBatch = null;
+                failedAttempts = 0;
+            } else {
+                failedBatch = batch;
+                System.out.println("감정 기록 저장 실패, 다음 주기에 재시도 " + failedAttempts + "/" + maxRetries
+                        + " (" + batch.size() + "건): " + e.getMessage());
+            }
+            return false;
+        }
+    }
+
+    private void write(List<Entry> batch) {
+        Map<BucketKey, Long> daily = new HashMap<>();
+        Map<BucketKey, Long> weekly = new HashMap<>();
+        for (Entry e : batch) {
+            LocalDate day = e.createdAt().toLocalDate();
+            daily.merge(new BucketKey(e.memberNum(), day, e.emotion()), 1L, Long::sum);
+            weekly.merge(new BucketKey(e.memberNum(), day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)), e.emotion()), 1L, Long::sum);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_LOG, batch, batch.size(), (ps, e) -> {
+                ps.setLong(1, e.memberNum());
+                ps.setString(2, e.emotion());
+                ps.setString(3, e.inputText());
+                ps.setTimestamp(4, Timestamp.valueOf(e.createdAt()));
+            });
+            upsert(UPSERT_DAILY, daily);
+            upsert(UPSERT_WEEKLY, weekly);
+        });
+    }
+
+    private void upsert(String sql, Map<BucketKey, Long> counts) {
+        List<Map.Entry<BucketKey, Long>> rows = new ArrayList<>(counts.entrySet());
+        // 정렬된 순서로 갱신해서 여러 서버가 동시에 같은 행을 갱신할 때 교착을 줄인다
+        rows.sort(Comparator.comparing((Map.Entry<BucketKey, Long> r) -> r.getKey().memberNum())
+                .thenComparing(r -> r.getKey().bucket())
+                .thenComparing(r -> r.getKey().emotion()));
+        jdbcTemplate.batchUpdate(sql, rows, rows.size(), (ps, r) -> {
+            ps.setLong(1, r.getKey().memberNum());
+            ps.setObject(2, r.getKey().bucket());
+            ps.setString(3, r.getKey().emotion());
+            ps.setLong(4, r.getValue());
+        });
+    }
+}
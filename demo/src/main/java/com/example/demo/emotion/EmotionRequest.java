@@ -0,0 +1,10 @@
+package com.example.demo.emotion;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class EmotionRequest {
+    private String text;
+}
@@ -0,0 +1,16 @@
+package com.example.demo.emotion;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 감정 분석 결과 한 건. JSON 필드명은 모델 서버(FastAPI) 응답과 같게 유지한다.
+@Getter
+@AllArgsConstructor
+public class EmotionResult {
+    @JsonProperty("predicted_emotion")
+    private final String predictedEmotion;
+
+    @JsonProperty("recommendation")
+    private final String recommendation;
+}
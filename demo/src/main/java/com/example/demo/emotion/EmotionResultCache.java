@@ -0,0 +1,202 @@
+package com.example.demo.emotion;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 감정 분석 결과 캐시. "피곤해", "행복해" 같은 짧은 문장이 반복되므로 같은 문장은 모델 서버(+Gemini)를 다시 부르지 않는다.
+ * - 키: 정규화한 문장의 SHA-256 앞 16바이트 (문장 원문은 저장하지 않음)
+ * - 크기/TTL 제한, 적중률은 CaffeineCacheMetrics("emotion.results")로 확인
+ * - 같은 문장이 동시에 들어오면 모델 서버 호출은 한 번만 한다
+ * - 주기적으로, 그리고 종료 시 파일에 저장해 재시작 후에도 남은 TTL만큼 유지한다
+ */
+@Component
+public class EmotionResultCache {
+
+    private static final int FILE_MAGIC = 0x454D4331;   // "EMC1"
+
+    record TextKey(long high, long low) {
+    }
+
+    private record Entry(EmotionResult result, long createdAtMillis) {
+    }
+
+    private final Cache<TextKey, Entry> cache;
+    private final Map<TextKey, CompletableFuture<EmotionResult>> inFlight = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final Path file;
+
+    public EmotionResultCache(MeterRegistry meterRegistry,
+                              @Value("${emotion.cache.max-size:10000}") long maxSize,
+                              @Value("${emotion.cache.ttl-hours:24}") long ttlHours,
+                              @Value("${emotion.cache.file:./data/emotion-cache.bin}") String file) {
+        this.ttlMillis = Duration.ofHours(ttlHours).toMillis();
+        this.file = file == null || file.isBlank() ? null : Path.of(file);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<TextKey, Entry>() {
+                    // 파일에서 읽어 온 항목도 처음 만들어진 시각 기준으로 만료되도록 남은 시간만 준다
+                    @Override
+                    public long expireAfterCreate(TextKey key, Entry entry, long currentTime) {
+                        return remainingNanos(entry);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(TextKey key, Entry entry, long currentTime, long currentDuration) {
+                        return remainingNanos(entry);
+                    }
+
+                    @Override
+                    public long expireAfterRead(TextKey key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "emotion.results");
+    }
+
+    private long remainingNanos(Entry entry) {
+        long remaining = entry.createdAtMillis() + ttlMillis - System.currentTimeMillis();
+        return Duration.ofMillis(Math.max(remaining, 0)).toNanos();
+    }
+
+    // 캐시에 있으면 바로, 없으면 predictor로 예측해서 저장한다
+    public CompletableFuture<EmotionResult> getOrPredict(String text, Function<String, CompletableFuture<EmotionResult>> predictor) {
+        TextKey key = keyOf(text);
+        Entry hit = cache.getIfPresent(key);
+        if (hit != null) {
+            return CompletableFuture.completedFuture(hit.result());
+        }
+
+        CompletableFuture<EmotionResult> created = new CompletableFuture<>();
+        CompletableFuture<EmotionResult> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing.copy();   // 호출하는 쪽의 orTimeout 등이 공유 future에 영향을 주지 않도록
+        }
+        CompletableFuture<EmotionResult> prediction;
+        try {
+            prediction = predictor.apply(text);
+        } catch (RuntimeException e) {
+            // 제출 단계에서 바로 실패(배치 큐 가득 참 등)해도 대기 항목을 지워야 같은 문장의 다음 요청이 멈추지 않는다
+            inFlight.remove(key, created);
+            created.completeExceptionally(e);
+            return created.copy();
+        }
+        prediction.whenComplete((result, error) -> {
+            if (result != null) {
+                cache.put(key, new Entry(result, System.currentTimeMillis()));
+            }
+            inFlight.remove(key, created);
+            if (error != null) {
+                created.completeExceptionally(error);
+            } else {
+                created.complete(result);
+            }
+        });
+        return created.copy();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    // NFC, 소문자, 앞뒤 공백 제거, 연속 공백은 하나로, 끝의 문장부호(. ! ? ~) 제거
+    static String normalize(String text) {
+        if (text == null) return "";
+        String s = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT).strip();
+        s = s.replaceAll("\\s+", " ");
+        int end = s.length();
+        while (end > 0 && ".!?~".indexOf(s.charAt(end - 1)) >= 0) end--;
+        return s.substring(0, end).strip();
+    }
+
+    static TextKey keyOf(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(normalize(text).getBytes(StandardCharsets.UTF_8));
+            ByteBuffer buffer = ByteBuffer.wrap(digest);
+            return new TextKey(buffer.getLong(), buffer.getLong());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 파일 형식 (gzip): magic(int) / 항목 수(int) / [키 high(long), 키 low(long), 생성시각 ms(long), 감정(UTF), 추천 길이(int) + UTF-8 바이트]...
+     */
+    @PostConstruct
+    public void load() {
+        if (file == null || !Files.exists(file)) return;
+        long now = System.currentTimeMillis();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file))))) {
+            if (in.readInt() != FILE_MAGIC) return;
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                TextKey key = new TextKey(in.readLong(), in.readLong());
+                long createdAt = in.readLong();
+                String emotion = in.readUTF();
+                byte[] recommendation = new byte[in.readInt()];
+                in.readFully(recommendation);
+                if (createdAt + ttlMillis > now) {
+                    cache.put(key, new Entry(new EmotionResult(emotion, new String(recommendation, StandardCharsets.UTF_8)), createdAt));
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("감정 분석 캐시 파일을 읽지 못했습니다: " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${emotion.cache.save-interval-ms:300000}", initialDelayString = "${emotion.cache.save-interval-ms:300000}")
+    public void save() {
+        if (file == null) return;
+        Map<TextKey, Entry> snapshot = Map.copyOf(cache.asMap());
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, "emotion-cache", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(tmp))))) {
+                out.writeInt(FILE_MAGIC);
+                out.writeInt(snapshot.size());
+                for (Map.Entry<TextKey, Entry> e : snapshot.entrySet()) {
+                    out.writeLong(e.getKey().high());
+                    out.writeLong(e.getKey().low());
+                    out.writeLong(e.getValue().createdAtMillis());
+                    out.writeUTF(e.getValue().result().getPredictedEmotion());
+                    byte[] recommendation = e.getValue().result().getRecommendation().getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(recommendation.length);
+                    out.write(recommendation);
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);   // 쓰는 도중 종료돼도 기존 파일 유지
+        } catch (IOException e) {
+            System.out.println("감정 분석 캐시 파일을 저장하지 못했습니다: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.demo.emotion;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+// 감정/식단 대시보드 응답 (/emotion/stats)
+@Getter
+@AllArgsConstructor
+public class EmotionStats {
+    private final List<Day> days;
+    private final List<Week> weeks;
+    private final List<EmotionKcal> kcalByEmotion;
+
+    // 하루 감정 횟수와 같은 날 식단 총 칼로리
+    @Getter
+    @AllArgsConstructor
+    public static class Day {
+        private final LocalDate date;
+        private final Map<String, Long> counts;
+        private final String dominant;
+        private final Double totalKcal;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Week {
+        private final LocalDate weekStart;
+        private final Map<String, Long> counts;
+    }
+
+    // 그 감정이 가장 많았던 날들의 평균 섭취 칼로리 (식단 기록이 있는 날만)
+    @Getter
+    @AllArgsConstructor
+    public static class EmotionKcal {
+        private final String emotion;
+        private final int days;
+        private final Double avgKcal;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demo.emotion;
+
+import com.example.demo.meal.Diet;
+import com.example.demo.meal.DietRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+
+/**
+ * 감정/식단 대시보드. 미리 집계된 emotion_daily/emotion_weekly와 diet만 읽는다. (emotion_log 원본은 읽지 않음)
+ */
+@Service
+@RequiredArgsConstructor
+public class EmotionStatsService {
+
+    private final EmotionDailyRepository emotionDailyRepository;
+    private final EmotionWeeklyRepository emotionWeeklyRepository;
+    private final DietRepository dietRepository;
+
+    public EmotionStats getStats(Long memberNum, int days) {
+        LocalDate to = LocalDate.now();
+        LocalDate from = to.minusDays(days - 1L);
+
+        Map<LocalDate, Map<String, Long>> dailyCounts = new TreeMap<>();
+        for (EmotionDaily d : emotionDailyRepository.findByMemberNumAndBucketDateBetweenOrderByBucketDate(memberNum, from, to)) {
+            dailyCounts.computeIfAbsent(d.getBucketDate(), k -> new TreeMap<>()).put(d.getEmotion(), d.getCnt());
+        }
+        Map<LocalDate, Double> kcalByDate = new HashMap<>();
+        for (Diet diet : dietRepository.findByMember_NumAndDietDateBetween(memberNum, from, to)) {
+            if (diet.getTotalKcal() != null) kcalByDate.put(diet.getDietDate(), diet.getTotalKcal());
+        }
+
+        List<EmotionStats.Day> dayStats = new ArrayList<>();
+        Map<String, double[]> kcalSums = new TreeMap<>();   // 감정 -> {칼로리 합, 일수}
+        dailyCounts.forEach((date, counts) -> {
+            String dominant = Collections.max(counts.entrySet(), Map.Entry.comparingByValue()).getKey();
+            Double kcal = kcalByDate.get(date);
+            dayStats.add(new EmotionStats.Day(date, counts, dominant, kcal));
+            if (kcal != null) {
+                double[] sum = kcalSums.computeIfAbsent(dominant, k -> new double[2]);
+                sum[0] += kcal;
+                sum[1]++;
+            }
+        });
+
+        List<EmotionStats.EmotionKcal> kcalByEmotion = new ArrayList<>();
+        kcalSums.forEach((emotion, sum) -> kcalByEmotion.add(new EmotionStats.EmotionKcal(emotion, (int) sum[1], sum[0] / sum[1])));
+
+        LocalDate weekFrom = from.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        Map<LocalDate, Map<String, Long>> weeklyCounts = new TreeMap<>();
+        for (EmotionWeekly w : emotionWeeklyRepository.findByMemberNumAndWeekStartBetweenOrderByWeekStart(memberNum, weekFrom, to)) {
+            weeklyCounts.computeIfAbsent(w.getWeekStart(), k -> new TreeMap<>()).put(w.getEmotion(), w.getCnt());
+        }
+        List<EmotionStats.Week> weekStats = new ArrayList<>();
+        weeklyCounts.forEach((weekStart, counts) -> weekStats.add(new EmotionStats.Week(weekStart, counts)));
+
+        return new EmotionStats(dayStats, weekStats, kcalByEmotion);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.demo.emotion;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// 감정 벡터 이웃 검색 결과 한 건: 가까운 감정과 그 감정에 맞는 음식
+@Getter
+@AllArgsConstructor
+public class EmotionSuggestion {
+    private final String emotion;
+    private final float distance;
+    private final List<String> foods;
+}
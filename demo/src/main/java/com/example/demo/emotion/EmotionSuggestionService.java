@@ -0,0 +1,117 @@
+package com.example.demo.emotion;
+
+import com.example.demo.vector.*;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 감정 → 음식 추천을 Python 서버 없이 처리한다.
+ * Predict/emotion_vectors.faiss(감정 설명 문서 임베딩)와 docs.json(라벨)을 읽어 메모리 벡터 인덱스를 만들고,
+ * 예측된 감정 벡터와 가까운 감정들의 음식(resources/emotion/comfort_foods.json)을 묶어서 돌려준다.
+ * 벡터 수가 hnsw-threshold 이상이면 HNSW, 그보다 적으면 전체 비교(정확)를 사용한다.
+ * 파일 경로는 emotion.vectors.dir 기준이며, required=true면 파일이 없거나 읽지 못할 때 시작을 멈춘다.
+ */
+@Service
+@RequiredArgsConstructor
+public class EmotionSuggestionService {
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${emotion.vectors.dir:../Predict}")
+    private String vectorsDir;
+
+    @Value("${emotion.vectors.faiss:emotion_vectors.faiss}")
+    private String faissFile;
+
+    @Value("${emotion.vectors.docs:docs.json}")
+    private String docsFile;
+
+    @Value("${emotion.vectors.required:true}")
+    private boolean required;
+
+    @Value("${emotion.vectors.hnsw-threshold:1000}")
+    private int hnswThreshold;
+
+    private VectorStore store;
+    private VectorIndex index;
+    private List<String> labels = List.of();
+    private Map<String, List<String>> foods = Map.of();
+
+    @PostConstruct
+    public void load() {
+        try (InputStream in = new ClassPathResource("emotion/comfort_foods.json").getInputStream()) {
+            foods = objectMapper.readValue(in, new TypeReference<Map<String, List<String>>>() {
+            });
+        } catch (IOException e) {
+            System.out.println("감정별 음식 목록을 읽지 못했습니다: " + e.getMessage());
+        }
+
+        Path dir = Path.of(vectorsDir);
+        if (!dir.isAbsolute()) {
+            System.out.println("emotion.vectors.dir가 상대 경로라 작업 디렉터리 기준으로 찾습니다: " + dir.toAbsolutePath().normalize());
+        }
+        Path faiss = dir.resolve(faissFile).toAbsolutePath().normalize();
+        Path docs = dir.resolve(docsFile).toAbsolutePath().normalize();
+        for (Path file : List.of(faiss, docs)) {
+            if (!Files.isRegularFile(file)) {
+                unavailable("감정 벡터 파일이 없습니다: " + file, null);
+                return;
+            }
+        }
+        try {
+            VectorStore loaded = FaissFlatReader.read(faiss);
+            List<String> loadedLabels = objectMapper.readValue(docs.toFile(), DocsFile.class).labels();
+            if (loadedLabels.size() != loaded.size()) {
+                unavailable("docs.json 라벨 수와 벡터 수가 다릅니다: " + loadedLabels.size() + " != " + loaded.size(), null);
+                return;
+            }
+            store = loaded;
+            labels = loadedLabels;
+            index = loaded.size() >= hnswThreshold ? HnswIndex.build(loaded, 16, 200, 64) : new BruteForceIndex(loaded);
+        } catch (IOException e) {
+            unavailable("감정 벡터 파일을 읽지 못했습니다: " + faiss + " (" + e.getMessage() + ")", e);
+        }
+    }
+
+    private void unavailable(String reason, Exception cause) {
+        if (required) {
+            throw new IllegalStateException(reason + " - emotion.vectors.dir(EMOTION_VECTORS_DIR)를 확인하거나, "
+                    + "벡터 추천 없이 시작하려면 emotion.vectors.required=false", cause);
+        }
+        System.out.println(reason + " - 벡터 추천을 사용하지 않습니다");
+    }
+
+    record DocsFile(List<String> labels, List<String> texts) {
+    }
+
+    public boolean isAvailable() {
+        return index != null;
+    }
+
+    // emotion과 가까운 감정 k개 (자기 자신 포함, 가까운 순)
+    public List<EmotionSuggestion> suggest(String emotion, int k) {
+        int id = labels.indexOf(emotion);
+        if (index == null || id < 0) {
+            return List.of(new EmotionSuggestion(emotion, 0f, foods.getOrDefault(emotion, List.of())));
+        }
+        List<EmotionSuggestion> result = new ArrayList<>(k);
+        for (Neighbor neighbor : index.search(store.get(id), k)) {
+            String label = labels.get(neighbor.id());
+            result.add(new EmotionSuggestion(label, neighbor.distance(), foods.getOrDefault(label, List.of())));
+        }
+        return result;
+    }
+}
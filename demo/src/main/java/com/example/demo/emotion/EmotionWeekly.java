@@ -0,0 +1,46 @@
+package com.example.demo.emotion;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * 회원별 주간(월요일 시작) 감정 횟수. EmotionLogWriter가 기록을 쌓을 때 같이 증가시킨다. (INSERT ... ON DUPLICATE KEY UPDATE)
+ */
+@Entity
+@Getter
+@Setter
+@IdClass(EmotionWeekly.Key.class)
+@Table(name = "emotion_weekly")
+public class EmotionWeekly {
+
+    @Id
+    @Column(name = "member_num")
+    private Long memberNum;
+
+    @Id
+    @Column(name = "week_start")
+    private LocalDate weekStart;
+
+    @Id
+    @Column(length = 10)
+    private String emotion;
+
+    @Column(nullable = false)
+    private long cnt;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long memberNum;
+        private LocalDate weekStart;
+        private String emotion;
+    }
+}
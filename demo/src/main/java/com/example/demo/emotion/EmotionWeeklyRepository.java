@@ -0,0 +1,10 @@
+package com.example.demo.emotion;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface EmotionWeeklyRepository extends JpaRepository<EmotionWeekly, EmotionWeekly.Key> {
+    List<EmotionWeekly> findByMemberNumAndWeekStartBetweenOrderByWeekStart(Long memberNum, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,234 @@
+package com.example.demo.food.Service;
+
+import com.example.demo.batch.JobCheckpoints;
+import com.example.demo.shard.ShardDataSources;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 오래된 food 원본 행 정리. older-than-days일이 지난 행을 회원/날짜/끼니별 합계(food_daily_summary)로 합치고 원본은 지운다.
+ * 오래된 식단은 일별 합계(달력, Diet.totalKcal)로만 보므로 원본 행은 필요 없다.
+ * 회원 단위로 처리한다.
+ *   1. 한 트랜잭션(READ COMMITTED, 원본 행 잠금 없음)에서 합계를 더하고 진행 위치를 "합침"으로 기록
+ *   2. 원본을 delete-batch개씩 자동 커밋으로 지우고 배치 사이에 pause-ms만큼 쉰다
+ *   3. 진행 위치를 "완료"로 기록
+ * 중간에 멈추면 다음 실행이 진행 위치의 기준일(cutoff)과 회원부터 이어서 한다. (합친 회원을 다시 더하지 않음)
+ * 합칠 때 날짜별 칼로리 합을 그날의 Diet.totalKcal과 비교해서 food.compaction.diet.checks 지표로 남긴다. (원본 삭제는 막지 않음)
+ * 한 번 실행은 max-run-minutes까지만 하고, FoodPartitionMaintainer와 같은 잠금으로 다른 노드/파티션 작업과 겹치지 않게 한다.
+ */
+@Component
+@ConditionalOnProperty(name = "food.compaction.enabled", havingValue = "true")
+public class FoodCompactionJob {
+
+    static final String JOB = "food-compaction";
+    private static final String LOCK_NAME = "food_partition_maintenance";
+
+    private static final String AGGREGATE_MEMBER =
+            "INSERT INTO food_daily_summary (member_num, summary_date, meal_time, food_count, calories, protein, fat, carbohydrates) " +
+            "SELECT member_num, DATE(reg_date), COALESCE(meal_time, ''), COUNT(*), COALESCE(SUM(calories), 0), " +
+            "COALESCE(SUM(protein), 0), COALESCE(SUM(fat), 0), COALESCE(SUM(carbohydrates), 0) " +
+            "FROM food WHERE member_num = ? AND reg_date < ? GROUP BY member_num, DATE(reg_date), COALESCE(meal_time, '') " +
+            "ON DUPLICATE KEY UPDATE food_count = food_count + VALUES(food_count), calories = calories + VALUES(calories), " +
+            "protein = protein + VALUES(protein), fat = fat + VALUES(fat), carbohydrates = carbohydrates + VALUES(carbohydrates)";
+
+    // 진행 위치: 기준일 | 마지막 회원 | 그 회원의 원본 삭제가 끝났는지
+    record Checkpoint(LocalDate cutoff, long memberNum, boolean deleted) {
+
+        String format() {
+            return cutoff + "|" + memberNum + "|" + (deleted ? "D" : "A");
+        }
+
+        static Checkpoint parse(String value) {
+            if (value == null || value.isBlank()) return null;
+            String[] parts = value.split("\\|");
+            return new Checkpoint(LocalDate.parse(parts[0]), Long.parseLong(parts[1]), "D".equals(parts[2]));
+        }
+    }
+
+    private final DataSource dataSource;
+    private final ObjectProvider<ShardDataSources> shardDataSources;
+    private final int olderThanDays;
+    private final int deleteBatch;
+    private final long pauseMillis;
+    private final long maxRunMillis;
+    private final double kcalTolerance;
+
+    private final Counter compactedMembers;
+    private final Counter deletedRows;
+    private final Counter dietMatch;
+    private final Counter dietMismatch;
+    private final Counter dietMissing;
+
+    public FoodCompactionJob(DataSource dataSource, ObjectProvider<ShardDataSources> shardDataSources, MeterRegistry meterRegistry,
+                             @Value("${food.compaction.older-than-days:35}") int olderThanDays,
+                             @Value("${food.compaction.delete-batch:500}") int deleteBatch,
+                             @Value("${food.compaction.pause-ms:50}") long pauseMillis,
+                             @Value("${food.compaction.max-run-minutes:30}") long maxRunMinutes,
+                             @Value("${food.compaction.kcal-tolerance:1}") double kcalTolerance) {
+        this.dataSource = dataSource;
+        this.shardDataSources = shardDataSources;
+        this.olderThanDays = olderThanDays;
+        this.deleteBatch = deleteBatch;
+        this.pauseMillis = pauseMillis;
+        this.maxRunMillis = maxRunMinutes * 60_000;
+        this.kcalTolerance = kcalTolerance;
+        this.compactedMembers = Counter.builder("food.compaction.members")
+                .description("원본 food 행을 합계로 줄인 회원 수")
+                .register(meterRegistry);
+        this.deletedRows = Counter.builder("food.compaction.rows")
+                .description("합계로 옮긴 뒤 삭제한 food 원본 행 수")
+                .register(meterRegistry);
+        this.dietMatch = dietCheck(meterRegistry, "match");
+        this.dietMismatch = dietCheck(meterRegistry, "mismatch");
+        this.dietMissing = dietCheck(meterRegistry, "no_diet");
+    }
+
+    private static Counter dietCheck(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("food.compaction.diet.checks")
+                .description("합친 날짜별 칼로리 합과 Diet.totalKcal 비교 결과")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${food.compaction.cron:0 0 4 * * *}")
+    public void run() {
+        List<DataSource> targets = new ArrayList<>();
+        targets.add(dataSource);
+        ShardDataSources shards = shardDataSources.getIfAvailable();
+        if (shards != null) {
+            for (int i = 0; i < shards.size(); i++) targets.add(shards.get(i));
+        }
+        long deadline = System.currentTimeMillis() + maxRunMillis;
+        for (DataSource target : targets) {
+            try {
+                compact(target, LocalDate.now(), deadline);
+            } catch (RuntimeException e) {
+                System.out.println("food 정리 실패: " + e.getMessage());
+            }
+        }
+    }
+
+    // 대상 DB 하나를 정리. 모두 끝났으면 true (시간 초과로 멈췄으면 false)
+    boolean compact(DataSource target, LocalDate today, long deadline) {
+        Boolean finished = new JdbcTemplate(target).execute((ConnectionCallback<Boolean>) connection -> {
+            SingleConnectionDataSource single = new SingleConnectionDataSource(connection, true);
+            JdbcTemplate jdbc = new JdbcTemplate(single);
+            Integer locked = jdbc.queryForObject("SELECT GET_LOCK(?, 0)", Integer.class, LOCK_NAME);
+            if (locked == null || locked != 1) return false;   // 다른 노드 또는 파티션 관리가 실행 중
+            try {
+                TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(single));
+                tx.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+                return compact(jdbc, tx, today, deadline);
+            } finally {
+                jdbc.queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, LOCK_NAME);
+            }
+        });
+        return Boolean.TRUE.equals(finished);
+    }
+
+    private boolean compact(JdbcTemplate jdbc, TransactionTemplate tx, LocalDate today, long deadline) {
+        Checkpoint checkpoint = Checkpoint.parse(JobCheckpoints.get(jdbc, JOB));
+        LocalDate cutoff = checkpoint != null ? checkpoint.cutoff() : today.minusDays(olderThanDays);
+        long after = 0;
+        if (checkpoint != null) {
+            after = checkpoint.memberNum();
+            if (!checkpoint.deleted()) {
+                if (!deleteRows(jdbc, after, cutoff)) return false;   // 합친 뒤 삭제 도중 멈춘 회원
+                JobCheckpoints.save(jdbc, JOB, new Checkpoint(cutoff, after, true).format());
+            }
+        }
+
+        while (System.currentTimeMillis() < deadline) {
+            Long memberNum = jdbc.queryForObject("SELECT MIN(member_num) FROM food WHERE member_num > ? AND reg_date < ?",
+                    Long.class, after, Date.valueOf(cutoff));
+            if (memberNum == null) {
+                JobCheckpoints.save(jdbc, JOB, null);   // 이번 기준일 완료. 다음 실행은 새 기준일로 처음부터
+                return true;
+            }
+            tx.executeWithoutResult(status -> {
+                checkAgainstDiet(jdbc, memberNum, cutoff);
+                jdbc.update(AGGREGATE_MEMBER, memberNum, Date.valueOf(cutoff));
+                JobCheckpoints.save(jdbc, JOB, new Checkpoint(cutoff, memberNum, false).format());
+            });
+            if (!deleteRows(jdbc, memberNum, cutoff)) return false;
+            JobCheckpoints.save(jdbc, JOB, new Checkpoint(cutoff, memberNum, true).format());
+            compactedMembers.increment();
+            after = memberNum;
+        }
+        return false;
+    }
+
+    // 중단(종료 중 인터럽트)되면 false. 진행 위치는 "합침"으로 남아 다음 실행이 삭제부터 이어서 한다
+    private boolean deleteRows(JdbcTemplate jdbc, long memberNum, LocalDate cutoff) {
+        while (true) {
+            int deleted = jdbc.update("DELETE FROM food WHERE member_num = ? AND reg_date < ? LIMIT ?",
+                    memberNum, Date.valueOf(cutoff), deleteBatch);
+            deletedRows.increment(deleted);
+            if (deleted < deleteBatch) return true;
+            if (pauseMillis > 0) {
+                try {
+                    Thread.sleep(pauseMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+    }
+
+    private void checkAgainstDiet(JdbcTemplate jdbc, long memberNum, LocalDate cutoff) {
+        Map<LocalDate, Double> foodKcal = new HashMap<>();
+        jdbc.query("SELECT DATE(reg_date), COALESCE(SUM(calories), 0) FROM food WHERE member_num = ? AND reg_date < ? GROUP BY DATE(reg_date)",
+                rs -> {
+                    foodKcal.put(rs.getDate(1).toLocalDate(), rs.getDouble(2));
+                }, memberNum, Date.valueOf(cutoff));
+        Map<LocalDate, Double> dietKcal = new HashMap<>();
+        jdbc.query("SELECT diet_date, total_calories FROM diet WHERE member_num = ? AND diet_date < ? AND total_calories IS NOT NULL",
+                rs -> {
+                    dietKcal.put(rs.getDate(1).toLocalDate(), rs.getDouble(2));
+                }, memberNum, Date.valueOf(cutoff));
+
+        int[] result = compareWithDiet(foodKcal, dietKcal, kcalTolerance);
+        dietMatch.increment(result[0]);
+        dietMismatch.increment(result[1]);
+        dietMissing.increment(result[2]);
+        if (result[1] > 0) {
+            System.out.println("food 정리: 회원 " + memberNum + " 칼로리 합이 Diet와 다른 날 " + result[1] + "일");
+        }
+    }
+
+    // {일치, 불일치, Diet 없음} 날짜 수
+    static int[] compareWithDiet(Map<LocalDate, Double> foodKcal, Map<LocalDate, Double> dietKcal, double tolerance) {
+        int[] result = new int[3];
+        foodKcal.forEach((date, kcal) -> {
+            Double diet = dietKcal.get(date);
+            if (diet == null) {
+                result[2]++;
+            } else if (Math.abs(diet - kcal) <= tolerance) {
+                result[0]++;
+            } else {
+                result[1]++;
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.demo.food.Service;
+
+import com.example.demo.batch.JobCheckpoints;
+import com.example.demo.shard.ShardDataSources;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * food 테이블 월별 RANGE 파티션 관리. 매일(cron) 실행한다.
+ * - 기존 테이블을 reg_date 월별 파티션으로 바꾸는 일은 한 번만 따로 실행한다. (FoodPartitionMigrationRunner, MariaDB 제약: PK에 reg_date 포함, 외래키 불가)
+ *   테이블 전체를 복사하므로 그동안 food 쓰기가 기다린다. 아직 바꾸지 않은 DB는 매일 작업에서 건너뛴다.
+ * - 앞으로 months-ahead개월치 파티션을 미리 만든다. (pmax를 나눔)
+ * - archive-after-months보다 오래된 파티션은 food_daily_summary(회원/날짜/끼니별 합계)로 합친 뒤 DROP PARTITION 한다.
+ *   합계 저장과 진행 위치(job_checkpoint)를 한 트랜잭션으로 기록하므로, DROP 전에 멈춰도 다시 더하지 않는다.
+ * 오래된 행이 파티션째 빠지므로 데이터가 쌓여도 food의 인덱스 크기와 버퍼 풀 사용량이 일정 수준을 넘지 않는다.
+ * sharding 프로필이면 회원 DB와 각 샤드의 food에 똑같이 적용한다. 여러 노드에서 돌아도 GET_LOCK으로 한 곳만 실행한다.
+ */
+@Component
+@ConditionalOnProperty(name = "food.partition.enabled", havingValue = "true")
+public class FoodPartitionMaintainer {
+
+    static final String ARCHIVE_JOB = "food-partition-archive";
+    private static final String LOCK_NAME = "food_partition_maintenance";
+    private static final String MAX_PARTITION = "pmax";
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String ARCHIVE_PARTITION =
+            "INSERT INTO food_daily_summary (member_num, summary_date, meal_time, food_count, calories, protein, fat, carbohydrates) " +
+            "SELECT member_num, DATE(reg_date), COALESCE(meal_time, ''), COUNT(*), COALESCE(SUM(calories), 0), " +
+            "COALESCE(SUM(protein), 0), COALESCE(SUM(fat), 0), COALESCE(SUM(carbohydrates), 0) " +
+            "FROM food PARTITION (%s) GROUP BY member_num, DATE(reg_date), COALESCE(meal_time, '') " +
+            "ON DUPLICATE KEY UPDATE food_count = food_count + VALUES(food_count), calories = calories + VALUES(calories), " +
+            "protein = protein + VALUES(protein), fat = fat + VALUES(fat), carbohydrates = carbohydrates + VALUES(carbohydrates)";
+
+    record Partition(String name, LocalDate lessThan) {
+    }
+
+    private final DataSource dataSource;
+    private final ObjectProvider<ShardDataSources> shardDataSources;
+    private final int monthsAhead;
+    private final int archiveAfterMonths;
+
+    public FoodPartitionMaintainer(DataSource dataSource, ObjectProvider<ShardDataSources> shardDataSources,
+                                   @Value("${food.partition.months-ahead:3}") int monthsAhead,
+                                   @Value("${food.archive.after-months:12}") int archiveAfterMonths) {
+        this.dataSource = dataSource;
+        this.shardDataSources = shardDataSources;
+        this.monthsAhead = monthsAhead;
+        this.archiveAfterMonths = archiveAfterMonths;
+    }
+
+    @Scheduled(cron = "${food.partition.cron:0 30 3 * * *}")
+    public void maintain() {
+        for (DataSource target : targets()) {
+            try {
+                maintain(target, YearMonth.now());
+            } catch (RuntimeException e) {
+                System.out.println("food 파티션 관리 실패: " + e.getMessage());
+            }
+        }
+    }
+
+    // 기존 food를 파티션 테이블로 바꾼다 (이미 바뀐 DB는 건너뜀). 실패하면 예외를 그대로 던진다
+    public void migrate() {
+        for (DataSource target : targets()) {
+            migrate(target, YearMonth.now());
+        }
+    }
+
+    private List<DataSource> targets() {
+        List<DataSource> targets = new ArrayList<>();
+        targets.add(dataSource);
+        ShardDataSources shards = shardDataSources.getIfAvailable();
+        if (shards != null) {
+            for (int i = 0; i < shards.size(); i++) targets.add(shards.get(i));
+        }
+        return targets;
+    }
+
+    void migrate(DataSource target, YearMonth now) {
+        boolean locked = withLock(target, (jdbc, tx) -> {
+            if (partitions(jdbc).isEmpty()) {
+                convert(jdbc, now);
+            }
+        });
+        if (!locked) throw new IllegalStateException("다른 노드에서 food 파티션 작업이 실행 중입니다.");
+    }
+
+    // 파티션을 앞으로 늘리고 기간 지난 파티션을 요약 후 삭제
+    void maintain(DataSource target, YearMonth now) {
+        withLock(target, (jdbc, tx) -> {
+            if (partitions(jdbc).isEmpty()) {
+                System.out.println("food 파티션 없음, 건너뜀 (food.partition.migrate=true로 한 번 변환 필요)");
+                return;
+            }
+            addFuturePartitions(jdbc, now);
+            archive(jdbc, tx, now);
+        });
+    }
+
+    private interface LockedWork {
+        void run(JdbcTemplate jdbc, TransactionTemplate tx);
+    }
+
+    // 한 연결에서 잠금을 잡고 실행. 다른 노드가 실행 중이면 아무것도 하지 않고 false
+    private boolean withLock(DataSource target, LockedWork work) {
+        Boolean ran = new JdbcTemplate(target).execute((ConnectionCallback<Boolean>) connection -> {
+            SingleConnectionDataSource single = new SingleConnectionDataSource(connection, true);
+            JdbcTemplate jdbc = new JdbcTemplate(single);
+            Integer locked = jdbc.queryForObject("SELECT GET_LOCK(?, 0)", Integer.class, LOCK_NAME);
+            if (locked == null || locked != 1) return false;
+            try {
+                work.run(jdbc, new TransactionTemplate(new DataSourceTransactionManager(single)));
+            } finally {
+                jdbc.queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, LOCK_NAME);
+            }
+            return true;
+        });
+        return Boolean.TRUE.equals(ran);
+    }
+
+    private void convert(JdbcTemplate jdbc, YearMonth now) {
+        for (String fk : jdbc.queryForList("SELECT CONSTRAINT_NAME FROM information_schema.TABLE_CONSTRAINTS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'food' AND CONSTRAINT_TYPE = 'FOREIGN KEY'", String.class)) {
+            jdbc.execute("ALTER TABLE food DROP FOREIGN KEY `" + fk + "`");
+        }
+        List<String> pk = jdbc.queryForList("SELECT COLUMN_NAME FROM information_schema.KEY_COLUMN_USAGE " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'food' AND CONSTRAINT_NAME = 'PRIMARY'", String.class);
+        if (!pk.contains("reg_date")) {
+            jdbc.execute("ALTER TABLE food DROP PRIMARY KEY, ADD PRIMARY KEY (id, reg_date)");
+        }
+        LocalDateTime oldest = jdbc.queryForObject("SELECT MIN(reg_date) FROM food", LocalDateTime.class);
+        YearMonth from = oldest != null ? YearMonth.from(oldest) : now;
+        long started = System.currentTimeMillis();
+        jdbc.execute("ALTER TABLE food " + partitionByClause(from, now.plusMonths(monthsAhead)));
+        System.out.println("food 월별 파티션 적용 (" + from + " ~ " + now.plusMonths(monthsAhead) + "), "
+                + (System.currentTimeMillis() - started) + "ms");
+    }
+
+    private void addFuturePartitions(JdbcTemplate jdbc, YearMonth now) {
+        List<Partition> existing = partitions(jdbc);
+        List<YearMonth> missing = missingMonths(existing, now.plusMonths(monthsAhead));
+        if (missing.isEmpty()) return;
+        StringBuilder defs = new StringBuilder();
+        for (YearMonth month : missing) {
+            if (!defs.isEmpty()) defs.append(", ");
+            defs.append(partitionDefinition(month));
+        }
+        boolean hasMax = existing.stream().anyMatch(p -> p.lessThan() == null);
+        if (hasMax) {
+            jdbc.execute("ALTER TABLE food REORGANIZE PARTITION " + MAX_PARTITION + " INTO (" + defs
+                    + ", PARTITION " + MAX_PARTITION + " VALUES LESS THAN (MAXVALUE))");
+        } else {
+            jdbc.execute("ALTER TABLE food ADD PARTITION (" + defs + ")");
+        }
+    }
+
+    private void archive(JdbcTemplate jdbc, TransactionTemplate tx, YearMonth now) {
+        String done = JobCheckpoints.get(jdbc, ARCHIVE_JOB);
+        for (Partition partition : expiredPartitions(partitions(jdbc), now, archiveAfterMonths)) {
+            if (done == null || partition.name().compareTo(done) > 0) {
+                tx.executeWithoutResult(status -> {
+                    int rows = jdbc.update(ARCHIVE_PARTITION.formatted(partition.name()));
+                    JobCheckpoints.save(jdbc, ARCHIVE_JOB, partition.name());
+                    System.out.println("food 파티션 " + partition.name() + " 요약 저장 (" + rows + "행)");
+                });
+            }
+            jdbc.execute("ALTER TABLE food DROP PARTITION " + partition.name());
+            System.out.println("food 파티션 " + partition.name() + " 삭제");
+        }
+    }
+
+    private static List<Partition> partitions(JdbcTemplate jdbc) {
+        return jdbc.query("SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'food' AND PARTITION_NAME IS NOT NULL " +
+                        "ORDER BY PARTITION_ORDINAL_POSITION",
+                (rs, i) -> parsePartition(rs.getString(1), rs.getString(2)));
+    }
+
+    // ===== 파티션 계획 (DB 없이 계산) =====
+
+    static String partitionName(YearMonth month) {
+        return "p" + month.format(NAME_FORMAT);
+    }
+
+    static String partitionDefinition(YearMonth month) {
+        return "PARTITION " + partitionName(month) + " VALUES LESS THAN ('" + month.plusMonths(1).atDay(1) + "')";
+    }
+
+    static String partitionByClause(YearMonth from, YearMonth to) {
+        StringBuilder sql = new StringBuilder("PARTITION BY RANGE COLUMNS(reg_date) (");
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            sql.append(partitionDefinition(month)).append(", ");
+        }
+        return sql.append("PARTITION ").append(MAX_PARTITION).append(" VALUES LESS THAN (MAXVALUE))").toString();
+    }
+
+    // PARTITION_DESCRIPTION: '2026-02-01' 또는 '2026-02-01 00:00:00', 마지막은 MAXVALUE
+    static Partition parsePartition(String name, String description) {
+        if (description == null || description.equalsIgnoreCase("MAXVALUE")) return new Partition(name, null);
+        String value = description.replace("'", "").trim();
+        return new Partition(name, LocalDate.parse(value.substring(0, 10)));
+    }
+
+    // 마지막 월 파티션 다음 달부터 lastMonth까지
+    static List<YearMonth> missingMonths(List<Partition> existing, YearMonth lastMonth) {
+        LocalDate covered = existing.stream().map(Partition::lessThan).filter(d -> d != null)
+                .max(LocalDate::compareTo).orElse(null);
+        List<YearMonth> missing = new ArrayList<>();
+        if (covered == null) return missing;
+        for (YearMonth month = YearMonth.from(covered); !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+            missing.add(month);
+        }
+        return missing;
+    }
+
+    // 상한이 (이번 달 - afterMonths)의 1일 이하인 파티션 = 그 안의 행이 모두 보관 기간을 넘김
+    static List<Partition> expiredPartitions(List<Partition> existing, YearMonth now, int afterMonths) {
+        LocalDate cutoff = now.minusMonths(afterMonths).atDay(1);
+        return existing.stream().filter(p -> p.lessThan() != null && !p.lessThan().isAfter(cutoff)).toList();
+    }
+}
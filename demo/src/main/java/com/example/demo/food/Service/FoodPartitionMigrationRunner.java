@@ -0,0 +1,39 @@
+package com.example.demo.food.Service;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * food 월별 파티션 변환을 한 번 실행하고 종료한다. (회원 DB와 sharding 프로필이면 각 샤드)
+ * 외래키를 지우고 PK를 (id, reg_date)로 바꾼 뒤 테이블 전체를 복사하므로 그동안 food 쓰기가 멈춘다. 점검 시간에 실행한다.
+ *   --food.partition.enabled=true --food.partition.migrate=true
+ */
+@Component
+@ConditionalOnProperty(name = "food.partition.migrate", havingValue = "true")
+public class FoodPartitionMigrationRunner implements ApplicationRunner {
+
+    private final ObjectProvider<FoodPartitionMaintainer> maintainer;
+    private final ApplicationContext context;
+
+    public FoodPartitionMigrationRunner(ObjectProvider<FoodPartitionMaintainer> maintainer, ApplicationContext context) {
+        this.maintainer = maintainer;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        FoodPartitionMaintainer target = maintainer.getIfAvailable();
+        if (target == null) {
+            throw new IllegalStateException("food.partition.migrate는 food.partition.enabled=true와 함께 실행해야 합니다.");
+        }
+        long started = System.currentTimeMillis();
+        target.migrate();
+        System.out.println("food 파티션 변환 완료, " + (System.currentTimeMillis() - started) + "ms");
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+}
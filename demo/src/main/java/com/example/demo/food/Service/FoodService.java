@@ -1,16 +1,18 @@
 package com.example.demo.food.Service;
 
 import com.example.demo.food.model.dto.FoodResponseDto;
+import com.example.demo.metrics.FastApiTimer;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.FileSystemResource;
-import org.springframework.http.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
 import org.springframework.stereotype.Service;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
-import java.io.File;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.Map;
@@ -20,57 +22,58 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class FoodService {
 
-    private final RestTemplate restTemplate = new RestTemplate();
-    private final String fastApiUrl = "http://localhost:8000/upload"; // FastAPI URL
+    private static final ParameterizedTypeReference<Map<String, Object>> JSON_MAP = new ParameterizedTypeReference<>() {};
 
-    public FoodResponseDto analyzeFood(MultipartFile file) throws IOException {
-        File tempFile = convertMultipartFileToFile(file);
-        try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+    private final FastApiTimer fastApiTimer;
+    private final WebClient fastApiWebClient;   // FastApiClientConfig
 
-            MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-            body.add("file", new FileSystemResource(tempFile));
+    // FastAPI 음식 사진 분석 URL (부하 테스트 때는 스텁 서버로 바꿔서 사용)
+    @Value("${food.api-url:http://localhost:8000/upload}")
+    private String fastApiUrl;
 
-            HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
-            ResponseEntity<Map> response = restTemplate.postForEntity(fastApiUrl, requestEntity, Map.class);
+    /**
+     * 사진을 FastAPI로 보내 분석한다. 응답을 기다리는 동안 요청 스레드를 잡지 않는다. (컨트롤러는 Mono를 그대로 반환)
+     * 업로드 파일은 multipart 임시 파일에서 바로 읽어 보내며, 요청이 끝날 때 서블릿 컨테이너가 지운다.
+     */
+    public Mono<FoodResponseDto> analyzeFood(MultipartFile file) {
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        body.part("file", file.getResource())
+                .filename(file.getOriginalFilename() != null ? file.getOriginalFilename() : "upload")
+                .contentType(file.getContentType() != null ? MediaType.parseMediaType(file.getContentType()) : MediaType.APPLICATION_OCTET_STREAM);
 
-            Map<String, Object> result = response.getBody();
-            if (result == null) throw new IOException("FastAPI에서 응답이 없습니다.");
-
-            // FastAPI JSON key 기준
-            String foodName = (String) result.get("food_name");
-            Double confidence = result.get("confidence") instanceof Number ? ((Number) result.get("confidence")).doubleValue() : null;
-
-            Map<String, Object> nutrition = result.get("nutrition_info") instanceof Map ?
-                    (Map<String, Object>) result.get("nutrition_info") : Collections.emptyMap();
+        Mono<FoodResponseDto> request = fastApiWebClient.post()
+                .uri(fastApiUrl)
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .body(BodyInserters.fromMultipartData(body.build()))
+                .retrieve()
+                .bodyToMono(JSON_MAP)
+                .switchIfEmpty(Mono.error(() -> new IOException("FastAPI에서 응답이 없습니다.")))
+                .map(FoodService::toResponse);
+        return fastApiTimer.record("food.upload", request);
+    }
 
-            Double calories = nutrition.get("calories") instanceof Number ? ((Number) nutrition.get("calories")).doubleValue() : null;
-            Double protein = nutrition.get("protein") instanceof Number ? ((Number) nutrition.get("protein")).doubleValue() : null;
-            Double fat = nutrition.get("fat") instanceof Number ? ((Number) nutrition.get("fat")).doubleValue() : null;
-            Double carbohydrates = nutrition.get("carbohydrates") instanceof Number ? ((Number) nutrition.get("carbohydrates")).doubleValue() : null;
+    /** FastAPI /upload 응답(JSON Map)을 FoodResponseDto로 변환. 숫자가 아니거나 없는 값은 null */
+    @SuppressWarnings("unchecked")
+    public static FoodResponseDto toResponse(Map<String, Object> result) {
+        // FastAPI JSON key 기준
+        String foodName = (String) result.get("food_name");
+        Double confidence = toDouble(result.get("confidence"));
 
-            return FoodResponseDto.builder()
-                    .name(foodName)
-                    .confidenceScore(confidence != null ? (int) (confidence * 100) : null)
-                    .calories(calories)
-                    .protein(protein)
-                    .fat(fat)
-                    .carbohydrates(carbohydrates)
-                    .analysisDetails("FastAPI 모델 예측 결과")
-                    .build();
+        Map<String, Object> nutrition = result.get("nutrition_info") instanceof Map ?
+                (Map<String, Object>) result.get("nutrition_info") : Collections.emptyMap();
 
-        } finally {
-            if (tempFile.exists()) tempFile.delete();
-        }
+        return FoodResponseDto.builder()
+                .name(foodName)
+                .confidenceScore(confidence != null ? (int) (confidence * 100) : null)
+                .calories(toDouble(nutrition.get("calories")))
+                .protein(toDouble(nutrition.get("protein")))
+                .fat(toDouble(nutrition.get("fat")))
+                .carbohydrates(toDouble(nutrition.get("carbohydrates")))
+                .analysisDetails("FastAPI 모델 예측 결과")
+                .build();
     }
 
-    private File convertMultipartFileToFile(MultipartFile file) throws IOException {
-        String[] nameParts = file.getOriginalFilename().split("\\.");
-        String prefix = nameParts[0];
-        String suffix = nameParts.length > 1 ? "." + nameParts[1] : null;
-        File tempFile = File.createTempFile(prefix, suffix);
-        file.transferTo(tempFile);
-        return tempFile;
+    private static Double toDouble(Object value) {
+        return value instanceof Number number ? number.doubleValue() : null;
     }
 }
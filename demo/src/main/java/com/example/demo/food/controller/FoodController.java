@@ -12,6 +12,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Mono;
 
 import java.util.Optional;
 
@@ -31,15 +32,14 @@ public class FoodController {
 
     @PostMapping("/upload")
     @ResponseBody
-    public ResponseEntity<FoodResponseDto> uploadFood(@RequestPart("foodFile") MultipartFile file) {
-        try {
-            return ResponseEntity.ok(foodService.analyzeFood(file));
-        } catch (Exception e) {
-            return ResponseEntity.badRequest()
-                    .body(FoodResponseDto.builder()
-                            .analysisDetails("이미지 분석 실패: " + e.getMessage())
-                            .build());
-        }
+    public Mono<ResponseEntity<FoodResponseDto>> uploadFood(@RequestPart("foodFile") MultipartFile file) {
+        // 비동기 MVC: FastAPI 응답이 올 때 이어서 응답을 쓴다 (그동안 Tomcat 스레드는 반환됨)
+        return foodService.analyzeFood(file)
+                .map(ResponseEntity::ok)
+                .onErrorResume(e -> Mono.just(ResponseEntity.badRequest()
+                        .body(FoodResponseDto.builder()
+                                .analysisDetails("이미지 분석 실패: " + e.getMessage())
+                                .build())));
     }
 
     @PostMapping("/save")
@@ -1,6 +1,7 @@
 package com.example.demo.food.model;
 
 import com.example.demo.member.Member;
+import com.example.demo.shard.ShardedByMember;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -8,12 +9,13 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "food")
+// reg_date 월별 파티션 테이블 (FoodPartitionMaintainer). 파티션 테이블은 외래키를 가질 수 없으므로 member_num에 FK를 만들지 않는다
+@Table(name = "food", indexes = @Index(name = "idx_food_member_reg_date", columnList = "member_num, reg_date"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Food {
+public class Food implements ShardedByMember {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -47,7 +49,7 @@ public class Food {
     private LocalDateTime regDate;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
-    @JoinColumn(name = "member_num") // food 테이블에 member 외래키 생성
+    @JoinColumn(name = "member_num", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Member member;
 
 
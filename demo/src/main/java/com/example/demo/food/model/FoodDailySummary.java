@@ -0,0 +1,61 @@
+package com.example.demo.food.model;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * 오래된 food 원본 행을 회원/날짜/끼니별 합계로 줄여서 보관하는 테이블.
+ * FoodPartitionMaintainer가 보관 기간이 지난 월 파티션을 지우기 전에 INSERT ... ON DUPLICATE KEY UPDATE로 더해 넣는다.
+ */
+@Entity
+@Getter
+@Setter
+@IdClass(FoodDailySummary.Key.class)
+@Table(name = "food_daily_summary")
+public class FoodDailySummary {
+
+    @Id
+    @Column(name = "member_num")
+    private Long memberNum;
+
+    @Id
+    @Column(name = "summary_date")
+    private LocalDate summaryDate;
+
+    // 식사 시간 (아침/점심/저녁/없음). 원본이 NULL이면 빈 문자열
+    @Id
+    @Column(name = "meal_time", length = 20)
+    private String mealTime;
+
+    // 합친 원본 행 수
+    @Column(name = "food_count", nullable = false)
+    private long foodCount;
+
+    @Column(name = "calories", nullable = false)
+    private double calories;
+
+    @Column(name = "protein", nullable = false)
+    private double protein;
+
+    @Column(name = "fat", nullable = false)
+    private double fat;
+
+    @Column(name = "carbohydrates", nullable = false)
+    private double carbohydrates;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long memberNum;
+        private LocalDate summaryDate;
+        private String mealTime;
+    }
+}
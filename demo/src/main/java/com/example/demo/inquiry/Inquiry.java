@@ -10,6 +10,7 @@ import java.time.LocalDateTime;
 @Entity
 @Getter
 @Setter
+@Table(indexes = @Index(name = "idx_inquiry_answered_reg_date", columnList = "answered, reg_date"))   // 미답변 작업 큐
 public class Inquiry {
 
     @Id
@@ -33,4 +34,10 @@ public class Inquiry {
     private String replyMessage;
 
     private LocalDateTime repliedAt;
+
+    // 작업 큐 선점: 답변 중인 관리자 ID와 선점 만료 시각. 만료되면 다른 관리자가 가져갈 수 있다.
+    @Column(length = 20)
+    private String claimedBy;
+
+    private LocalDateTime claimedUntil;
 }
\ No newline at end of file
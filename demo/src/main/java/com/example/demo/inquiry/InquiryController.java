@@ -2,25 +2,31 @@ package com.example.demo.inquiry;
 
 import com.example.demo.member.Member;
 import com.example.demo.member.MemberContext;
+import com.example.demo.member.MemberService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 @Controller
 @RequiredArgsConstructor
 @RequestMapping("/inquiry")
 public class InquiryController {
 
     private final InquiryService inquiryService;
+    private final MemberService memberService;
 
     // 사용자 문의 작성 페이지
     @GetMapping
     public String contactForm(@AuthenticationPrincipal MemberContext memberContext, Model model) {
-        Member member = memberContext.getMember();
+        Member member = memberService.getMember(memberContext.getUsername());
         if (!inquiryService.canContact(member)) {
             model.addAttribute("alertMessage", "등록된 이메일이 없습니다. 회원정보에서 이메일을 입력해주세요.");
             return "redirect:/";  // 이메일 없는 회원은 메인으로
@@ -33,7 +39,7 @@ public class InquiryController {
     @PostMapping
     public String submitContact(@AuthenticationPrincipal MemberContext memberContext,
                                 InquiryForm inquiryForm, Model model) {
-        Member member = memberContext.getMember();
+        Member member = memberService.getMember(memberContext.getUsername());
         if (!inquiryService.canContact(member)) {
             model.addAttribute("alertMessage", "등록된 이메일이 없습니다. 회원정보에서 이메일을 입력해주세요.");
             return "redirect:/";
@@ -45,24 +51,77 @@ public class InquiryController {
 
     // 관리자 페이지: 문의 목록
     @GetMapping("/list")
-    public String inquiries(@RequestParam(defaultValue = "0") int page, Model model) {
-        Page<Inquiry> paging = inquiryService.getAllInquiries(PageRequest.of(page, 10));
+    public String inquiries(@RequestParam(defaultValue = "0") int page,
+                            @RequestParam(value = "q", required = false) String q,
+                            @RequestParam(value = "cursor", required = false) String cursor,
+                            Model model) {
+        if (q != null && !q.isBlank()) {
+            model.addAttribute("results", inquiryService.search(q, cursor, 10));
+            model.addAttribute("q", q);
+            return "footer/inquiry_list";
+        }
+        Page<InquiryListItem> paging = inquiryService.getAllInquiries(PageRequest.of(page, 10));
         model.addAttribute("paging", paging);
         return "footer/inquiry_list";
     }
 
-    // 관리자 답변 폼
+    // 관리자 답변 폼 (조회만 한다. 선점은 답변 제출 또는 큐 API의 POST에서)
+    // 다른 관리자가 선점 중이면 안내를 표시
     @GetMapping("/reply/{id}")
-    public String showInquiryDetail(@PathVariable Long id, Model model) {
+    public String showInquiryDetail(@PathVariable Long id, Model model,
+                                    @AuthenticationPrincipal MemberContext memberContext) {
         Inquiry inquiry = inquiryService.getInquiryWithMember(id);
         model.addAttribute("inquiry", inquiry);
+        model.addAttribute("claimedBy", inquiryService.activeClaimOfOther(inquiry, memberContext.getUsername()));
         return "footer/inquiry_reply";
     }
 
     // 관리자 답변 제출
     @PostMapping("/reply/{id}")
-    public String replyInquiry(@PathVariable Long id, @RequestParam String replyMessage) {
-        inquiryService.replyInquiry(id, replyMessage);
+    public String replyInquiry(@PathVariable Long id, @RequestParam String replyMessage,
+                               @AuthenticationPrincipal MemberContext memberContext) {
+        try {
+            inquiryService.replyInquiry(id, replyMessage, memberContext.getUsername());
+        } catch (IllegalStateException e) {
+            return "redirect:/inquiry/reply/" + id;   // 이미 답변됐거나 선점을 잃은 경우: 폼에서 상태를 보여준다
+        }
         return "redirect:/inquiry/list";
     }
+
+    // ===== 관리자 작업 큐 API (JSON) =====
+
+    // 대기 목록 + 미답변 수
+    @GetMapping("/queue")
+    @ResponseBody
+    public Map<String, Object> queue(@AuthenticationPrincipal MemberContext memberContext,
+                                     @RequestParam(defaultValue = "20") int size) {
+        return Map.of(
+                "pending", inquiryService.getUnansweredCount(),
+                "items", inquiryService.getQueue(memberContext.getUsername(), Math.min(size, 100)));
+    }
+
+    // 가장 오래된 문의를 선점해서 반환. 없으면 204
+    @PostMapping("/queue/next")
+    @ResponseBody
+    public ResponseEntity<InquiryListItem> claimNext(@AuthenticationPrincipal MemberContext memberContext) {
+        return inquiryService.claimNext(memberContext.getUsername())
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    // 특정 문의 선점. 다른 관리자가 가지고 있으면 409
+    @PostMapping("/queue/{id}/claim")
+    @ResponseBody
+    public ResponseEntity<Void> claim(@PathVariable Long id, @AuthenticationPrincipal MemberContext memberContext) {
+        return inquiryService.claim(id, memberContext.getUsername())
+                ? ResponseEntity.ok().build()
+                : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    @PostMapping("/queue/{id}/release")
+    @ResponseBody
+    public ResponseEntity<Void> release(@PathVariable Long id, @AuthenticationPrincipal MemberContext memberContext) {
+        inquiryService.release(id, memberContext.getUsername());
+        return ResponseEntity.noContent().build();
+    }
 }
\ No newline at end of file
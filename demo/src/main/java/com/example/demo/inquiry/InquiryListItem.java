@@ -0,0 +1,18 @@
+package com.example.demo.inquiry;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 관리자 문의 목록 한 줄. 목록에 필요한 컬럼만 JOIN 한 번으로 읽는다. (InquiryRepository.findListItems)
+@Getter
+@AllArgsConstructor
+public class InquiryListItem {
+    private final Long id;
+    private final String memberId;
+    private final String memberName;
+    private final String subject;
+    private final LocalDateTime regDate;
+    private final Boolean answered;
+}
@@ -2,15 +2,44 @@ package com.example.demo.inquiry;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface InquiryRepository extends JpaRepository<Inquiry, Long> {
-    List<Inquiry> findAllByAnsweredFalse();
+    long countByAnsweredFalse();
+
+    // 미답변 작업 큐: 오래된 순. 다른 관리자가 선점 중인 문의는 제외 (idx_inquiry_answered_reg_date 사용)
+    @Query("SELECT new com.example.demo.inquiry.InquiryListItem(i.id, m.memberId, m.memberName, i.subject, i.regDate, i.answered) " +
+            "FROM Inquiry i JOIN i.member m WHERE i.answered = false " +
+            "AND (i.claimedUntil IS NULL OR i.claimedUntil < :now OR i.claimedBy = :admin) ORDER BY i.regDate, i.id")
+    List<InquiryListItem> findQueue(@Param("admin") String admin, @Param("now") LocalDateTime now, Pageable pageable);
+
+    // 선점 (compare-and-set). 미답변이고 비어 있거나 만료되었거나 내가 가진 경우에만 1행 갱신된다.
+    @Modifying
+    @Query("UPDATE Inquiry i SET i.claimedBy = :admin, i.claimedUntil = :until WHERE i.id = :id AND i.answered = false " +
+            "AND (i.claimedUntil IS NULL OR i.claimedUntil < :now OR i.claimedBy = :admin)")
+    int claim(@Param("id") Long id, @Param("admin") String admin, @Param("now") LocalDateTime now,
+              @Param("until") LocalDateTime until);
+
+    // 답변 저장 (compare-and-set). 선점을 가진 관리자가 미답변 문의에만 한 번 저장할 수 있고, 저장하면 선점을 푼다.
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Inquiry i SET i.replyMessage = :reply, i.answered = true, i.repliedAt = :now, " +
+            "i.claimedBy = null, i.claimedUntil = null " +
+            "WHERE i.id = :id AND i.answered = false AND i.claimedBy = :admin AND i.claimedUntil >= :now")
+    int answer(@Param("id") Long id, @Param("admin") String admin, @Param("reply") String reply,
+               @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Inquiry i SET i.claimedBy = null, i.claimedUntil = null WHERE i.id = :id AND i.claimedBy = :admin")
+    int release(@Param("id") Long id, @Param("admin") String admin);
 
     @Query("SELECT i FROM Inquiry i JOIN FETCH i.member WHERE i.id = :id")
     Optional<Inquiry> findByIdWithMember(@Param("id") Long id);
@@ -18,7 +47,23 @@ public interface InquiryRepository extends JpaRepository<Inquiry, Long> {
     //@Query("SELECT i FROM Inquiry i JOIN FETCH i.member")
     //List<Inquiry> findAllWithMember();
 
-    @Query("SELECT i FROM Inquiry i JOIN FETCH i.member")
+    // 목록 화면용: 문의 + 회원 ID/이름을 한 번의 JOIN으로. count는 회원 JOIN 없이 따로 센다.
+    @Query(value = "SELECT new com.example.demo.inquiry.InquiryListItem(i.id, m.memberId, m.memberName, i.subject, i.regDate, i.answered) " +
+            "FROM Inquiry i JOIN i.member m ORDER BY i.regDate DESC, i.id DESC",
+            countQuery = "SELECT count(i) FROM Inquiry i")
+    Page<InquiryListItem> findListItems(Pageable pageable);
+
+    // 엔티티가 필요한 경우: member를 같이 읽는다. (JOIN FETCH + Page는 count 쿼리를 만들 수 없어서 EntityGraph 사용)
+    @EntityGraph(attributePaths = "member")
+    @Query(value = "SELECT i FROM Inquiry i", countQuery = "SELECT count(i) FROM Inquiry i")
     Page<Inquiry> findAllWithMember(Pageable pageable);
 
-}
\ No newline at end of file
+    // 검색 결과(ID 목록)를 목록 화면용으로 읽는다. 순서는 호출하는 쪽에서 맞춘다.
+    @Query("SELECT new com.example.demo.inquiry.InquiryListItem(i.id, m.memberId, m.memberName, i.subject, i.regDate, i.answered) " +
+            "FROM Inquiry i JOIN i.member m WHERE i.id IN :ids")
+    List<InquiryListItem> findListItemsByIds(@Param("ids") Collection<Long> ids);
+
+    // 검색 인덱스 초기 구축용 (ID 순 청크)
+    List<Inquiry> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+}
@@ -0,0 +1,64 @@
+package com.example.demo.inquiry;
+
+import com.example.demo.search.RebuildableTextIndex;
+import com.example.demo.search.SearchCursor;
+import com.example.demo.search.SearchPage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * 문의 제목/내용 전문 검색 인덱스. (관리자 문의 목록) 시작 시 전체를 한 번 읽어 만들고, 이후에는 저장할 때마다 증분 반영한다.
+ * 다른 노드에서 저장된 문의는 증분으로 들어오지 않으므로 resync-ms마다 DB에서 새로 만들어 바꿔 끼운다.
+ */
+@Component
+@RequiredArgsConstructor
+public class InquirySearchIndex {
+
+    private static final int BUILD_CHUNK = 1_000;
+    private static final int TITLE_WEIGHT = 3;
+
+    private final InquiryRepository inquiryRepository;
+    private final RebuildableTextIndex index = new RebuildableTextIndex(TITLE_WEIGHT);
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${inquiry.search.resync-ms:600000}", initialDelayString = "${inquiry.search.resync-ms:600000}")
+    public void build() {
+        index.rebuild(rebuilt -> {
+            long after = 0;
+            while (true) {
+                List<Inquiry> chunk = inquiryRepository.findByIdGreaterThanOrderByIdAsc(after, PageRequest.of(0, BUILD_CHUNK));
+                if (chunk.isEmpty()) break;
+                for (Inquiry inquiry : chunk) {
+                    rebuilt.put(inquiry.getId(), inquiry.getSubject(), inquiry.getMessage());
+                }
+                after = chunk.get(chunk.size() - 1).getId();
+            }
+        });
+    }
+
+    // 트랜잭션 안이면 커밋된 뒤에 반영
+    public void putAfterCommit(Long inquiryId, String subject, String message) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            index.put(inquiryId, subject, message);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                index.put(inquiryId, subject, message);
+            }
+        });
+    }
+
+    public SearchPage search(String query, String cursor, int size) {
+        return index.search(query, SearchCursor.decode(cursor), size);
+    }
+}
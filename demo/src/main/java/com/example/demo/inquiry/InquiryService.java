@@ -1,27 +1,43 @@
 package com.example.demo.inquiry;
 
+import com.example.demo.mail.MailOutboxService;
 import com.example.demo.member.Member;
+import com.example.demo.search.SearchHit;
+import com.example.demo.search.SearchPage;
+import com.example.demo.search.SearchResults;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class InquiryService {
 
     private final InquiryRepository inquiryRepository;
+    private final MailOutboxService mailOutboxService;
+    private final InquirySearchIndex inquirySearchIndex;
+    private final UnansweredInquiryCounter unansweredInquiryCounter;
+
+    @Value("${inquiry.queue.lease-minutes:10}")
+    private long leaseMinutes;
 
     // 이메일 존재 여부 확인
     public boolean canContact(Member member) {
         return member.getEmail() != null && !member.getEmail().isEmpty();
     }
 
-    public Page<Inquiry> getAllInquiries(Pageable pageable) {
-        return inquiryRepository.findAll(pageable);
+    // 관리자 문의 목록 (최신순). 페이지당 목록 1회 + count 1회 쿼리
+    @Transactional(readOnly = true)
+    public Page<InquiryListItem> getAllInquiries(Pageable pageable) {
+        return inquiryRepository.findListItems(pageable);
     }
 
     // 사용자 문의 저장
@@ -36,22 +52,82 @@ public class InquiryService {
         inquiry.setRegDate(LocalDateTime.now());
         inquiry.setAnswered(false);
         inquiryRepository.save(inquiry);
+        inquirySearchIndex.putAfterCommit(inquiry.getId(), subject, message);
+        unansweredInquiryCounter.addAfterCommit(1);
+    }
+
+    // 관리자 배지용 미답변 수 (쿼리 없음)
+    public long getUnansweredCount() {
+        return unansweredInquiryCounter.get();
+    }
+
+    // 미답변 작업 큐: 오래된 순, 다른 관리자가 선점 중인 문의 제외
+    // 선점 상태는 복제 지연 없이 봐야 하므로 primary에서 읽는다
+    @Transactional
+    public List<InquiryListItem> getQueue(String admin, int size) {
+        return inquiryRepository.findQueue(admin, LocalDateTime.now(), PageRequest.of(0, size));
+    }
+
+    // 문의 선점. 다른 관리자가 선점 중이면 false
+    @Transactional
+    public boolean claim(Long inquiryId, String admin) {
+        LocalDateTime now = LocalDateTime.now();
+        return inquiryRepository.claim(inquiryId, admin, now, now.plusMinutes(leaseMinutes)) == 1;
+    }
+
+    @Transactional
+    public void release(Long inquiryId, String admin) {
+        inquiryRepository.release(inquiryId, admin);
+    }
+
+    // 큐에서 가장 오래된 문의를 선점해서 반환. 후보를 다른 관리자가 먼저 가져가면 다음 후보를 시도한다.
+    @Transactional
+    public Optional<InquiryListItem> claimNext(String admin) {
+        for (InquiryListItem candidate : getQueue(admin, 10)) {
+            if (claim(candidate.getId(), admin)) {
+                return Optional.of(candidate);
+            }
+        }
+        return Optional.empty();
+    }
+
+    // 관리자 문의 검색: 제목/내용 (관련도순, cursor 페이징)
+    @Transactional(readOnly = true)
+    public SearchResults<InquiryListItem> search(String query, String cursor, int size) {
+        SearchPage page = inquirySearchIndex.search(query, cursor, size);
+        if (page.getHits().isEmpty()) {
+            return SearchResults.of(page, List.of(), InquiryListItem::getId);
+        }
+        List<Long> ids = page.getHits().stream().map(SearchHit::getId).toList();
+        return SearchResults.of(page, inquiryRepository.findListItemsByIds(ids), InquiryListItem::getId);
     }
 
     // 관리자가 답장 작성
-    public void replyInquiry(Long inquiryId, String replyMessage) {
-        //Inquiry inquiry = inquiryRepository.findById(inquiryId).orElseThrow();
-        Inquiry inquiry = inquiryRepository.findByIdWithMember(inquiryId).orElseThrow();
-        inquiry.setReplyMessage(replyMessage);
-        inquiry.setAnswered(true);
-        inquiry.setRepliedAt(LocalDateTime.now());
-        inquiryRepository.save(inquiry);
+    // 답변 저장과 메일 outbox 기록을 한 트랜잭션으로 처리한다. 실제 발송은 MailDispatcher가 나중에 한다.
+    // 제출 시점에 선점하고, 선점을 가진 관리자가 미답변 문의에만 한 번 답변할 수 있다.
+    // (선점 UPDATE가 행 잠금을 잡으므로 동시에 답변해도 한 명만 통과하고, 이미 답변된 문의는 메일이 다시 나가지 않음)
+    @Transactional
+    public void replyInquiry(Long inquiryId, String replyMessage, String admin) {
+        if (!claim(inquiryId, admin)) {
+            throw new IllegalStateException("이미 답변했거나 다른 관리자가 답변 중인 문의입니다.");
+        }
+        if (inquiryRepository.answer(inquiryId, admin, replyMessage, LocalDateTime.now()) != 1) {
+            throw new IllegalStateException("선점이 만료된 문의입니다.");
+        }
+        unansweredInquiryCounter.addAfterCommit(-1);
 
-        // 이메일 전송 기능: 실제 SMTP 없어도 시뮬레이션 가능
-        System.out.printf("Reply to %s:\n%s\n", inquiry.getMember().getEmail(), replyMessage);
+        Inquiry inquiry = inquiryRepository.findByIdWithMember(inquiryId).orElseThrow();
+        String email = inquiry.getMember().getEmail();
+        if (email != null && !email.isEmpty()) {
+            mailOutboxService.enqueue(email, "[문의 답변] " + inquiry.getSubject(), replyMessage);
+        }
+    }
 
-        // 실제 SMTP 사용 시
-        // sendEmail(inquiry.getMember().getEmail(), "문의 답변", replyMessage);
+    // 다른 관리자가 선점 중이면 그 관리자 ID, 아니면 null
+    public String activeClaimOfOther(Inquiry inquiry, String admin) {
+        if (inquiry.isAnswered() || inquiry.getClaimedBy() == null || inquiry.getClaimedBy().equals(admin)) return null;
+        if (inquiry.getClaimedUntil() == null || inquiry.getClaimedUntil().isBefore(LocalDateTime.now())) return null;
+        return inquiry.getClaimedBy();
     }
 
     public Inquiry getInquiryWithMember(Long id) {
@@ -0,0 +1,46 @@
+package com.example.demo.inquiry;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 미답변 문의 수. 관리자 화면 배지("N건 대기")에서 매 요청 COUNT 쿼리를 하지 않도록 메모리에 유지한다.
+ * 문의 등록/답변 커밋 시 증감하고, 다른 서버에서 생긴 변경이나 오차는 주기적인 재계산으로 맞춘다.
+ */
+@Component
+@RequiredArgsConstructor
+public class UnansweredInquiryCounter {
+
+    private final InquiryRepository inquiryRepository;
+    private final AtomicLong count = new AtomicLong();
+
+    public long get() {
+        return count.get();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${inquiry.unanswered.resync-ms:300000}", initialDelayString = "${inquiry.unanswered.resync-ms:300000}")
+    public void resync() {
+        count.set(inquiryRepository.countByAnsweredFalse());
+    }
+
+    public void addAfterCommit(long delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            count.addAndGet(delta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                count.addAndGet(delta);
+            }
+        });
+    }
+}
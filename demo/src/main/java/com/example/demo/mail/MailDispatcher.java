@@ -0,0 +1,134 @@
+package com.example.demo.mail;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * mail_outbox의 대기 메일을 주기적으로 묶어서 보낸다.
+ * 한 묶음은 JavaMailSender.send(MimeMessage...) 한 번으로 보내므로 SMTP 연결 하나를 열어서 재사용한다.
+ * 요청 스레드와 완전히 분리되어 있어 메일 서버가 느리거나 죽어도 관리자 답변 저장에는 영향이 없다.
+ * spring.mail.host가 설정되지 않았으면(JavaMailSender 빈 없음) 기존처럼 콘솔에 출력하고 발송 완료로 처리한다.
+ */
+@Component
+public class MailDispatcher {
+
+    private final MailOutboxService mailOutboxService;
+    private final ObjectProvider<JavaMailSender> mailSenderProvider;
+    private final int batchSize;
+    private final String from;
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter dead;
+
+    public MailDispatcher(MailOutboxService mailOutboxService,
+                          ObjectProvider<JavaMailSender> mailSenderProvider,
+                          MeterRegistry meterRegistry,
+                          @Value("${mail.outbox.batch-size:50}") int batchSize,
+                          @Value("${mail.outbox.from:${spring.mail.username:no-reply@localhost}}") String from) {
+        this.mailOutboxService = mailOutboxService;
+        this.mailSenderProvider = mailSenderProvider;
+        this.batchSize = batchSize;
+        this.from = from;
+        this.sent = result(meterRegistry, "sent");
+        this.failed = result(meterRegistry, "retry");
+        this.dead = result(meterRegistry, "dead");
+    }
+
+    private static Counter result(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("mail.outbox.dispatched")
+                .description("outbox 메일 발송 결과")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-ms:2000}", initialDelayString = "${mail.outbox.poll-ms:2000}")
+    public void poll() {
+        // 가득 찬 묶음이면 밀린 메일이 더 있을 수 있으므로 바로 다음 묶음을 처리
+        int dispatched;
+        do {
+            dispatched = dispatch();
+        } while (dispatched == batchSize);
+    }
+
+    // 한 묶음 발송. 처리한 메일 수를 반환한다.
+    public int dispatch() {
+        List<MailOutbox> batch = mailOutboxService.claim(batchSize);
+        if (batch.isEmpty()) return 0;
+
+        JavaMailSender mailSender = mailSenderProvider.getIfAvailable();
+        if (mailSender == null) {
+            for (MailOutbox mail : batch) {
+                System.out.printf("Reply to %s:\n%s\n", mail.getRecipient(), mail.getBody());
+            }
+            succeeded(batch.stream().map(MailOutbox::getId).toList());
+            return batch.size();
+        }
+
+        Map<MimeMessage, Long> messages = new IdentityHashMap<>();
+        for (MailOutbox mail : batch) {
+            try {
+                messages.put(toMessage(mailSender, mail), mail.getId());
+            } catch (MessagingException e) {
+                failed(mail.getId(), e);   // 주소 형식 오류 등
+            }
+        }
+        if (messages.isEmpty()) return batch.size();
+
+        Set<Long> failedIds = new HashSet<>();
+        try {
+            mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            // 연결 실패면 전체, 개별 수신자 거부면 해당 메일만 들어 있다
+            e.getFailedMessages().forEach((message, cause) -> {
+                Long id = messages.get(message);
+                if (id != null && failedIds.add(id)) failed(id, cause);
+            });
+            if (e.getFailedMessages().isEmpty()) {
+                messages.values().forEach(id -> { if (failedIds.add(id)) failed(id, e); });
+            }
+        } catch (MailException e) {
+            messages.values().forEach(id -> { if (failedIds.add(id)) failed(id, e); });
+        }
+
+        List<Long> sentIds = messages.values().stream().filter(id -> !failedIds.contains(id)).toList();
+        succeeded(sentIds);
+        return batch.size();
+    }
+
+    private MimeMessage toMessage(JavaMailSender mailSender, MailOutbox mail) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+        helper.setFrom(from);
+        helper.setTo(mail.getRecipient());
+        helper.setSubject(mail.getSubject());
+        helper.setText(mail.getBody());
+        return message;
+    }
+
+    private void succeeded(List<Long> ids) {
+        mailOutboxService.markSent(ids);
+        sent.increment(ids.size());
+    }
+
+    private void failed(Long id, Exception cause) {
+        MailOutboxStatus status = mailOutboxService.markFailed(id, cause.getMessage());
+        if (status == MailOutboxStatus.DEAD) {
+            dead.increment();
+            System.out.println("메일 발송 포기 (outbox id=" + id + "): " + cause.getMessage());
+        } else {
+            failed.increment();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.demo.mail;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 발송할 메일 한 통. 업무 데이터(문의 답변 등)와 같은 트랜잭션에서 저장되고, MailDispatcher가 나중에 보낸다.
+ */
+@Entity
+@Getter
+@Setter
+@Table(indexes = @Index(name = "idx_mail_outbox_status_next", columnList = "status, next_attempt_at"))
+public class MailOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(length = 100, nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(columnDefinition = "TEXT")
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10, nullable = false)
+    private MailOutboxStatus status;
+
+    private int attempts;
+
+    private LocalDateTime nextAttemptAt;   // 이 시각 이후에 발송(재시도) 대상
+
+    @Column(length = 500)
+    private String lastError;
+
+    private LocalDateTime regDate;
+    private LocalDateTime sentAt;
+}
@@ -0,0 +1,32 @@
+package com.example.demo.mail;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface MailOutboxRepository extends JpaRepository<MailOutbox, Long> {
+
+    // 발송 대상 선점. 다른 서버가 잡고 있는 행은 건너뛴다 (SELECT ... FOR UPDATE SKIP LOCKED)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM MailOutbox o WHERE o.status = :status AND o.nextAttemptAt <= :now ORDER BY o.nextAttemptAt, o.id")
+    List<MailOutbox> findDueForUpdate(@Param("status") MailOutboxStatus status, @Param("now") LocalDateTime now,
+                                      Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE MailOutbox o SET o.status = com.example.demo.mail.MailOutboxStatus.SENT, o.sentAt = :now, " +
+            "o.attempts = o.attempts + 1, o.lastError = null WHERE o.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    long countByStatus(MailOutboxStatus status);
+}
@@ -0,0 +1,93 @@
+package com.example.demo.mail;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 메일 outbox 읽기/쓰기. 발송 자체는 MailDispatcher가 트랜잭션 밖에서 한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class MailOutboxService {
+
+    private final MailOutboxRepository mailOutboxRepository;
+
+    @Value("${mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${mail.outbox.backoff-base-seconds:30}")
+    private long backoffBaseSeconds;
+
+    @Value("${mail.outbox.backoff-max-seconds:3600}")
+    private long backoffMaxSeconds;
+
+    @Value("${mail.outbox.lease-seconds:120}")
+    private long leaseSeconds;
+
+    // 호출하는 쪽 트랜잭션에 참여한다. 업무 데이터가 롤백되면 메일도 남지 않는다.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public MailOutbox enqueue(String recipient, String subject, String body) {
+        MailOutbox mail = new MailOutbox();
+        mail.setRecipient(recipient);
+        mail.setSubject(subject);
+        mail.setBody(body);
+        mail.setStatus(MailOutboxStatus.PENDING);
+        mail.setRegDate(LocalDateTime.now());
+        mail.setNextAttemptAt(mail.getRegDate());
+        return mailOutboxRepository.save(mail);
+    }
+
+    /**
+     * 발송할 메일을 최대 batchSize개 선점한다.
+     * nextAttemptAt을 lease 시간만큼 미뤄 두므로, 발송 도중 서버가 죽어도 lease가 끝나면 다시 발송 대상이 된다.
+     */
+    @Transactional
+    public List<MailOutbox> claim(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        List<MailOutbox> due = mailOutboxRepository.findDueForUpdate(MailOutboxStatus.PENDING, now, PageRequest.of(0, batchSize));
+        LocalDateTime leaseUntil = now.plusSeconds(leaseSeconds);
+        due.forEach(mail -> mail.setNextAttemptAt(leaseUntil));
+        return due;
+    }
+
+    @Transactional
+    public void markSent(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            mailOutboxRepository.markSent(ids, LocalDateTime.now());
+        }
+    }
+
+    // 실패 처리: 지수 백오프로 재시도 시각을 정하고, 최대 횟수를 넘으면 DEAD로 둔다
+    @Transactional
+    public MailOutboxStatus markFailed(Long id, String error) {
+        MailOutbox mail = mailOutboxRepository.findById(id).orElse(null);
+        if (mail == null) return null;
+
+        mail.setAttempts(mail.getAttempts() + 1);
+        mail.setLastError(error != null && error.length() > 500 ? error.substring(0, 500) : error);
+        if (mail.getAttempts() >= maxAttempts) {
+            mail.setStatus(MailOutboxStatus.DEAD);
+        } else {
+            mail.setNextAttemptAt(LocalDateTime.now().plus(backoff(mail.getAttempts())));
+        }
+        return mail.getStatus();
+    }
+
+    // base * 2^(attempts-1), 상한 backoff-max-seconds. 여러 메일이 같은 시각에 몰리지 않도록 최대 20% 지터
+    Duration backoff(int attempts) {
+        long seconds = backoffBaseSeconds << Math.min(attempts - 1, 20);
+        seconds = Math.min(seconds, backoffMaxSeconds);
+        long jitter = seconds > 0 ? ThreadLocalRandom.current().nextLong(seconds / 5 + 1) : 0;
+        return Duration.ofSeconds(seconds + jitter);
+    }
+}
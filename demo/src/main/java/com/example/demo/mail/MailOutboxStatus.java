@@ -0,0 +1,7 @@
+package com.example.demo.mail;
+
+public enum MailOutboxStatus {
+    PENDING,    // 발송 대기 (재시도 대기 포함)
+    SENT,       // 발송 완료
+    DEAD        // 재시도 횟수 초과. 관리자 확인 필요
+}
@@ -1,6 +1,7 @@
 package com.example.demo.meal;
 
 import com.example.demo.member.Member;
+import com.example.demo.shard.ShardedByMember;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -12,8 +13,8 @@ import java.time.LocalDateTime;
 @Entity
 @Getter
 @Setter
-@Table(name = "diet")
-public class Diet {
+@Table(name = "diet", indexes = @Index(name = "idx_diet_member_date", columnList = "member_num, diet_date"))
+public class Diet implements ShardedByMember {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,15 +1,21 @@
 package com.example.demo.meal;
 
 import com.example.demo.member.Member;
+import com.example.demo.shard.ShardKey;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+// sharding 프로필에서는 회원 번호(@ShardKey)로 고른 샤드에서 실행된다 (ShardRoutingAspect)
 public interface DietRepository extends JpaRepository<Diet, Long> {
     //List<Diet> findByMember_IdOrderByCreatedAtDesc(Long memberId);
-    List<Diet> findByMember_NumOrderByCreatedAtDesc(Long num);
-    List<Diet> findAllByMemberOrderByDietIdDesc(Member member);
-    Optional<Diet> findByMember_NumAndDietDate(Long memberNum, LocalDate dietDate);
+    List<Diet> findByMember_NumOrderByCreatedAtDesc(@ShardKey Long num);
+    List<Diet> findAllByMemberOrderByDietIdDesc(@ShardKey Member member);
+    Optional<Diet> findByMember_NumAndDietDate(@ShardKey Long memberNum, LocalDate dietDate);
+    List<Diet> findByMember_NumAndDietDateBetween(@ShardKey Long memberNum, LocalDate from, LocalDate to);
+
+    // 관리자 현황용. sharding 프로필에서는 ShardFanOut 안에서만 호출
+    List<Diet> findTop20ByOrderByCreatedAtDesc();
 }
\ No newline at end of file
@@ -1,10 +1,14 @@
 package com.example.demo.meal;
 
 import com.example.demo.member.Member;
+import com.example.demo.metrics.FastApiTimer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
 import java.util.Collections;
@@ -16,23 +20,29 @@ import java.util.Map;
 @Service
 public class DietService {
 
+    private static final ParameterizedTypeReference<Map<String, Object>> JSON_MAP = new ParameterizedTypeReference<>() {};
+
     private final DietRepository dietRepository;
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final FastApiTimer fastApiTimer;
+    private final WebClient fastApiWebClient;   // FastApiClientConfig
 
     // FastAPI 추천 엔드포인트 (미지정 시 기본값)
     @Value("${fastapi.recommend.url:http://127.0.0.1:8001/recommend?live=true}")
     private String fastApiRecommendUrl;
 
+    @Value("${diet.api-base:http://127.0.0.1:8001}")
+    private String dietApiBase;
+
     /** 기존 호환: 전날 식단 없이 호출 */
-    public Map<String, Object> recommend(String sex, Integer height, Integer weight) {
+    public Mono<Map<String, Object>> recommend(String sex, Integer height, Integer weight) {
         return recommend(sex, height, weight, Collections.emptyList());
     }
-    /** 다음 식사 추천 호출 */
-    public Map<String, Object> recommendNext(String sex,
-                                             Integer height,
-                                             Integer weight,
-                                             String nextMeal,
-                                             String todayMeals) {
+    /** 다음 식사 추천 호출. 응답이 비어 있으면 빈 Map */
+    public Mono<Map<String, Object>> recommendNext(String sex,
+                                                   Integer height,
+                                                   Integer weight,
+                                                   String nextMeal,
+                                                   String todayMeals) {
         Map<String, Object> payload = new HashMap<>();
         payload.put("gender", toGenderEn(sex));  // FastAPI 요구
         payload.put("age", 21);
@@ -42,17 +52,14 @@ public class DietService {
         payload.put("meal_type", nextMeal);
         payload.put("today_meals", todayMeals);
 
-        String url = "http://127.0.0.1:8001/recommend/next";
-        Map resp = restTemplate.postForObject(url, payload, Map.class);
-        if (resp == null) resp = new HashMap<>();
-        return resp;
+        return post("diet.recommend-next", dietApiBase + "/recommend/next", payload);
     }
 
     // 전날 식단 포함 오버로드
-    public Map<String, Object> recommend(String sex,
-                                         Integer height,
-                                         Integer weight,
-                                         List<Map<String, Object>> yesterdayMeals) {
+    public Mono<Map<String, Object>> recommend(String sex,
+                                               Integer height,
+                                               Integer weight,
+                                               List<Map<String, Object>> yesterdayMeals) {
         Map<String, Object> payload = new HashMap<>();
         payload.put("gender", toGenderEn(sex));
         payload.put("age", 21);
@@ -64,9 +71,17 @@ public class DietService {
             payload.put("yesterday_meals", yesterdayMeals);
         }
 
-        Map resp = restTemplate.postForObject(fastApiRecommendUrl, payload, Map.class);
-        if (resp == null) resp = new HashMap<>();
-        return resp;
+        return post("diet.recommend", fastApiRecommendUrl, payload);
+    }
+
+    private Mono<Map<String, Object>> post(String call, String url, Map<String, Object> payload) {
+        Mono<Map<String, Object>> request = fastApiWebClient.post()
+                .uri(url)
+                .bodyValue(payload)
+                .retrieve()
+                .bodyToMono(JSON_MAP)
+                .defaultIfEmpty(new HashMap<>());
+        return fastApiTimer.record(call, request);
     }
 
     public Diet saveDiet(Diet diet) {
@@ -83,17 +98,26 @@ public class DietService {
 
     // ===== 기존 메서드들 유지 =====
 
+    @Transactional(readOnly = true)
     public java.util.List<Diet> findMyDiets(Long memberNum) {
         return dietRepository.findByMember_NumOrderByCreatedAtDesc(memberNum);
     }
 
+    @Transactional(readOnly = true)
     public java.util.List<Diet> findAllByMember(Member member){
         return dietRepository.findAllByMemberOrderByDietIdDesc(member);
     }
 
     // 오늘 해당 회원의 Diet 객체 가져오기
+    @Transactional(readOnly = true)
     public Diet findTodayDiet(Long memberNum, LocalDate date) {
         return dietRepository.findByMember_NumAndDietDate(memberNum, date)
                 .orElse(null); // 없으면 null
     }
+
+    // 저장 직전 조회용. replica 지연으로 기존 식단을 못 보고 같은 날짜를 중복 저장하지 않도록 primary에서 읽는다
+    @Transactional
+    public Diet findTodayDietForSave(Long memberNum, LocalDate date) {
+        return findTodayDiet(memberNum, date);
+    }
 }
@@ -0,0 +1,138 @@
+package com.example.demo.meal;
+
+import com.example.demo.food.model.Food;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 식단 화면/추천에서 쓰는 영양소 계산. (DietController, RecordController에서 분리)
+ * 상태가 없는 정적 메서드만 두어 src/jmh 벤치마크에서 스프링 없이 바로 호출할 수 있다.
+ */
+public final class NutritionCalculator {
+
+    private NutritionCalculator() {
+    }
+
+    /** 음식 목록의 칼로리/탄수화물/단백질/지방 합계. 값이 없는 항목은 0으로 본다. (한 번만 순회) */
+    public static NutritionInfo sum(List<Food> foods) {
+        double calories = 0;
+        double carbs = 0;
+        double protein = 0;
+        double fat = 0;
+        for (Food f : foods) {
+            if (f.getCalories() != null) calories += f.getCalories();
+            if (f.getCarbohydrates() != null) carbs += f.getCarbohydrates();
+            if (f.getProtein() != null) protein += f.getProtein();
+            if (f.getFat() != null) fat += f.getFat();
+        }
+        return new NutritionInfo(calories, carbs, protein, fat);
+    }
+
+    public static NutritionRequirement calculateDailyRequirement(String sex, Integer height, Integer weight) {
+        // BMR 계산 (Mifflin-St Jeor 방정식)
+        double bmr;
+        if ("남".equals(sex) || "male".equals(sex.toLowerCase())) {
+            bmr = 10 * weight + 6.25 * height - 5 * 21 + 5; // 나이 21세 가정
+        } else {
+            bmr = 10 * weight + 6.25 * height - 5 * 21 - 161;
+        }
+
+        double tdee = bmr * 1.375; // 가벼운 활동 수준
+
+        // 영양소 비율: 탄수화물 50%, 단백질 25%, 지방 25%
+        double carbs = tdee * 0.5 / 4; // 1g = 4kcal
+        double protein = tdee * 0.25 / 4; // 1g = 4kcal
+        double fat = tdee * 0.25 / 9; // 1g = 9kcal
+
+        return new NutritionRequirement(tdee, carbs, protein, fat);
+    }
+
+    public static NutritionInfo calculateAssumedConsumedNutrition(
+            NutritionRequirement dailyReq, boolean hasBreakfast, boolean hasLunch,
+            boolean hasDinner, String nextMeal) {
+
+        double assumedCalories = 0;
+        double assumedCarbs = 0;
+        double assumedProtein = 0;
+        double assumedFat = 0;
+
+        // 각 끼니별 평균 비율: 아침 25%, 점심 40%, 저녁 35%
+        if (!hasBreakfast && !"breakfast".equals(nextMeal)) {
+            assumedCalories += dailyReq.getCalories() * 0.25;
+            assumedCarbs += dailyReq.getCarbohydrates() * 0.25;
+            assumedProtein += dailyReq.getProtein() * 0.25;
+            assumedFat += dailyReq.getFat() * 0.25;
+        }
+        if (!hasLunch && !"lunch".equals(nextMeal)) {
+            assumedCalories += dailyReq.getCalories() * 0.40;
+            assumedCarbs += dailyReq.getCarbohydrates() * 0.40;
+            assumedProtein += dailyReq.getProtein() * 0.40;
+            assumedFat += dailyReq.getFat() * 0.40;
+        }
+        if (!hasDinner && !"dinner".equals(nextMeal)) {
+            assumedCalories += dailyReq.getCalories() * 0.35;
+            assumedCarbs += dailyReq.getCarbohydrates() * 0.35;
+            assumedProtein += dailyReq.getProtein() * 0.35;
+            assumedFat += dailyReq.getFat() * 0.35;
+        }
+
+        return new NutritionInfo(assumedCalories, assumedCarbs, assumedProtein, assumedFat);
+    }
+
+    /** 기존 메뉴 문자열 뒤에 새 메뉴를 ", "로 이어 붙인다. */
+    public static String mergeMeals(String existing, String incoming) {
+        if (existing == null || existing.isEmpty()) return incoming != null ? incoming : "";
+        if (incoming == null || incoming.isEmpty()) return existing;
+        return existing + ", " + incoming;
+    }
+
+    /** 캘린더용 날짜별 총 칼로리. 같은 날짜가 여러 번 있으면 뒤의 값이 남는다. */
+    public static Map<LocalDate, Double> summarizeKcalByDate(List<Diet> diets) {
+        Map<LocalDate, Double> summary = new HashMap<>(Math.max(16, (int) (diets.size() / 0.75f) + 1));
+        for (Diet d : diets) {
+            summary.put(d.getDietDate(), d.getTotalKcal());
+        }
+        return summary;
+    }
+
+    public static class NutritionRequirement {
+        private final double calories;
+        private final double carbohydrates;
+        private final double protein;
+        private final double fat;
+
+        public NutritionRequirement(double calories, double carbohydrates, double protein, double fat) {
+            this.calories = calories;
+            this.carbohydrates = carbohydrates;
+            this.protein = protein;
+            this.fat = fat;
+        }
+
+        public double getCalories() { return calories; }
+        public double getCarbohydrates() { return carbohydrates; }
+        public double getProtein() { return protein; }
+        public double getFat() { return fat; }
+    }
+
+    public static class NutritionInfo {
+        private final double calories;
+        private final double carbohydrates;
+        private final double protein;
+        private final double fat;
+
+        public NutritionInfo(double calories, double carbohydrates, double protein, double fat) {
+            this.calories = calories;
+            this.carbohydrates = carbohydrates;
+            this.protein = protein;
+            this.fat = fat;
+        }
+
+        public double getCalories() { return calories; }
+        public double getCarbohydrates() { return carbohydrates; }
+        public double getProtein() { return protein; }
+        public double getFat() { return fat; }
+    }
+}
@@ -5,6 +5,9 @@ import com.example.demo.food.model.Food;
 import com.example.demo.meal.AuthUtils;
 import com.example.demo.meal.Diet;
 import com.example.demo.meal.DietService;
+import com.example.demo.meal.NutritionCalculator;
+import com.example.demo.meal.NutritionCalculator.NutritionInfo;
+import com.example.demo.meal.NutritionCalculator.NutritionRequirement;
 import com.example.demo.member.Member;
 import com.example.demo.member.MemberService;
 import lombok.RequiredArgsConstructor;
@@ -12,6 +15,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 import java.lang.reflect.Method;
 import java.time.LocalDate;
@@ -58,40 +62,30 @@ public class DietController {
         }
 
         // 각 끼니별 영양 정보 계산
-        double breakfastCalories = breakfastList.stream().mapToDouble(f -> f.getCalories() != null ? f.getCalories() : 0).sum();
-        double breakfastCarbs = breakfastList.stream().mapToDouble(f -> f.getCarbohydrates() != null ? f.getCarbohydrates() : 0).sum();
-        double breakfastProtein = breakfastList.stream().mapToDouble(f -> f.getProtein() != null ? f.getProtein() : 0).sum();
-        double breakfastFat = breakfastList.stream().mapToDouble(f -> f.getFat() != null ? f.getFat() : 0).sum();
-
-        double lunchCalories = lunchList.stream().mapToDouble(f -> f.getCalories() != null ? f.getCalories() : 0).sum();
-        double lunchCarbs = lunchList.stream().mapToDouble(f -> f.getCarbohydrates() != null ? f.getCarbohydrates() : 0).sum();
-        double lunchProtein = lunchList.stream().mapToDouble(f -> f.getProtein() != null ? f.getProtein() : 0).sum();
-        double lunchFat = lunchList.stream().mapToDouble(f -> f.getFat() != null ? f.getFat() : 0).sum();
-
-        double dinnerCalories = dinnerList.stream().mapToDouble(f -> f.getCalories() != null ? f.getCalories() : 0).sum();
-        double dinnerCarbs = dinnerList.stream().mapToDouble(f -> f.getCarbohydrates() != null ? f.getCarbohydrates() : 0).sum();
-        double dinnerProtein = dinnerList.stream().mapToDouble(f -> f.getProtein() != null ? f.getProtein() : 0).sum();
-        double dinnerFat = dinnerList.stream().mapToDouble(f -> f.getFat() != null ? f.getFat() : 0).sum();
+        NutritionInfo breakfast = NutritionCalculator.sum(breakfastList);
+        NutritionInfo lunch = NutritionCalculator.sum(lunchList);
+        NutritionInfo dinner = NutritionCalculator.sum(dinnerList);
 
+        model.addAttribute("member", me);
         model.addAttribute("today", today.toString());
         model.addAttribute("dayOfWeek", dayOfWeek);
         model.addAttribute("age", age);
         model.addAttribute("totalCalories", (int) totalCalories);
         model.addAttribute("breakfastList", breakfastList);
-        model.addAttribute("breakfastCalories", breakfastCalories);
-        model.addAttribute("breakfastCarbs", breakfastCarbs);
-        model.addAttribute("breakfastProtein", breakfastProtein);
-        model.addAttribute("breakfastFat", breakfastFat);
+        model.addAttribute("breakfastCalories", breakfast.getCalories());
+        model.addAttribute("breakfastCarbs", breakfast.getCarbohydrates());
+        model.addAttribute("breakfastProtein", breakfast.getProtein());
+        model.addAttribute("breakfastFat", breakfast.getFat());
         model.addAttribute("lunchList", lunchList);
-        model.addAttribute("lunchCalories", lunchCalories);
-        model.addAttribute("lunchCarbs", lunchCarbs);
-        model.addAttribute("lunchProtein", lunchProtein);
-        model.addAttribute("lunchFat", lunchFat);
+        model.addAttribute("lunchCalories", lunch.getCalories());
+        model.addAttribute("lunchCarbs", lunch.getCarbohydrates());
+        model.addAttribute("lunchProtein", lunch.getProtein());
+        model.addAttribute("lunchFat", lunch.getFat());
         model.addAttribute("dinnerList", dinnerList);
-        model.addAttribute("dinnerCalories", dinnerCalories);
-        model.addAttribute("dinnerCarbs", dinnerCarbs);
-        model.addAttribute("dinnerProtein", dinnerProtein);
-        model.addAttribute("dinnerFat", dinnerFat);
+        model.addAttribute("dinnerCalories", dinner.getCalories());
+        model.addAttribute("dinnerCarbs", dinner.getCarbohydrates());
+        model.addAttribute("dinnerProtein", dinner.getProtein());
+        model.addAttribute("dinnerFat", dinner.getFat());
 
         return "meal/diet";
     }
@@ -138,13 +132,13 @@ public class DietController {
         }
 
         // 일일 권장량 계산 (BMR 기반)
-        NutritionRequirement dailyRequirement = calculateDailyRequirement(sex, height, weight);
+        NutritionRequirement dailyRequirement = NutritionCalculator.calculateDailyRequirement(sex, height, weight);
 
         // 이미 섭취한 영양소 계산 (실제 입력된 것만)
-        NutritionInfo consumedNutrition = calculateConsumedNutrition(todayFoods);
+        NutritionInfo consumedNutrition = NutritionCalculator.sum(todayFoods);
 
         // 평균 섭취량 가정을 통한 내부 계산
-        NutritionInfo assumedConsumed = calculateAssumedConsumedNutrition(
+        NutritionInfo assumedConsumed = NutritionCalculator.calculateAssumedConsumedNutrition(
                 dailyRequirement, hasBreakfast, hasLunch, hasDinner, nextMeal);
 
         // 실제 섭취량 + 가정 섭취량
@@ -161,7 +155,7 @@ public class DietController {
         List<Food> recommendedFoods = generateRecommendedFoods(nextMealRequirement, nextMeal);
 
         // 추천 음식의 총 영양소 계산
-        NutritionInfo recommendedNutrition = calculateTotalNutrition(recommendedFoods);
+        NutritionInfo recommendedNutrition = NutritionCalculator.sum(recommendedFoods);
 
         String foodNamesString = recommendedFoods.stream()
                 .map(Food::getFoodName)
@@ -195,6 +189,19 @@ public class DietController {
         return "meal/result";
     }
 
+    /** FastAPI 식단 추천 서버의 다음 끼니 추천(JSON). 응답을 기다리는 동안 Tomcat 스레드를 잡지 않는다. */
+    @PostMapping("/diet/recommend-next/ai")
+    @ResponseBody
+    public Mono<Map<String, Object>> recommendNextFromApi(@RequestParam String nextMeal, Authentication auth) {
+        Member me = AuthUtils.resolveCurrentMember(auth, memberService);
+        LocalDate today = LocalDate.now();
+        String todayMeals = foodRepository.findByMember_NumAndRegDateBetween(
+                        me.getNum(), today.atStartOfDay(), today.plusDays(1).atStartOfDay()).stream()
+                .map(Food::getFoodName)
+                .collect(Collectors.joining(", "));
+        return dietService.recommendNext(me.getSex(), me.getHeight(), me.getWeight(), nextMeal, todayMeals);
+    }
+
     @PostMapping("/diet/save")
     public String saveDiet(
             @RequestParam(name = "breakfast", required = false) String breakfast,
@@ -218,7 +225,7 @@ public class DietController {
         Member me = AuthUtils.resolveCurrentMember(auth, memberService);
         LocalDate dietDate = LocalDate.parse(dietDateStr);
 
-        Diet diet = dietService.findTodayDiet(me.getNum(), dietDate);
+        Diet diet = dietService.findTodayDietForSave(me.getNum(), dietDate);
         if (diet == null) {
             diet = new Diet();
             diet.setMember(me);
@@ -226,9 +233,9 @@ public class DietController {
         }
 
         // --- 메뉴 이름 합치기 ---
-        diet.setBreakfast(mergeMeals(diet.getBreakfast(), breakfast));
-        diet.setLunch(mergeMeals(diet.getLunch(), lunch));
-        diet.setDinner(mergeMeals(diet.getDinner(), dinner));
+        diet.setBreakfast(NutritionCalculator.mergeMeals(diet.getBreakfast(), breakfast));
+        diet.setLunch(NutritionCalculator.mergeMeals(diet.getLunch(), lunch));
+        diet.setDinner(NutritionCalculator.mergeMeals(diet.getDinner(), dinner));
 
         // --- 아침 영양소 ---
         if (breakfastKcal != null) diet.setBreakfastKcal(breakfastKcal);
@@ -287,66 +294,6 @@ public class DietController {
         }
     }
 
-    private NutritionRequirement calculateDailyRequirement(String sex, Integer height, Integer weight) {
-        // BMR 계산 (Mifflin-St Jeor 방정식)
-        double bmr;
-        if ("남".equals(sex) || "male".equals(sex.toLowerCase())) {
-            bmr = 10 * weight + 6.25 * height - 5 * 21 + 5; // 나이 21세 가정
-        } else {
-            bmr = 10 * weight + 6.25 * height - 5 * 21 - 161;
-        }
-
-        double tdee = bmr * 1.375; // 가벼운 활동 수준
-
-        // 영양소 비율: 탄수화물 50%, 단백질 25%, 지방 25%
-        double carbs = tdee * 0.5 / 4; // 1g = 4kcal
-        double protein = tdee * 0.25 / 4; // 1g = 4kcal
-        double fat = tdee * 0.25 / 9; // 1g = 9kcal
-
-        return new NutritionRequirement(tdee, carbs, protein, fat);
-    }
-
-    private NutritionInfo calculateConsumedNutrition(List<Food> foods) {
-        double calories = foods.stream().mapToDouble(f -> f.getCalories() != null ? f.getCalories() : 0).sum();
-        double carbs = foods.stream().mapToDouble(f -> f.getCarbohydrates() != null ? f.getCarbohydrates() : 0).sum();
-        double protein = foods.stream().mapToDouble(f -> f.getProtein() != null ? f.getProtein() : 0).sum();
-        double fat = foods.stream().mapToDouble(f -> f.getFat() != null ? f.getFat() : 0).sum();
-
-        return new NutritionInfo(calories, carbs, protein, fat);
-    }
-
-    private NutritionInfo calculateAssumedConsumedNutrition(
-            NutritionRequirement dailyReq, boolean hasBreakfast, boolean hasLunch,
-            boolean hasDinner, String nextMeal) {
-
-        double assumedCalories = 0;
-        double assumedCarbs = 0;
-        double assumedProtein = 0;
-        double assumedFat = 0;
-
-        // 각 끼니별 평균 비율: 아침 25%, 점심 40%, 저녁 35%
-        if (!hasBreakfast && !"breakfast".equals(nextMeal)) {
-            assumedCalories += dailyReq.getCalories() * 0.25;
-            assumedCarbs += dailyReq.getCarbohydrates() * 0.25;
-            assumedProtein += dailyReq.getProtein() * 0.25;
-            assumedFat += dailyReq.getFat() * 0.25;
-        }
-        if (!hasLunch && !"lunch".equals(nextMeal)) {
-            assumedCalories += dailyReq.getCalories() * 0.40;
-            assumedCarbs += dailyReq.getCarbohydrates() * 0.40;
-            assumedProtein += dailyReq.getProtein() * 0.40;
-            assumedFat += dailyReq.getFat() * 0.40;
-        }
-        if (!hasDinner && !"dinner".equals(nextMeal)) {
-            assumedCalories += dailyReq.getCalories() * 0.35;
-            assumedCarbs += dailyReq.getCarbohydrates() * 0.35;
-            assumedProtein += dailyReq.getProtein() * 0.35;
-            assumedFat += dailyReq.getFat() * 0.35;
-        }
-
-        return new NutritionInfo(assumedCalories, assumedCarbs, assumedProtein, assumedFat);
-    }
-
     private NutritionInfo addNutrition(NutritionInfo a, NutritionInfo b) {
         return new NutritionInfo(
                 a.getCalories() + b.getCalories(),
@@ -427,15 +374,6 @@ public class DietController {
         return food;
     }
 
-    private NutritionInfo calculateTotalNutrition(List<Food> foods) {
-        double calories = foods.stream().mapToDouble(f -> f.getCalories() != null ? f.getCalories() : 0).sum();
-        double carbs = foods.stream().mapToDouble(f -> f.getCarbohydrates() != null ? f.getCarbohydrates() : 0).sum();
-        double protein = foods.stream().mapToDouble(f -> f.getProtein() != null ? f.getProtein() : 0).sum();
-        double fat = foods.stream().mapToDouble(f -> f.getFat() != null ? f.getFat() : 0).sum();
-
-        return new NutritionInfo(calories, carbs, protein, fat);
-    }
-
     private String generateRecommendationReason(NutritionRequirement dailyReq, NutritionInfo consumed,
                                                 NutritionInfo recommended, boolean isExceeded, String nextMeal) {
 
@@ -472,12 +410,6 @@ public class DietController {
         };
     }
 
-    private String mergeMeals(String existing, String incoming) {
-        if (existing == null || existing.isEmpty()) return incoming != null ? incoming : "";
-        if (incoming == null || incoming.isEmpty()) return existing;
-        return existing + ", " + incoming;
-    }
-
     private double defaultZero(Double val) {
         return val != null ? val : 0;
     }
@@ -492,44 +424,4 @@ public class DietController {
         }
         return null;
     }
-
-    // ========== 내부 클래스들 ==========
-
-    public static class NutritionRequirement {
-        private final double calories;
-        private final double carbohydrates;
-        private final double protein;
-        private final double fat;
-
-        public NutritionRequirement(double calories, double carbohydrates, double protein, double fat) {
-            this.calories = calories;
-            this.carbohydrates = carbohydrates;
-            this.protein = protein;
-            this.fat = fat;
-        }
-
-        public double getCalories() { return calories; }
-        public double getCarbohydrates() { return carbohydrates; }
-        public double getProtein() { return protein; }
-        public double getFat() { return fat; }
-    }
-
-    public static class NutritionInfo {
-        private final double calories;
-        private final double carbohydrates;
-        private final double protein;
-        private final double fat;
-
-        public NutritionInfo(double calories, double carbohydrates, double protein, double fat) {
-            this.calories = calories;
-            this.carbohydrates = carbohydrates;
-            this.protein = protein;
-            this.fat = fat;
-        }
-
-        public double getCalories() { return calories; }
-        public double getCarbohydrates() { return carbohydrates; }
-        public double getProtein() { return protein; }
-        public double getFat() { return fat; }
-    }
-}
\ No newline at end of file
+}
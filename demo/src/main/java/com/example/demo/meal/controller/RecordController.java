@@ -3,6 +3,7 @@ package com.example.demo.meal.controller;
 import com.example.demo.meal.AuthUtils;
 import com.example.demo.meal.Diet;
 import com.example.demo.meal.DietService;
+import com.example.demo.meal.NutritionCalculator;
 import com.example.demo.member.Member;
 import com.example.demo.member.MemberService;
 import lombok.RequiredArgsConstructor;
@@ -15,7 +16,6 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import java.time.LocalDate;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -47,10 +47,7 @@ public class RecordController {
         int toIndex = Math.min(fromIndex + size, allDiets.size());
         List<Diet> diets = allDiets.subList(fromIndex, toIndex);
 
-        Map<LocalDate, Double> summary = new HashMap<>();
-        for (Diet d : allDiets) { // 캘린더는 전체 summary 필요
-            summary.put(d.getDietDate(), d.getTotalKcal());
-        }
+        Map<LocalDate, Double> summary = NutritionCalculator.summarizeKcalByDate(allDiets); // 캘린더는 전체 summary 필요
 
         int totalPages = (int) Math.ceil((double) allDiets.size() / size);
 
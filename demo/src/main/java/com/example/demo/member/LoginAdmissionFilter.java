@@ -0,0 +1,34 @@
+package com.example.demo.member;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// 로그인 POST 요청을 UsernamePasswordAuthenticationFilter 앞에서 걸러낸다. (SecurityConfig에서 등록)
+public class LoginAdmissionFilter extends OncePerRequestFilter {
+
+    private final LoginAttemptLimiter loginAttemptLimiter;
+
+    public LoginAdmissionFilter(LoginAttemptLimiter loginAttemptLimiter) {
+        this.loginAttemptLimiter = loginAttemptLimiter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !("POST".equals(request.getMethod()) && "/member/login".equals(request.getServletPath()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!loginAttemptLimiter.tryAcquire(request.getRemoteAddr(), request.getParameter("memberId"))) {
+            response.sendRedirect("/member/login?error=busy");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
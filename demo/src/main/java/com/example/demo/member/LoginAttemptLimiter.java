@@ -0,0 +1,73 @@
+package com.example.demo.member;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 로그인 시도 제한 (고정 윈도우). 윈도우 안에서 허용 횟수를 넘기면 BCrypt까지 가지 않고 바로 거절한다.
+ * - IP별: 모든 시도
+ * - (IP, 계정)별: 실패한 시도만. 성공하면 초기화한다.
+ *   계정만으로 세면 ID를 아는 누구나 틀린 비밀번호를 보내 본인 로그인을 막을 수 있으므로 IP와 묶는다.
+ */
+@Component
+public class LoginAttemptLimiter {
+
+    private final Cache<String, AtomicInteger> ipAttempts;
+    private final Cache<String, AtomicInteger> accountFailures;
+    private final int maxPerIp;
+    private final int maxFailuresPerAccount;
+    private final Counter rejected;
+
+    public LoginAttemptLimiter(MeterRegistry meterRegistry,
+                               @Value("${member.login.window-seconds:60}") long windowSeconds,
+                               @Value("${member.login.max-per-ip:30}") int maxPerIp,
+                               @Value("${member.login.max-failures-per-account:10}") int maxFailuresPerAccount) {
+        this.ipAttempts = newWindow(windowSeconds);
+        this.accountFailures = newWindow(windowSeconds);
+        this.maxPerIp = maxPerIp;
+        this.maxFailuresPerAccount = maxFailuresPerAccount;
+        this.rejected = Counter.builder("member.login.rejected")
+                .description("로그인 시도 제한으로 거절된 횟수")
+                .register(meterRegistry);
+    }
+
+    private static Cache<String, AtomicInteger> newWindow(long windowSeconds) {
+        return Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(windowSeconds))   // 첫 시도 시점부터 윈도우 시작
+                .maximumSize(100_000)
+                .build();
+    }
+
+    public boolean tryAcquire(String ip, String memberId) {
+        boolean ipOk = ipAttempts.get(ip, k -> new AtomicInteger()).incrementAndGet() <= maxPerIp;
+        AtomicInteger failures = memberId == null || memberId.isBlank() ? null : accountFailures.getIfPresent(accountKey(ip, memberId));
+        boolean accountOk = failures == null || failures.get() < maxFailuresPerAccount;
+        if (ipOk && accountOk) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    // 비밀번호가 틀린 경우 (SecurityConfig의 실패 핸들러에서 호출)
+    public void recordFailure(String ip, String memberId) {
+        if (memberId == null || memberId.isBlank()) return;
+        accountFailures.get(accountKey(ip, memberId), k -> new AtomicInteger()).incrementAndGet();
+    }
+
+    public void recordSuccess(String ip, String memberId) {
+        if (memberId == null || memberId.isBlank()) return;
+        accountFailures.invalidate(accountKey(ip, memberId));
+    }
+
+    private static String accountKey(String ip, String memberId) {
+        return ip + "\n" + memberId;
+    }
+}
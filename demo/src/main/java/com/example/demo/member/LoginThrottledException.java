@@ -0,0 +1,10 @@
+package com.example.demo.member;
+
+import org.springframework.security.core.AuthenticationException;
+
+// 로그인/해시 요청이 허용량을 넘었을 때. 실패 핸들러에서 error=busy 로 보낸다.
+public class LoginThrottledException extends AuthenticationException {
+    public LoginThrottledException(String msg) {
+        super(msg);
+    }
+}
@@ -3,6 +3,8 @@ package com.example.demo.member;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -11,6 +13,14 @@ import java.time.Period;
 @Getter
 @Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "member")   // 2차 캐시: 거의 모든 요청에서 로그인 회원을 다시 읽으므로
+@Table(indexes = {
+        @Index(name = "idx_member_reg_date_num", columnList = "reg_date, num"),   // 관리자 회원목록 keyset 페이징
+        @Index(name = "idx_member_member_name", columnList = "member_name"),      // 관리자 회원검색 (앞부분 일치)
+        @Index(name = "idx_member_email", columnList = "email"),
+        @Index(name = "idx_member_tel", columnList = "tel")
+})
 public class Member {
 
     @Id
@@ -1,34 +1,106 @@
 package com.example.demo.member;
 
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 
+import java.io.*;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
+/**
+ * 세션에 저장되는 로그인 정보. Member 엔티티 전체를 들고 있지 않고 화면/컨트롤러에서 쓰는 값(num, 로그인 ID, 이름)만 가진다.
+ * 나머지 회원정보가 필요하면 MemberService로 조회한다.
+ * 직렬화는 SerializedForm(writeReplace)으로만 이루어지며, 비밀번호 해시는 직렬화하지 않는다.
+ */
 public class MemberContext extends User {
-    private final Member member;
+    private final Long num;
+    private final String memberName;
 
     public MemberContext(Member member, Collection<? extends GrantedAuthority> authorities) {
-        super(member.getMemberId(), member.getPassword(), authorities);
-        this.member = member;
+        // status가 NULL이면 정상 회원으로 간주
+        this(member.getNum(), member.getMemberId(), member.getMemberName(), member.getPassword(),
+                member.getStatus() == null || member.getStatus() == MemberStatus.ACTIVE, authorities);
+    }
+
+    private MemberContext(Long num, String memberId, String memberName, String password, boolean enabled,
+                          Collection<? extends GrantedAuthority> authorities) {
+        super(memberId, password, enabled, true, true, true, authorities);
+        this.num = num;
+        this.memberName = memberName;
     }
 
-    public Member getMember() {
-        return member;
+    // UserCache에 넣고 꺼낼 때 사용하는 복사본 (eraseCredentials 영향을 받지 않도록)
+    public MemberContext copy() {
+        return new MemberContext(num, getUsername(), memberName, getPassword(), isEnabled(), getAuthorities());
     }
 
-    @Override
-    public String getUsername() {
-        return member.getMemberId(); // 로그인 ID
+    public Long getNum() {
+        return num;
     }
 
     public String getMemberName() {
-        return member.getMemberName();
+        return memberName;
     }
 
-    @Override
-    public boolean isEnabled() {
-        // status가 NULL이면 정상 회원으로 간주
-        return member.getStatus() == null || member.getStatus() == MemberStatus.ACTIVE;
+    @Serial
+    private Object writeReplace() {
+        return new SerializedForm(this);
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("MemberContext는 SerializedForm으로만 역직렬화됩니다.");
+    }
+
+    /**
+     * 세션 저장용 압축 포맷: num(long) / memberId(UTF) / memberName(UTF) / enabled(boolean) / 권한 수(byte) + 권한(UTF)...
+     * 기본 직렬화 대비 클래스 디스크립터와 필드 메타데이터가 빠져 세션당 바이트 수가 크게 줄어든다.
+     */
+    static final class SerializedForm implements Externalizable {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private MemberContext context;
+
+        public SerializedForm() {
+        }
+
+        SerializedForm(MemberContext context) {
+            this.context = context;
+        }
+
+        @Override
+        public void writeExternal(ObjectOutput out) throws IOException {
+            out.writeLong(context.num != null ? context.num : -1L);
+            out.writeUTF(context.getUsername());
+            out.writeUTF(context.memberName != null ? context.memberName : "");
+            out.writeBoolean(context.isEnabled());
+            out.writeByte(context.getAuthorities().size());
+            for (GrantedAuthority authority : context.getAuthorities()) {
+                out.writeUTF(authority.getAuthority());
+            }
+        }
+
+        @Override
+        public void readExternal(ObjectInput in) throws IOException {
+            long num = in.readLong();
+            String memberId = in.readUTF();
+            String memberName = in.readUTF();
+            boolean enabled = in.readBoolean();
+            int authorityCount = in.readByte();
+            List<GrantedAuthority> authorities = new ArrayList<>(authorityCount);
+            for (int i = 0; i < authorityCount; i++) {
+                authorities.add(new SimpleGrantedAuthority(in.readUTF()));
+            }
+            // 세션에는 비밀번호를 저장하지 않으므로 빈 값으로 복원 (인증 이후에는 사용되지 않음)
+            this.context = new MemberContext(num >= 0 ? num : null, memberId, memberName, "", enabled, authorities);
+        }
+
+        @Serial
+        private Object readResolve() {
+            return context;
+        }
     }
-}
\ No newline at end of file
+}
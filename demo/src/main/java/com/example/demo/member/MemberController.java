@@ -2,19 +2,17 @@ package com.example.demo.member;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.data.domain.Page;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.web.authentication.logout.SecurityContextLogoutHandler;
-import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -31,7 +29,7 @@ public class MemberController {
 
     private final MemberService memberService;
     private final MemberSecurityService memberSecurityService;
-    private final AuthenticationManager authenticationManager;
+    private final SecurityContextRepository securityContextRepository;
 
     @GetMapping("/login")
     public String login(@RequestParam(value = "needLogin", required = false) String needLogin, Model model) {
@@ -43,14 +41,24 @@ public class MemberController {
 
     @GetMapping("/mypage")
     public String mypage(Principal principal, Model model, RedirectAttributes redirectAttributes) {
+        // 세션 principal에는 최소 정보만 있으므로 상세 회원정보는 여기서 조회
+        model.addAttribute("member", memberService.getMember(principal.getName()));
         return "/member/mypage";
     }
 
     @GetMapping("/list")
     public String list(Model model,
-                       @RequestParam(value = "page", defaultValue = "0") int page) {
-        Page<Member> paging = memberService.getList(page, 10);  // 한 페이지에 10명씩
+                       @RequestParam(value = "cursor", required = false) String cursor,
+                       @RequestParam(value = "q", required = false) String q) {
+        if (q != null && !q.isBlank()) {
+            model.addAttribute("paging", memberService.search(q, 50));   // 검색 결과는 한 화면에 최대 50명
+            model.addAttribute("q", q);
+            return "/member/member_list";
+        }
+        Slice<Member> paging = memberService.getList(cursor, 10);  // 한 페이지에 10명씩
         model.addAttribute("paging", paging);
+        model.addAttribute("nextCursor", MemberListCursor.next(paging));
+        model.addAttribute("approximateTotal", memberService.getApproximateTotal());
         return "/member/member_list";
     }
 
@@ -60,7 +68,8 @@ public class MemberController {
     }
 
     @PostMapping("/signup")
-    public String signup(@Valid MemberCreateForm memberCreateForm, BindingResult bindingResult, HttpSession session) {
+    public String signup(@Valid MemberCreateForm memberCreateForm, BindingResult bindingResult,
+                         HttpServletRequest request, HttpServletResponse response) {
         if (bindingResult.hasErrors()) {
             return "/member/signup";
         }
@@ -70,15 +79,18 @@ public class MemberController {
         }
 
         try {
-            memberService.create(memberCreateForm);
+            Member member = memberService.create(memberCreateForm);
 
-            // 회원가입 성공 후 자동 로그인 처리
-            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(memberCreateForm.getMemberId(), memberCreateForm.getPassword1());
-            Authentication authentication = authenticationManager.authenticate(authToken);
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+            // 회원가입 성공 후 자동 로그인 처리. 방금 encode한 비밀번호를 다시 BCrypt로 검증하지 않고 저장된 member로 바로 인증한다.
+            Authentication authentication = memberSecurityService.createAuthentication(member);
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(authentication);
+            SecurityContextHolder.setContext(context);
+            request.getSession();       // 세션이 없으면 먼저 만든 뒤
+            request.changeSessionId();  // 세션 고정 공격 방지 (폼 로그인과 동일하게 로그인 시점에 세션 ID 변경)
 
             // 세션에 인증 정보 저장
-            session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, SecurityContextHolder.getContext());
+            securityContextRepository.saveContext(context, request, response);
 
             return "redirect:/";
         } catch(DataIntegrityViolationException e) {
@@ -120,7 +132,8 @@ public class MemberController {
 
     @PostMapping("/modify")
     public String modify(@Valid @ModelAttribute("memberModifyForm") MemberModifyForm memberModifyForm,
-                         BindingResult bindingResult, Principal principal) {
+                         BindingResult bindingResult, Principal principal,
+                         HttpServletRequest request, HttpServletResponse response) {
         if (bindingResult.hasErrors()) {
             return "/member/modify";
         }
@@ -134,6 +147,8 @@ public class MemberController {
         try {
             Member updatedMember = memberService.modify(currentMemberId, memberModifyForm);
             memberSecurityService.updateAuthentication(updatedMember);  // 수정된 정보로 세션 갱신
+            // Security 6부터 SecurityContext 변경은 명시적으로 저장해야 세션(특히 외부 세션 저장소)에 반영된다
+            securityContextRepository.saveContext(SecurityContextHolder.getContext(), request, response);
         } catch (Exception e) {
             bindingResult.reject("modifyFailed", e.getMessage());
             return "/member/modify";
@@ -0,0 +1,54 @@
+package com.example.demo.member;
+
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * 회원목록 keyset 페이징 위치. (regDate, num) 내림차순 기준으로 "이 행 다음부터"를 나타낸다.
+ * URL에는 "regDate_num" 형태 문자열로 실린다.
+ */
+public class MemberListCursor {
+    private final LocalDateTime regDate;
+    private final Long num;
+
+    public MemberListCursor(LocalDateTime regDate, Long num) {
+        this.regDate = regDate;
+        this.num = num;
+    }
+
+    public LocalDateTime getRegDate() {
+        return regDate;
+    }
+
+    public Long getNum() {
+        return num;
+    }
+
+    public String encode() {
+        return regDate + "_" + num;
+    }
+
+    // 잘못된 값이면 null (첫 페이지로 간주)
+    public static MemberListCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        int sep = cursor.lastIndexOf('_');
+        if (sep < 0) return null;
+        try {
+            return new MemberListCursor(LocalDateTime.parse(cursor.substring(0, sep)), Long.valueOf(cursor.substring(sep + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // 다음 페이지가 있으면 현재 페이지 마지막 행의 cursor 문자열
+    public static String next(Slice<Member> slice) {
+        if (!slice.hasNext() || slice.getContent().isEmpty()) return null;
+        List<Member> content = slice.getContent();
+        Member last = content.get(content.size() - 1);
+        if (last.getRegDate() == null) return null;
+        return new MemberListCursor(last.getRegDate(), last.getNum()).encode();
+    }
+}
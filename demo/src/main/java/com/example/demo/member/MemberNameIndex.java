@@ -0,0 +1,195 @@
+package com.example.demo.member;
+
+import com.example.demo.search.NgramTokenizer;
+import com.example.demo.search.PostingList;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 회원 이름 부분검색용 메모리 n-gram 인덱스. (LIKE '%x%' 전체 스캔 대신 사용)
+ * 이름의 1글자, 2글자 조각과 초성 2글자 조각을 회원 번호 목록(PostingList)에 매핑한다.
+ * 이름 원문은 보관하지 않으므로 결과는 후보이며, 최종 확인은 DB에서 읽은 이름으로 한다. (MemberService.search)
+ * 시작 시 전체를 한 번 읽어 만들고, 이후에는 가입/정보수정 때 증분 갱신한다.
+ * 다른 노드에서 바뀐 이름은 이 노드에 증분으로 들어오지 않으므로 resync-ms마다 DB에서 새로 만들어 바꿔 끼운다.
+ * 처음 만들기 전(isReady() == false)에는 MemberService가 DB LIKE 검색으로 대신한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberNameIndex {
+
+    private static final int BUILD_CHUNK = 10_000;
+    private static final String CHOSEONG_PREFIX = "c:";
+
+    private final MemberRepository memberRepository;
+
+    private record Change(Long num, String oldName, String newName) {
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<String, PostingList> postings = new HashMap<>();
+    private List<Change> changesDuringRebuild;   // 새로 만드는 동안 들어온 변경 (바꿔 끼운 뒤 다시 적용)
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${member.name-index.resync-ms:600000}", initialDelayString = "${member.name-index.resync-ms:600000}")
+    public void build() {
+        lock.writeLock().lock();
+        try {
+            if (changesDuringRebuild != null) return;   // 이미 만드는 중
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<String, PostingList> rebuilt = new HashMap<>();
+        try {
+            long after = 0;
+            while (true) {
+                List<MemberRepository.NameView> chunk = memberRepository.findNamesAfter(after, PageRequest.of(0, BUILD_CHUNK));
+                if (chunk.isEmpty()) break;
+                for (MemberRepository.NameView view : chunk) {
+                    add(rebuilt, view.getNum(), view.getMemberName());
+                }
+                after = chunk.get(chunk.size() - 1).getNum();
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Change change : changesDuringRebuild) {
+                remove(rebuilt, change.num(), change.oldName());
+                add(rebuilt, change.num(), change.newName());
+            }
+            postings = rebuilt;
+            changesDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // 이름 변경 반영. 가입 시에는 oldName = null
+    public void update(Long num, String oldName, String newName) {
+        lock.writeLock().lock();
+        try {
+            remove(postings, num, oldName);
+            add(postings, num, newName);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(new Change(num, oldName, newName));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 트랜잭션 안이면 커밋된 뒤에 반영 (롤백된 이름이 인덱스에 남지 않도록)
+    public void updateAfterCommit(Long num, String oldName, String newName) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update(num, oldName, newName);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update(num, oldName, newName);
+            }
+        });
+    }
+
+    public List<Long> search(String query, int limit) {
+        return search(query, Long.MAX_VALUE, limit);
+    }
+
+    /**
+     * 이름에 검색어가 포함될 수 있는 회원 번호 후보 중 beforeNum보다 작은 것을 최신 가입(번호 큰) 순으로 최대 limit개 반환.
+     * 후보를 DB 이름으로 거르면 줄어들 수 있으므로, 부족하면 마지막 번호를 beforeNum으로 다음 후보를 이어서 읽는다.
+     * 검색어가 1글자면 1글자 조각, 그 이상이면 2글자 조각들의 교집합을 사용한다.
+     */
+    public List<Long> search(String query, long beforeNum, int limit) {
+        String q = NgramTokenizer.normalize(query);
+        if (q.isEmpty() || limit <= 0) return List.of();
+
+        Set<String> keys = new LinkedHashSet<>();
+        if (NgramTokenizer.isChoseongOnly(q)) {
+            if (q.length() < 2) return List.of();   // 초성 1글자는 거의 모든 회원이 걸리므로 검색하지 않음
+            NgramTokenizer.ngrams(q, 2).forEach(g -> keys.add(CHOSEONG_PREFIX + g));
+        } else {
+            keys.addAll(NgramTokenizer.ngrams(q, q.length() == 1 ? 1 : 2));
+        }
+
+        lock.readLock().lock();
+        try {
+            List<PostingList> lists = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                PostingList list = postings.get(key);
+                if (list == null) return List.of();
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(PostingList::size));
+
+            PostingList smallest = lists.get(0);
+            List<Long> result = new ArrayList<>(Math.min(limit, smallest.size()));
+            for (int i = smallest.lowerIndex(beforeNum); i >= 0 && result.size() < limit; i--) {
+                long num = smallest.get(i);
+                boolean inAll = true;
+                for (int j = 1; j < lists.size() && inAll; j++) {
+                    inAll = lists.get(j).contains(num);
+                }
+                if (inAll) result.add(num);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void add(Map<String, PostingList> postings, Long num, String name) {
+        if (num == null) return;
+        for (String key : keysOf(name)) {
+            postings.computeIfAbsent(key, k -> new PostingList()).add(num);
+        }
+    }
+
+    private static void remove(Map<String, PostingList> postings, Long num, String name) {
+        if (num == null) return;
+        for (String key : keysOf(name)) {
+            PostingList list = postings.get(key);
+            if (list != null && list.remove(num) && list.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    private static Set<String> keysOf(String name) {
+        String normalized = NgramTokenizer.normalize(name);
+        Set<String> keys = new HashSet<>();
+        if (normalized.isEmpty()) return keys;
+        keys.addAll(NgramTokenizer.ngrams(normalized, 1));
+        keys.addAll(NgramTokenizer.ngrams(normalized, 2));
+        for (String gram : NgramTokenizer.ngrams(NgramTokenizer.toChoseong(normalized), 2)) {
+            keys.add(CHOSEONG_PREFIX + gram);
+        }
+        return keys;
+    }
+}
@@ -1,11 +1,50 @@
 package com.example.demo.member;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+
 public interface MemberRepository extends JpaRepository<Member, Long> {
+    // 로그인 ID → 회원. 로그인은 방금 바뀐 비밀번호/탈퇴 상태를 봐야 하므로 쿼리 캐시를 쓰지 않고 항상 DB에서 읽는다.
+    // (2차 캐시는 노드마다 따로라서 jdbc-session 다중 노드에서 다른 노드의 변경을 모른다)
     Optional<Member> findByMemberId(String memberId);
     void deleteByMemberId(String memberId);
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = "member-queries")})
     Optional<Member> findByNum(Long num);
+
+    // 회원목록 keyset 페이징 (reg_date, num 인덱스). Slice라서 COUNT 쿼리를 실행하지 않는다.
+    Slice<Member> findAllByOrderByRegDateDescNumDesc(Pageable pageable);
+
+    @Query("SELECT m FROM Member m " +
+            "WHERE m.regDate <= :regDate AND (m.regDate < :regDate OR m.num < :num) " +
+            "ORDER BY m.regDate DESC, m.num DESC")
+    Slice<Member> findPageAfter(@Param("regDate") LocalDateTime regDate, @Param("num") Long num, Pageable pageable);
+
+    // 관리자 회원검색: 인덱스를 타는 앞부분 일치(LIKE 'x%')
+    List<Member> findTop20ByMemberIdStartingWith(String prefix);
+    List<Member> findTop20ByMemberNameStartingWith(String prefix);
+    List<Member> findTop20ByEmailStartingWith(String prefix);
+    List<Member> findTop20ByTelStartingWith(String prefix);
+    // 이름 중간 일치 (전체 스캔). MemberNameIndex를 만들기 전에만 사용
+    List<Member> findByMemberNameContainingOrderByNumDesc(String part, Pageable pageable);
+
+    // MemberNameIndex 초기 구축용 (num 기준으로 잘라서 읽음)
+    @Query("SELECT m.num AS num, m.memberName AS memberName FROM Member m WHERE m.num > :after ORDER BY m.num")
+    List<NameView> findNamesAfter(@Param("after") Long after, Pageable pageable);
+
+    interface NameView {
+        Long getNum();
+        String getMemberName();
+    }
 }
\ No newline at end of file
@@ -3,13 +3,16 @@ package com.example.demo.member;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -17,12 +20,20 @@ import java.util.Optional;
 
 @RequiredArgsConstructor
 @Service
-public class MemberSecurityService implements UserDetailsService {
+public class MemberSecurityService implements UserDetailsService, UserDetailsPasswordService {
 
     private final MemberRepository memberRepository;
+    private final MemberUserCache memberUserCache;
 
+    // 로그인은 방금 바뀐 비밀번호/탈퇴 상태를 봐야 하므로 replica가 아닌 primary에서 읽는다 (readOnly 아님)
     @Override
+    @Transactional
     public UserDetails loadUserByUsername(String memberId) throws UsernameNotFoundException {
+        UserDetails cached = memberUserCache.getUserFromCache(memberId);
+        if (cached != null) {
+            return cached;
+        }
+
         Optional<Member> _member = this.memberRepository.findByMemberId(memberId);
         if (_member.isEmpty()) {
             throw new UsernameNotFoundException("사용자를 찾을수 없습니다.");
@@ -34,8 +45,14 @@ public class MemberSecurityService implements UserDetailsService {
             throw new DisabledException("탈퇴한 회원입니다.");
         }
 
+        MemberContext memberContext = createMemberContext(member);
+        memberUserCache.putUserInCache(memberContext);
+        return memberContext;
+    }
+
+    private MemberContext createMemberContext(Member member) {
         List<GrantedAuthority> authorities = new ArrayList<>();
-        if ("admin".equals(memberId)) {
+        if ("admin".equals(member.getMemberId())) {
             authorities.add(new SimpleGrantedAuthority(MemberRole.ADMIN.getValue()));
         } else {
             authorities.add(new SimpleGrantedAuthority(MemberRole.USER.getValue()));
@@ -43,15 +60,29 @@ public class MemberSecurityService implements UserDetailsService {
         return new MemberContext(member, authorities);
     }
 
-    // 회원정보 수정 후 SecurityContext 갱신
+    // 이미 검증이 끝난 member로 인증 토큰 생성 (회원가입 직후, 회원정보 수정 후). 비밀번호를 다시 BCrypt로 검증하지 않는다.
+    public Authentication createAuthentication(Member member) {
+        MemberContext userDetails = createMemberContext(member);
+        memberUserCache.putUserInCache(userDetails);
+        return UsernamePasswordAuthenticationToken.authenticated(userDetails, null, userDetails.getAuthorities());
+    }
+
+    // 회원정보 수정 후 SecurityContext 갱신. 방금 저장된 member로 바로 만들고 캐시도 새 값으로 채운다. (DB 재조회 없음)
     public void updateAuthentication(Member member) {
-        UserDetails userDetails = this.loadUserByUsername(member.getMemberId());
-        UsernamePasswordAuthenticationToken authentication =
-                new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        userDetails.getPassword(),
-                        userDetails.getAuthorities()
-                );
-        SecurityContextHolder.getContext().setAuthentication(authentication);
+        SecurityContextHolder.getContext().setAuthentication(createAuthentication(member));
+    }
+
+    // 로그인 성공 시 저장된 해시의 cost가 설정값보다 낮으면 DaoAuthenticationProvider가 새 해시로 호출한다.
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        Member member = memberRepository.findByMemberId(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을수 없습니다."));
+        member.setPassword(newPassword);
+        memberRepository.save(member);
+
+        MemberContext updated = createMemberContext(member);
+        memberUserCache.putUserInCache(updated);
+        return updated;
     }
 }
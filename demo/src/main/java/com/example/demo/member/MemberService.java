@@ -1,26 +1,36 @@
 package com.example.demo.member;
 
-import jakarta.transaction.Transactional;
+import com.example.demo.search.NgramTokenizer;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.*;
 
 @RequiredArgsConstructor
 @Service
 public class MemberService {
 
+    private static final int NAME_CANDIDATE_CHUNK = 200;
+
     private final MemberRepository memberRepository;
     private final PasswordEncoder passwordEncoder;
+    private final MemberUserCache memberUserCache;
+    private final MemberNameIndex memberNameIndex;
+
+    // 회원목록의 "전체 약 N명" 표시용 COUNT(*) 캐시. 0 이하이면 표시하지 않음.
+    @Value("${member.list.total-cache-seconds:60}")
+    private long totalCacheSeconds;
+    private volatile long cachedTotal = -1;
+    private volatile long cachedTotalAt;
 
     public Member create(MemberCreateForm memberCreateForm) {
         Member member = new Member();
@@ -35,6 +45,8 @@ public class MemberService {
         member.setTel(memberCreateForm.getTel());
         member.setRegDate(LocalDateTime.now()); // regDate 필드 추가
         this.memberRepository.save(member);
+        memberUserCache.evictAfterCommit(member.getMemberId());
+        memberNameIndex.updateAfterCommit(member.getNum(), null, member.getMemberName());
         return member;
     }
 
@@ -49,10 +61,62 @@ public class MemberService {
         }
     }
 
-    // 회원목록 메서드
-    public Page<Member> getList(int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "regDate"));
-        return memberRepository.findAll(pageable);
+    // 회원목록 메서드. OFFSET 대신 (regDate, num) cursor 다음 행부터 읽고, 전체 개수는 세지 않는다.
+    @Transactional(readOnly = true)
+    public Slice<Member> getList(String cursor, int size) {
+        PageRequest pageRequest = PageRequest.of(0, size);
+        MemberListCursor after = MemberListCursor.decode(cursor);
+        if (after == null) {
+            return memberRepository.findAllByOrderByRegDateDescNumDesc(pageRequest);
+        }
+        return memberRepository.findPageAfter(after.getRegDate(), after.getNum(), pageRequest);
+    }
+
+    /**
+     * 관리자 회원검색. ID/이름/이메일/전화번호는 인덱스 앞부분 일치로, 이름 중간 일치는 MemberNameIndex로 찾는다.
+     * 앞부분 일치 결과를 먼저, 그 다음 이름 부분일치 결과를 최신 가입순으로 보여준다.
+     */
+    @Transactional(readOnly = true)
+    public List<Member> search(String query, int limit) {
+        String q = query == null ? "" : query.trim();
+        if (q.isEmpty()) return List.of();
+
+        Map<Long, Member> found = new LinkedHashMap<>();
+        memberRepository.findTop20ByMemberIdStartingWith(q).forEach(m -> found.putIfAbsent(m.getNum(), m));
+        memberRepository.findTop20ByMemberNameStartingWith(q).forEach(m -> found.putIfAbsent(m.getNum(), m));
+        memberRepository.findTop20ByEmailStartingWith(q).forEach(m -> found.putIfAbsent(m.getNum(), m));
+        if (q.chars().allMatch(c -> Character.isDigit(c) || c == '-')) {
+            memberRepository.findTop20ByTelStartingWith(q).forEach(m -> found.putIfAbsent(m.getNum(), m));
+        }
+
+        if (found.size() < limit && !memberNameIndex.isReady()) {
+            // 시작 직후 인덱스를 만드는 중: DB 전체 스캔으로 대신
+            memberRepository.findByMemberNameContainingOrderByNumDesc(q, PageRequest.of(0, limit))
+                    .forEach(m -> found.putIfAbsent(m.getNum(), m));
+        }
+        // 인덱스 결과는 후보이므로 DB에서 읽은 실제 이름으로 한 번 더 확인. 걸러져서 모자라면 다음 후보를 이어서 읽는다
+        long before = Long.MAX_VALUE;
+        while (found.size() < limit && memberNameIndex.isReady()) {
+            List<Long> candidates = memberNameIndex.search(q, before, NAME_CANDIDATE_CHUNK);
+            if (candidates.isEmpty()) break;
+            memberRepository.findAllById(candidates).stream()
+                    .filter(m -> NgramTokenizer.matches(m.getMemberName(), q))
+                    .sorted(Comparator.comparing(Member::getNum).reversed())
+                    .forEach(m -> found.putIfAbsent(m.getNum(), m));
+            before = candidates.get(candidates.size() - 1);
+        }
+        return found.values().stream().limit(limit).toList();
+    }
+
+    // 캐시된 전체 회원 수 (최대 total-cache-seconds 만큼 오래된 값). 비활성화 시 null.
+    public Long getApproximateTotal() {
+        if (totalCacheSeconds <= 0) return null;
+        long now = System.currentTimeMillis();
+        if (cachedTotal < 0 || now - cachedTotalAt > totalCacheSeconds * 1000) {
+            cachedTotal = memberRepository.count();
+            cachedTotalAt = now;
+        }
+        return cachedTotal;
     }
 
     // 회원정보 수정 메서드
@@ -61,6 +125,8 @@ public class MemberService {
         Member member = memberRepository.findByMemberId(memberId)
                 .orElseThrow(() -> new RuntimeException("회원 없음"));
 
+        String oldName = member.getMemberName();
+
         // DTO의 값으로 엔티티를 업데이트
         member.setMemberName(memberModifyForm.getMemberName());
         member.setPassword(passwordEncoder.encode(memberModifyForm.getPassword1()));
@@ -72,6 +138,8 @@ public class MemberService {
         member.setTel(memberModifyForm.getTel());
         member.setUptDate(LocalDateTime.now()); // 최종 수정일 업데이트
         memberRepository.save(member);
+        memberUserCache.evictAfterCommit(memberId);
+        memberNameIndex.updateAfterCommit(member.getNum(), oldName, member.getMemberName());
         return member;
     }
 
@@ -87,6 +155,7 @@ public class MemberService {
         // 2. 회원의 상태를 WITHDRAWAL로 변경
         member.setStatus(MemberStatus.WITHDRAWAL);
         memberRepository.save(member); // 변경된 상태를 저장
+        memberUserCache.evictAfterCommit(memberId);   // 탈퇴 후에는 캐시된 로그인 정보로 로그인되지 않도록
 
         // 3. (선택 사항) 관련 데이터 처리
         // 예를 들어, 게시물 등을 비공개로 전환하는 로직을 추가할 수 있습니다.
@@ -0,0 +1,75 @@
+package com.example.demo.member;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * 로그인 시 MemberSecurityService.loadUserByUsername 앞단에서 DB 조회를 줄이기 위한 캐시.
+ * 인증이 끝나면 ProviderManager가 principal의 비밀번호를 지우므로(eraseCredentials),
+ * 캐시에 들어있는 객체를 그대로 내보내지 않고 항상 복사본을 돌려준다.
+ * 캐시는 서버(JVM)마다 따로라서 다른 노드의 비밀번호 변경/탈퇴를 알 수 없다.
+ * 그래서 여러 대로 띄우는 jdbc-session 프로필에서는 enabled=false로 끄고, 매 로그인마다 DB를 읽는다. (NullUserCache와 같음)
+ */
+@Component
+public class MemberUserCache implements UserCache {
+
+    private final boolean enabled;
+    private final Cache<String, MemberContext> cache;
+
+    public MemberUserCache(MeterRegistry meterRegistry,
+                           @Value("${member.user-cache.enabled:true}") boolean enabled,
+                           @Value("${member.user-cache.max-size:10000}") long maxSize,
+                           @Value("${member.user-cache.expire-seconds:600}") long expireSeconds) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(expireSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "member.userDetails");   // cache.gets{result=hit|miss} 등으로 hit ratio 확인
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String memberId) {
+        if (!enabled) {
+            return null;
+        }
+        MemberContext cached = cache.getIfPresent(memberId);
+        return cached != null ? cached.copy() : null;
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        if (enabled && user instanceof MemberContext memberContext) {
+            cache.put(memberContext.getUsername(), memberContext.copy());
+        }
+    }
+
+    @Override
+    public void removeUserFromCache(String memberId) {
+        cache.invalidate(memberId);
+    }
+
+    // 트랜잭션 안에서 호출되면 커밋 이후에 한 번 더 지운다. (커밋 전 다른 요청이 옛 값을 다시 올려두는 경우 방지)
+    public void evictAfterCommit(String memberId) {
+        removeUserFromCache(memberId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    removeUserFromCache(memberId);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.demo.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * FastAPI 서버 호출 시간 측정. 지표 이름은 fastapi.requests, 태그는 call(호출 종류)과 outcome(success/error).
+ * 예외는 그대로 다시 던진다. Mono는 구독 시점부터 완료/오류까지를 잰다. (취소는 기록하지 않음)
+ */
+@Component
+@RequiredArgsConstructor
+public class FastApiTimer {
+
+    private final MeterRegistry meterRegistry;
+
+    public <T> T record(String call, Supplier<T> request) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = request.get();
+            outcome = "success";
+            return result;
+        } finally {
+            stop(sample, call, outcome);
+        }
+    }
+
+    public <T> Mono<T> record(String call, Mono<T> request) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return request
+                    .doOnSuccess(result -> stop(sample, call, "success"))
+                    .doOnError(e -> stop(sample, call, "error"));
+        });
+    }
+
+    private void stop(Timer.Sample sample, String call, String outcome) {
+        sample.stop(Timer.builder("fastapi.requests")
+                .description("FastAPI 호출 소요 시간")
+                .tag("call", call)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.demo.metrics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.cache.CacheManager;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * Hibernate 2차 캐시 영역별 지표.
+ * - hibernate.cache.region.size / max.size / ttl : Caffeine(JCache) 캐시의 현재 크기와 설정값
+ * - hibernate.cache.region.requests{result=hit|miss}, hibernate.cache.region.puts : Hibernate 통계 (generate_statistics 필요)
+ * 쿼리 캐시 영역은 처음 사용될 때 만들어지므로 그 전까지는 값이 NaN/0 이다.
+ */
+@Component
+public class HibernateCacheMetrics implements MeterBinder {
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final List<String> regions;
+
+    public HibernateCacheMetrics(EntityManagerFactory entityManagerFactory,
+                                 @Value("${metrics.hibernate-cache.regions:member,notice,member-queries,notice-queries,default-query-results-region,default-update-timestamps-region}") List<String> regions) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.regions = regions;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : regions) {
+            Gauge.builder("hibernate.cache.region.size", this, m -> m.size(region))
+                    .description("2차 캐시 영역의 현재 항목 수 (추정)")
+                    .tag("region", region)
+                    .register(registry);
+            Gauge.builder("hibernate.cache.region.max.size", this, m -> m.setting(region, CaffeineConfiguration::getMaximumSize))
+                    .description("2차 캐시 영역 최대 항목 수 (제한 없으면 NaN)")
+                    .tag("region", region)
+                    .register(registry);
+            TimeGauge.builder("hibernate.cache.region.ttl", this, TimeUnit.NANOSECONDS,
+                            m -> m.setting(region, CaffeineConfiguration::getExpireAfterWrite))
+                    .description("2차 캐시 영역 만료 시간 (쓰기 후, 없으면 NaN)")
+                    .tag("region", region)
+                    .register(registry);
+
+            FunctionCounter.builder("hibernate.cache.region.requests", this, m -> m.statistic(region, CacheRegionStatistics::getHitCount))
+                    .tags("region", region, "result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("hibernate.cache.region.requests", this, m -> m.statistic(region, CacheRegionStatistics::getMissCount))
+                    .tags("region", region, "result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("hibernate.cache.region.puts", this, m -> m.statistic(region, CacheRegionStatistics::getPutCount))
+                    .tag("region", region)
+                    .register(registry);
+        }
+    }
+
+    private javax.cache.Cache<Object, Object> jcache(String region) {
+        if (!(sessionFactory.getCache().getRegionFactory() instanceof JCacheRegionFactory factory)) return null;
+        CacheManager cacheManager = factory.getCacheManager();
+        return cacheManager.isClosed() ? null : cacheManager.getCache(region);
+    }
+
+    @SuppressWarnings("unchecked")
+    private double size(String region) {
+        javax.cache.Cache<Object, Object> cache = jcache(region);
+        if (cache == null) return Double.NaN;
+        try {
+            return cache.unwrap(Cache.class).estimatedSize();
+        } catch (IllegalArgumentException e) {
+            return Double.NaN;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private double setting(String region, java.util.function.Function<CaffeineConfiguration<Object, Object>, OptionalLong> getter) {
+        javax.cache.Cache<Object, Object> cache = jcache(region);
+        if (cache == null) return Double.NaN;
+        try {
+            OptionalLong value = getter.apply(cache.getConfiguration(CaffeineConfiguration.class));
+            return value.isPresent() ? value.getAsLong() : Double.NaN;
+        } catch (IllegalArgumentException e) {
+            return Double.NaN;
+        }
+    }
+
+    private double statistic(String region, ToLongFunction<CacheRegionStatistics> getter) {
+        Statistics statistics = sessionFactory.getStatistics();
+        if (!statistics.isStatisticsEnabled()) return 0;
+        CacheRegionStatistics regionStatistics;
+        try {
+            regionStatistics = statistics.getDomainDataRegionStatistics(region);
+        } catch (IllegalArgumentException e) {
+            try {
+                regionStatistics = statistics.getQueryRegionStatistics(region);   // 쿼리 캐시 영역
+            } catch (IllegalArgumentException ignore) {
+                return 0;
+            }
+        }
+        return regionStatistics != null ? getter.applyAsLong(regionStatistics) : 0;
+    }
+}
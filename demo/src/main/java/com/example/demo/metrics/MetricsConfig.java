@@ -0,0 +1,45 @@
+package com.example.demo.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * /actuator/prometheus 로 내보내는 지표 설정.
+ * HikariCP 풀, JVM GC/할당(jvm.gc.pause, jvm.gc.memory.allocated), http.server.requests 는 actuator가 자동 등록하고,
+ * 여기서는 지연시간 히스토그램을 켤 요청 URI만 골라준다. (모든 URI에 버킷을 붙이면 시계열 수가 너무 많아짐)
+ */
+@Configuration
+public class MetricsConfig {
+
+    static final String HTTP_SERVER_REQUESTS = "http.server.requests";
+
+    @Bean
+    MeterFilter httpHistogramFilter(@Value("${metrics.http.histogram-uris:/diet,/photo/upload,/record/calendar}") List<String> uris) {
+        return histogramFor(Set.copyOf(uris));
+    }
+
+    static MeterFilter histogramFor(Set<String> uris) {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!HTTP_SERVER_REQUESTS.equals(id.getName()) || !uris.contains(id.getTag("uri"))) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .minimumExpectedValue((double) Duration.ofMillis(5).toNanos())
+                        .maximumExpectedValue((double) Duration.ofSeconds(60).toNanos())
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+}
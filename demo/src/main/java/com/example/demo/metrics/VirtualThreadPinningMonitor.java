@@ -0,0 +1,81 @@
+package com.example.demo.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 가상 스레드 고정(pinning) 감지. JFR jdk.VirtualThreadPinned 이벤트를 앱 안에서 스트리밍으로 받는다.
+ * synchronized 블록이나 네이티브 프레임 안에서 블로킹 I/O를 하면 가상 스레드가 캐리어 스레드를 놓지 못하는데,
+ * 그런 구간이 threshold-ms 이상이면 jvm.threads.virtual.pinned 지표에 기록하고, 위치(스택)별로 한 번씩 로그를 남긴다.
+ * virtual-threads 프로필에서만 동작한다.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final int MAX_REPORTED_LOCATIONS = 200;
+    private static final int STACK_DEPTH = 12;
+
+    private final Counter pinnedCount;
+    private final Timer pinnedTime;
+    private final Duration threshold;
+    private final Set<String> reported = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${virtual-threads.pinning.threshold-ms:20}") long thresholdMillis) {
+        this.threshold = Duration.ofMillis(thresholdMillis);
+        this.pinnedCount = Counter.builder("jvm.threads.virtual.pinned")
+                .description("캐리어 스레드를 붙잡은 가상 스레드 블로킹 횟수")
+                .register(meterRegistry);
+        this.pinnedTime = Timer.builder("jvm.threads.virtual.pinned.duration")
+                .description("가상 스레드가 고정된 채 블록된 시간")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+        stream.startAsync();
+        System.out.println("가상 스레드 pinning 감지 시작 (threshold " + threshold.toMillis() + "ms)");
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) stream.close();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCount.increment();
+        pinnedTime.record(event.getDuration());
+
+        if (event.getStackTrace() == null) return;
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        StringBuilder stack = new StringBuilder();
+        for (int i = 0; i < Math.min(STACK_DEPTH, frames.size()); i++) {
+            RecordedFrame f = frames.get(i);
+            stack.append("\n    at ").append(f.getMethod().getType().getName()).append('.').append(f.getMethod().getName())
+                    .append(':').append(f.getLineNumber());
+        }
+        String location = stack.toString();
+        if (reported.size() < MAX_REPORTED_LOCATIONS && reported.add(location)) {
+            System.out.println("가상 스레드 pinning " + event.getDuration().toMillis() + "ms" + location);
+        }
+    }
+}
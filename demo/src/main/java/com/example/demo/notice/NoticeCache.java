@@ -0,0 +1,102 @@
+package com.example.demo.notice;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 공개 공지사항(/notice, /notice/{id}) 읽기 캐시.
+ * refresh-seconds가 지난 항목은 기존 값을 바로 돌려주면서 백그라운드에서 다시 읽는다. (stale-while-revalidate)
+ * 다시 읽기가 실패하면(DB 장애 등) 기존 값을 계속 사용하고, max-stale-seconds가 지나야 완전히 버린다.
+ * 없는 공지 ID는 캐시하지 않는다. (/notice/{id}는 로그인 없이 열려 있어서, 없는 ID로 캐시를 채워 실제 공지를 밀어낼 수 있음)
+ */
+@Component
+public class NoticeCache {
+
+    private final NoticeRepository noticeRepository;
+    private final LoadingCache<Pageable, Page<NoticeListItem>> pages;
+    private final LoadingCache<Integer, NoticeDto> details;
+    private final Counter pageQueries;
+    private final Counter detailQueries;
+
+    @Autowired
+    public NoticeCache(NoticeRepository noticeRepository, MeterRegistry meterRegistry,
+                       @Value("${notice.cache.refresh-seconds:30}") long refreshSeconds,
+                       @Value("${notice.cache.max-stale-seconds:3600}") long maxStaleSeconds,
+                       @Value("${notice.cache.max-pages:200}") long maxPages,
+                       @Value("${notice.cache.max-notices:2000}") long maxNotices) {
+        this(noticeRepository, meterRegistry, refreshSeconds, maxStaleSeconds, maxPages, maxNotices,
+                Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    // 테스트에서 시간과 백그라운드 갱신 스레드를 바꿔 끼울 때 사용
+    NoticeCache(NoticeRepository noticeRepository, MeterRegistry meterRegistry, long refreshSeconds, long maxStaleSeconds,
+                long maxPages, long maxNotices, Ticker ticker, Executor refreshExecutor) {
+        this.noticeRepository = noticeRepository;
+        this.pages = Caffeine.newBuilder()
+                .ticker(ticker)
+                .executor(refreshExecutor)
+                .maximumSize(maxPages)
+                .refreshAfterWrite(Duration.ofSeconds(refreshSeconds))
+                .expireAfterWrite(Duration.ofSeconds(maxStaleSeconds))
+                .recordStats()
+                .build(this::loadPage);
+        this.details = Caffeine.newBuilder()
+                .ticker(ticker)
+                .executor(refreshExecutor)
+                .maximumSize(maxNotices)
+                .refreshAfterWrite(Duration.ofSeconds(refreshSeconds))
+                .expireAfterWrite(Duration.ofSeconds(maxStaleSeconds))
+                .recordStats()
+                .build(this::loadNotice);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "notice.pages");
+        CaffeineCacheMetrics.monitor(meterRegistry, details, "notice.details");
+        // 캐시 미스/갱신으로 실제 실행된 DB 조회 수. cache.gets 대비 절감량을 확인할 수 있다.
+        this.pageQueries = Counter.builder("notice.cache.db.queries").tag("cache", "pages").register(meterRegistry);
+        this.detailQueries = Counter.builder("notice.cache.db.queries").tag("cache", "details").register(meterRegistry);
+    }
+
+    public Page<NoticeListItem> getPage(Pageable pageable) {
+        return pages.get(PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort()));
+    }
+
+    public NoticeDto getNotice(Integer noticeId) {
+        return details.get(noticeId);
+    }
+
+    // 새 공지 등록: 목록 페이지만 영향을 받는다
+    public void evictPages() {
+        pages.invalidateAll();
+    }
+
+    // 공지 수정/삭제: 해당 공지와 목록 페이지
+    public void evictNotice(Integer noticeId) {
+        details.invalidate(noticeId);
+        pages.invalidateAll();
+    }
+
+    private Page<NoticeListItem> loadPage(Pageable pageable) {
+        pageQueries.increment();
+        return noticeRepository.findListItems(pageable);
+    }
+
+    // 없으면 null = 캐시에 넣지 않음 (갱신 중 삭제된 공지면 항목이 빠진다)
+    private NoticeDto loadNotice(Integer noticeId) {
+        detailQueries.increment();
+        return noticeRepository.findWithAuthorByNoticeId(noticeId).map(NoticeDto::from).orElse(null);
+    }
+}
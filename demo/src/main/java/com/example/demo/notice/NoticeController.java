@@ -16,15 +16,23 @@ public class NoticeController {
     private final NoticeService noticeService;
 
     @GetMapping("/notice")
-    public String notice(@RequestParam(defaultValue = "0") int page, Model model) {
-        Page<Notice> paging = noticeService.getNoticeList(PageRequest.of(page, 10));
+    public String notice(@RequestParam(defaultValue = "0") int page,
+                         @RequestParam(value = "q", required = false) String q,
+                         @RequestParam(value = "cursor", required = false) String cursor,
+                         Model model) {
+        if (q != null && !q.isBlank()) {
+            model.addAttribute("results", noticeService.search(q, cursor, 10));
+            model.addAttribute("q", q);
+            return "footer/notice_list";
+        }
+        Page<NoticeListItem> paging = noticeService.getNoticeList(PageRequest.of(page, 10));
         model.addAttribute("paging", paging);
         return "footer/notice_list";
     }
 
     @GetMapping("/notice/{id}")
     public String noticeDetail(@PathVariable("id") Integer id, Model model) {
-        Notice notice = noticeService.findById(id);
+        NoticeDto notice = noticeService.findById(id);
         if (notice == null) {
             return "redirect:/footer/notice";
         }
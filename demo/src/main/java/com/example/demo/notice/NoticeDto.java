@@ -0,0 +1,25 @@
+package com.example.demo.notice;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 공지 캐시에 보관하는 읽기 전용 값. (엔티티/지연로딩 프록시를 캐시에 넣지 않기 위함)
+@Getter
+@AllArgsConstructor
+public class NoticeDto {
+    private final Integer noticeId;
+    private final String noticeTitle;
+    private final String noticeContent;
+    private final LocalDateTime regDate;
+    private final LocalDateTime uptDate;
+    private final String authorName;
+
+    // author는 NoticeRepository.findWithAuthorByNoticeId로 함께 읽어 온 상태여야 한다
+    public static NoticeDto from(Notice notice) {
+        return new NoticeDto(notice.getNoticeId(), notice.getNoticeTitle(), notice.getNoticeContent(),
+                notice.getRegDate(), notice.getUptDate(),
+                notice.getAuthor() != null ? notice.getAuthor().getMemberName() : null);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.demo.notice;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 공지 목록 한 줄. 본문(noticeContent)은 목록에서 쓰지 않으므로 읽지 않는다. (NoticeRepository.findListItems)
+@Getter
+@AllArgsConstructor
+public class NoticeListItem {
+    private final Integer noticeId;
+    private final String noticeTitle;
+    private final LocalDateTime regDate;
+    private final String authorName;
+}
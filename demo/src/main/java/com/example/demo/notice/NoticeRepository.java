@@ -1,6 +1,39 @@
 package com.example.demo.notice;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
 
 public interface NoticeRepository extends JpaRepository<Notice, Integer> {
-}
\ No newline at end of file
+
+    // 목록 화면용: 작성자 이름까지 한 번에 (작성자가 없는 공지도 있으므로 LEFT JOIN)
+    @Query(value = "SELECT new com.example.demo.notice.NoticeListItem(n.noticeId, n.noticeTitle, n.regDate, a.memberName) " +
+            "FROM Notice n LEFT JOIN n.author a ORDER BY n.regDate DESC, n.noticeId DESC",
+            countQuery = "SELECT count(n) FROM Notice n")
+    Page<NoticeListItem> findListItems(Pageable pageable);
+
+    // 상세 화면용: author 지연로딩 없이 함께 조회. 결과는 쿼리 캐시 + 2차 캐시(notice, member)에 남는다
+    @EntityGraph(attributePaths = "author")
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = "notice-queries")})
+    Optional<Notice> findWithAuthorByNoticeId(Integer noticeId);
+
+    // 검색 결과(ID 목록)를 목록 화면용으로 읽는다. 순서는 호출하는 쪽에서 맞춘다.
+    @Query("SELECT new com.example.demo.notice.NoticeListItem(n.noticeId, n.noticeTitle, n.regDate, a.memberName) " +
+            "FROM Notice n LEFT JOIN n.author a WHERE n.noticeId IN :ids")
+    List<NoticeListItem> findListItemsByIds(@Param("ids") Collection<Integer> ids);
+
+    // 검색 인덱스 초기 구축용 (ID 순 청크)
+    List<Notice> findByNoticeIdGreaterThanOrderByNoticeIdAsc(Integer noticeId, Pageable pageable);
+}
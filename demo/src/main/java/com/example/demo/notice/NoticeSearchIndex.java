@@ -0,0 +1,64 @@
+package com.example.demo.notice;
+
+import com.example.demo.search.RebuildableTextIndex;
+import com.example.demo.search.SearchCursor;
+import com.example.demo.search.SearchPage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * 공지 제목/본문 전문 검색 인덱스. 시작 시 전체를 한 번 읽어 만들고, 이후에는 저장할 때마다 증분 반영한다.
+ * 다른 노드에서 저장/삭제된 공지는 증분으로 들어오지 않으므로 resync-ms마다 DB에서 새로 만들어 바꿔 끼운다.
+ */
+@Component
+@RequiredArgsConstructor
+public class NoticeSearchIndex {
+
+    private static final int BUILD_CHUNK = 1_000;
+    private static final int TITLE_WEIGHT = 3;
+
+    private final NoticeRepository noticeRepository;
+    private final RebuildableTextIndex index = new RebuildableTextIndex(TITLE_WEIGHT);
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${notice.search.resync-ms:600000}", initialDelayString = "${notice.search.resync-ms:600000}")
+    public void build() {
+        index.rebuild(rebuilt -> {
+            int after = 0;
+            while (true) {
+                List<Notice> chunk = noticeRepository.findByNoticeIdGreaterThanOrderByNoticeIdAsc(after, PageRequest.of(0, BUILD_CHUNK));
+                if (chunk.isEmpty()) break;
+                for (Notice notice : chunk) {
+                    rebuilt.put(notice.getNoticeId(), notice.getNoticeTitle(), notice.getNoticeContent());
+                }
+                after = chunk.get(chunk.size() - 1).getNoticeId();
+            }
+        });
+    }
+
+    // 트랜잭션 안이면 커밋된 뒤에 반영
+    public void putAfterCommit(Integer noticeId, String title, String content) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            index.put(noticeId, title, content);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                index.put(noticeId, title, content);
+            }
+        });
+    }
+
+    public SearchPage search(String query, String cursor, int size) {
+        return index.search(query, SearchCursor.decode(cursor), size);
+    }
+}
@@ -1,19 +1,24 @@
 package com.example.demo.notice;
 
+import com.example.demo.search.SearchPage;
+import com.example.demo.search.SearchResults;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class NoticeService {
     private final NoticeRepository noticeRepository;
+    private final NoticeCache noticeCache;
+    private final NoticeSearchIndex noticeSearchIndex;
 
-    public Page<Notice> getNoticeList(Pageable pageable) {
-        return noticeRepository.findAll(pageable);
+    public Page<NoticeListItem> getNoticeList(Pageable pageable) {
+        return noticeCache.getPage(pageable);
     }
 
     public void saveNotice(String noticeTitle, String noticeContent) {
@@ -23,9 +28,21 @@ public class NoticeService {
                 .regDate(LocalDateTime.now())
                 .build();
         noticeRepository.save(newNotice);
+        noticeCache.evictPages();   // 없는 ID는 캐시하지 않으므로 목록만 비운다
+        noticeSearchIndex.putAfterCommit(newNotice.getNoticeId(), noticeTitle, noticeContent);
     }
 
-    public Notice findById(Integer  id) {
-        return noticeRepository.findById(id).orElse(null);
+    // 제목/본문 검색 (관련도순, cursor 페이징)
+    public SearchResults<NoticeListItem> search(String query, String cursor, int size) {
+        SearchPage page = noticeSearchIndex.search(query, cursor, size);
+        if (page.getHits().isEmpty()) {
+            return SearchResults.of(page, List.of(), NoticeListItem::getNoticeId);
+        }
+        List<Integer> ids = page.getHits().stream().map(hit -> (int) hit.getId()).toList();
+        return SearchResults.of(page, noticeRepository.findListItemsByIds(ids), NoticeListItem::getNoticeId);
     }
-}
\ No newline at end of file
+
+    public NoticeDto findById(Integer  id) {
+        return noticeCache.getNotice(id);
+    }
+}
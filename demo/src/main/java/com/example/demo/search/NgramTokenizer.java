@@ -0,0 +1,128 @@
+package com.example.demo.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 한글을 고려한 n-gram 분해 유틸.
+ * - 정규화: NFC, 소문자, 공백 제거
+ * - 한글 음절은 초성(ㄱ, ㄴ, ...)으로도 변환할 수 있어 "ㄱㅁㅅ" 같은 초성 검색을 지원한다.
+ */
+public final class NgramTokenizer {
+
+    private static final char HANGUL_BASE = 0xAC00;
+    private static final char HANGUL_LAST = 0xD7A3;
+    private static final int JUNGSEONG_COUNT = 21;
+    private static final int JONGSEONG_COUNT = 28;
+    private static final char[] CHOSEONG = {
+            'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ',
+            'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+
+    private NgramTokenizer() {
+    }
+
+    public static String normalize(String text) {
+        if (text == null) return "";
+        String nfc = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+        StringBuilder sb = new StringBuilder(nfc.length());
+        for (int i = 0; i < nfc.length(); i++) {
+            char c = nfc.charAt(i);
+            if (!Character.isWhitespace(c)) sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    public static boolean isHangulSyllable(char c) {
+        return c >= HANGUL_BASE && c <= HANGUL_LAST;
+    }
+
+    public static boolean isChoseong(char c) {
+        for (char ch : CHOSEONG) {
+            if (ch == c) return true;
+        }
+        return false;
+    }
+
+    // 초성만으로 이루어진 문자열인지 ("ㄱㅁㅅ")
+    public static boolean isChoseongOnly(String normalized) {
+        if (normalized.isEmpty()) return false;
+        for (int i = 0; i < normalized.length(); i++) {
+            if (!isChoseong(normalized.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    // 한글 음절을 초성으로 바꾼다. 그 외 문자는 그대로 둔다. ("김민수" -> "ㄱㅁㅅ")
+    public static String toChoseong(String normalized) {
+        StringBuilder sb = new StringBuilder(normalized.length());
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (isHangulSyllable(c)) {
+                sb.append(CHOSEONG[(c - HANGUL_BASE) / (JUNGSEONG_COUNT * JONGSEONG_COUNT)]);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    // 길이 n의 연속 부분 문자열 집합. 문자열이 n보다 짧으면 문자열 자체 하나.
+    public static Set<String> ngrams(String normalized, int n) {
+        Set<String> grams = new LinkedHashSet<>();
+        if (normalized.isEmpty()) return grams;
+        if (normalized.length() <= n) {
+            grams.add(normalized);
+            return grams;
+        }
+        for (int i = 0; i + n <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + n));
+        }
+        return grams;
+    }
+
+    /**
+     * 전문 검색용 색인어 목록 (중복 포함, 빈도 계산용).
+     * 글자/숫자가 아닌 문자로 단어를 나누고, 각 단어를 2글자 조각(bigram)으로 분해한다. 1글자 단어는 그대로 쓴다.
+     * 예) "식단 기록하기" -> [식단, 기록, 록하, 하기]
+     */
+    public static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) return terms;
+        String nfc = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= nfc.length(); i++) {
+            boolean wordChar = i < nfc.length() && Character.isLetterOrDigit(nfc.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                addWordTerms(nfc, start, i, terms);
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    private static void addWordTerms(String text, int start, int end, List<String> terms) {
+        if (end - start == 1) {
+            terms.add(text.substring(start, end));
+            return;
+        }
+        for (int i = start; i + 2 <= end; i++) {
+            terms.add(text.substring(i, i + 2));
+        }
+    }
+
+    // 원문이 검색어를 포함하는지 (초성 검색어이면 원문의 초성과 비교)
+    public static boolean matches(String text, String query) {
+        String t = normalize(text);
+        String q = normalize(query);
+        if (q.isEmpty()) return false;
+        if (t.contains(q)) return true;
+        return isChoseongOnly(q) && toChoseong(t).contains(q);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.demo.search;
+
+import java.util.Arrays;
+
+/**
+ * 정렬된 long ID 목록 (역색인 posting). 박싱 없이 long[] 하나로 보관한다.
+ * ID가 증가하는 순서로 추가되는 경우가 대부분이라 끝에 붙이는 비용은 상수 시간이다.
+ * 동기화는 사용하는 쪽(인덱스)의 락에 맡긴다.
+ */
+public final class PostingList {
+    private long[] ids = new long[4];
+    private int size;
+
+    public boolean add(long id) {
+        if (size == 0 || ids[size - 1] < id) {
+            ensureCapacity();
+            ids[size++] = id;
+            return true;
+        }
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos >= 0) return false;
+        pos = -pos - 1;
+        ensureCapacity();
+        System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+        ids[pos] = id;
+        size++;
+        return true;
+    }
+
+    public boolean remove(long id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos < 0) return false;
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+        size--;
+        return true;
+    }
+
+    public boolean contains(long id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    // id보다 작은 마지막 원소의 위치 (없으면 -1). 큰 번호부터 거꾸로 훑을 때 시작 위치
+    public int lowerIndex(long id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        return (pos >= 0 ? pos : -pos - 1) - 1;
+    }
+
+    public long get(int index) {
+        return ids[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void ensureCapacity() {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length + (ids.length >> 1) + 1);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.demo.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * DB에서 주기적으로 새로 만들어 바꿔 끼우는 TextIndex. (다른 노드에서 저장/삭제된 문서 반영)
+ * 새로 만드는 동안 이 노드에서 들어온 put은 기존 인덱스에 바로 반영하고, 바꿔 끼우기 직전에 새 인덱스에도 다시 적용한다.
+ */
+public class RebuildableTextIndex {
+
+    private record Doc(long id, String title, String body) {
+    }
+
+    private final int titleWeight;
+    private volatile TextIndex index;
+    private List<Doc> changesDuringRebuild;   // lock(this)
+
+    public RebuildableTextIndex(int titleWeight) {
+        this.titleWeight = titleWeight;
+        this.index = new TextIndex(titleWeight);
+    }
+
+    /**
+     * loader로 빈 인덱스를 채운 뒤 바꿔 끼운다. 이미 다른 스레드가 만드는 중이면 아무것도 하지 않는다.
+     * loader가 실패하면 기존 인덱스를 그대로 쓴다.
+     */
+    public void rebuild(Consumer<TextIndex> loader) {
+        synchronized (this) {
+            if (changesDuringRebuild != null) return;
+            changesDuringRebuild = new ArrayList<>();
+        }
+
+        TextIndex rebuilt = new TextIndex(titleWeight);
+        try {
+            loader.accept(rebuilt);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                changesDuringRebuild = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            for (Doc doc : changesDuringRebuild) {
+                rebuilt.put(doc.id(), doc.title(), doc.body());
+            }
+            index = rebuilt;
+            changesDuringRebuild = null;
+        }
+    }
+
+    public void put(long id, String title, String body) {
+        synchronized (this) {
+            index.put(id, title, body);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(new Doc(id, title, body));
+            }
+        }
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public SearchPage search(String query, SearchCursor after, int size) {
+        return index.search(query, after, size);
+    }
+}
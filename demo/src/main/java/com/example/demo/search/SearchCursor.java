@@ -0,0 +1,44 @@
+package com.example.demo.search;
+
+/**
+ * 검색 결과 keyset 페이징 위치. (score, id) 내림차순 기준으로 "이 결과 다음부터"를 나타낸다.
+ * URL에는 "score_id" 형태 문자열로 실린다. (Double.toString은 parseDouble로 정확히 되돌아온다)
+ */
+public class SearchCursor {
+    private final double score;
+    private final long id;
+
+    public SearchCursor(double score, long id) {
+        this.score = score;
+        this.id = id;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    // (score, id) 순서상 이 위치보다 뒤에 오는 결과인지
+    public boolean isBefore(double otherScore, long otherId) {
+        return otherScore < score || (otherScore == score && otherId < id);
+    }
+
+    public String encode() {
+        return score + "_" + id;
+    }
+
+    // 잘못된 값이면 null (첫 페이지로 간주)
+    public static SearchCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        int sep = cursor.lastIndexOf('_');
+        if (sep < 0) return null;
+        try {
+            return new SearchCursor(Double.parseDouble(cursor.substring(0, sep)), Long.parseLong(cursor.substring(sep + 1)));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
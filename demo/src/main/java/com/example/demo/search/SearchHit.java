@@ -0,0 +1,11 @@
+package com.example.demo.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SearchHit {
+    private final long id;
+    private final double score;
+}
@@ -0,0 +1,19 @@
+package com.example.demo.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// 검색 결과 한 페이지. nextCursor가 null이면 마지막 페이지
+@Getter
+@AllArgsConstructor
+public class SearchPage {
+    private final List<SearchHit> hits;
+    private final String nextCursor;
+    private final int matchCount;
+
+    public static SearchPage empty() {
+        return new SearchPage(List.of(), null, 0);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.demo.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// 화면에 넘기는 검색 결과. items는 순위 순서
+@Getter
+@AllArgsConstructor
+public class SearchResults<T> {
+    private final List<T> items;
+    private final String nextCursor;
+    private final int matchCount;
+
+    // DB에서 IN 조회로 읽은 행들을 검색 순위대로 다시 정렬한다. (그 사이 삭제된 행은 빠진다)
+    public static <T> SearchResults<T> of(SearchPage page, List<T> rows, Function<T, ? extends Number> idOf) {
+        Map<Long, T> byId = new HashMap<>();
+        for (T row : rows) byId.put(idOf.apply(row).longValue(), row);
+        List<T> items = new ArrayList<>(page.getHits().size());
+        for (SearchHit hit : page.getHits()) {
+            T row = byId.get(hit.getId());
+            if (row != null) items.add(row);
+        }
+        return new SearchResults<>(items, page.getNextCursor(), page.getMatchCount());
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.demo.search;
+
+import java.util.Arrays;
+
+/**
+ * 색인어 하나의 문서 목록. 문서 ID(오름차순)와 해당 문서에서의 가중 빈도를 나란히 보관한다.
+ * PostingList와 같은 방식으로 박싱 없이 배열만 사용하며, 동기화는 TextIndex의 락에 맡긴다.
+ */
+public final class TermPostings {
+    private long[] ids = new long[4];
+    private int[] freqs = new int[4];
+    private int size;
+
+    public void put(long id, int freq) {
+        if (size == 0 || ids[size - 1] < id) {
+            ensureCapacity();
+            ids[size] = id;
+            freqs[size++] = freq;
+            return;
+        }
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos >= 0) {
+            freqs[pos] = freq;
+            return;
+        }
+        pos = -pos - 1;
+        ensureCapacity();
+        System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+        System.arraycopy(freqs, pos, freqs, pos + 1, size - pos);
+        ids[pos] = id;
+        freqs[pos] = freq;
+        size++;
+    }
+
+    public boolean remove(long id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos < 0) return false;
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+        System.arraycopy(freqs, pos + 1, freqs, pos, size - pos - 1);
+        size--;
+        return true;
+    }
+
+    // 문서에서의 빈도. 없으면 0
+    public int freq(long id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        return pos >= 0 ? freqs[pos] : 0;
+    }
+
+    public long idAt(int index) {
+        return ids[index];
+    }
+
+    public int freqAt(int index) {
+        return freqs[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void ensureCapacity() {
+        if (size == ids.length) {
+            int newLength = ids.length + (ids.length >> 1) + 1;
+            ids = Arrays.copyOf(ids, newLength);
+            freqs = Arrays.copyOf(freqs, newLength);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.demo.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 제목 + 본문 전문 검색용 메모리 역색인. (MariaDB FULLTEXT는 ngram 파서가 없어 한글 부분검색이 되지 않음)
+ * - 색인어: NgramTokenizer.terms (단어별 bigram)
+ * - 검색: 검색어의 모든 색인어를 포함하는 문서(AND)를 BM25 점수로 정렬
+ * - 페이징: (score, id) keyset cursor
+ * 문서 원문은 보관하지 않고, 색인어 목록과 길이만 가진다. (수정/삭제 시 기존 색인어를 지우기 위함)
+ */
+public class TextIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final int titleWeight;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, TermPostings> postings = new HashMap<>();
+    private final Map<Long, Doc> docs = new HashMap<>();
+    private long totalLength;
+
+    private record Doc(String[] terms, int length) {
+    }
+
+    // titleWeight: 제목에 나온 색인어를 본문 몇 번으로 칠지
+    public TextIndex(int titleWeight) {
+        this.titleWeight = titleWeight;
+    }
+
+    // 문서 추가/교체
+    public void put(long id, String title, String body) {
+        Map<String, Integer> freqs = new HashMap<>();
+        for (String term : NgramTokenizer.terms(title)) freqs.merge(term, titleWeight, Integer::sum);
+        for (String term : NgramTokenizer.terms(body)) freqs.merge(term, 1, Integer::sum);
+        int length = 0;
+        for (int f : freqs.values()) length += f;
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            String[] terms = new String[freqs.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> e : freqs.entrySet()) {
+                TermPostings list = postings.computeIfAbsent(e.getKey(), k -> new TermPostings());
+                list.put(id, e.getValue());
+                terms[i++] = e.getKey();
+            }
+            docs.put(id, new Doc(terms, length));
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 검색어의 모든 색인어를 포함하는 문서를 점수 내림차순(같으면 ID 내림차순)으로 after 다음부터 size개.
+     * 일치 문서 전체에 점수를 매기되, 결과는 size+1 크기 힙에만 유지한다.
+     */
+    public SearchPage search(String query, SearchCursor after, int size) {
+        Set<String> queryTerms = new LinkedHashSet<>(NgramTokenizer.terms(query));
+        if (queryTerms.isEmpty() || size <= 0) return SearchPage.empty();
+
+        lock.readLock().lock();
+        try {
+            List<TermPostings> lists = new ArrayList<>(queryTerms.size());
+            for (String term : queryTerms) {
+                TermPostings list = postings.get(term);
+                if (list == null) return SearchPage.empty();
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(TermPostings::size));
+
+            int docCount = docs.size();
+            double avgLength = (double) totalLength / docCount;
+            double[] idf = new double[lists.size()];
+            for (int j = 0; j < lists.size(); j++) {
+                int df = lists.get(j).size();
+                idf[j] = Math.log(1 + (docCount - df + 0.5) / (df + 0.5));
+            }
+
+            Comparator<SearchHit> rank = Comparator.comparingDouble(SearchHit::getScore)
+                    .thenComparingLong(SearchHit::getId);   // 오름차순 = 순위가 낮은 쪽이 앞
+            PriorityQueue<SearchHit> top = new PriorityQueue<>(size + 1, rank);
+            int matchCount = 0;
+
+            TermPostings smallest = lists.get(0);
+            for (int i = 0; i < smallest.size(); i++) {
+                long id = smallest.idAt(i);
+                int length = docs.get(id).length();
+                double norm = K1 * (1 - B + B * length / avgLength);
+
+                double score = bm25(smallest.freqAt(i), norm, idf[0]);
+                boolean inAll = true;
+                for (int j = 1; j < lists.size(); j++) {
+                    int f = lists.get(j).freq(id);
+                    if (f == 0) {
+                        inAll = false;
+                        break;
+                    }
+                    score += bm25(f, norm, idf[j]);
+                }
+                if (!inAll) continue;
+
+                matchCount++;
+                if (after != null && !after.isBefore(score, id)) continue;
+                top.offer(new SearchHit(id, score));
+                if (top.size() > size + 1) top.poll();
+            }
+
+            List<SearchHit> hits = new ArrayList<>(top);
+            hits.sort(rank.reversed());
+            String nextCursor = null;
+            if (hits.size() > size) {
+                hits = new ArrayList<>(hits.subList(0, size));
+                SearchHit last = hits.get(size - 1);
+                nextCursor = new SearchCursor(last.getScore(), last.getId()).encode();
+            }
+            return new SearchPage(hits, nextCursor, matchCount);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static double bm25(int freq, double norm, double idf) {
+        return idf * freq * (K1 + 1) / (freq + norm);
+    }
+
+    private void removeLocked(long id) {
+        Doc doc = docs.remove(id);
+        if (doc == null) return;
+        totalLength -= doc.length();
+        for (String term : doc.terms()) {
+            TermPostings list = postings.get(term);
+            if (list != null && list.remove(id) && list.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.demo.shard;
+
+import com.example.demo.food.Repository.FoodRepository;
+import com.example.demo.meal.Diet;
+import com.example.demo.meal.DietRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 관리자용 샤드 현황. 샤드별 행 수와 전체 샤드에서 가장 최근 저장된 식단(병렬 조회 후 병합).
+ */
+@Controller
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+public class ShardAdminController {
+
+    private static final int RECENT = 20;
+
+    private final ShardFanOut shardFanOut;
+    private final ShardRouter shardRouter;
+    private final FoodRepository foodRepository;
+    private final DietRepository dietRepository;
+
+    @GetMapping("/admin/shards")
+    @ResponseBody
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("count", shardRouter.getCount());
+        status.put("food", shardFanOut.query(foodRepository::count));
+        status.put("diet", shardFanOut.query(dietRepository::count));
+        List<Diet> recent = shardFanOut.top(dietRepository::findTop20ByOrderByCreatedAtDesc,
+                Comparator.comparing(Diet::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder())), RECENT);
+        status.put("recentDiets", recent.stream().map(d -> Map.of(
+                "memberNum", d.getMember().getNum(),
+                "dietDate", d.getDietDate(),
+                "totalKcal", d.getTotalKcal() != null ? d.getTotalKcal() : 0.0)).toList());
+        return status;
+    }
+}
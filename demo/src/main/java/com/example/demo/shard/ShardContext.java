@@ -0,0 +1,25 @@
+package com.example.demo.shard;
+
+/**
+ * 현재 스레드가 작업 중인 샤드 번호. 설정되어 있으면 ShardRoutingDataSource가 그 샤드 풀의 연결을 준다.
+ * 직접 쓰지 않고 ShardTemplate을 통해서만 설정/해제한다.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    static void set(Integer shard) {
+        if (shard == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(shard);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.demo.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 샤드별 Hikari 풀. 풀 이름은 ai-bracket2-shard{번호}이고 hikaricp.* 지표가 pool 태그로 따로 나온다.
+ * DataSource 빈으로 등록하지 않는다. (등록하면 Spring Boot 기본 DataSource/JPA 자동설정이 꺼진다)
+ */
+public class ShardDataSources implements AutoCloseable {
+
+    private final List<HikariDataSource> shards = new ArrayList<>();
+
+    public ShardDataSources(List<String> urls, String driverClassName, String username, String password,
+                            int poolSize, MeterRegistry meterRegistry) {
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource ds = new HikariDataSource();
+            ds.setPoolName("ai-bracket2-shard" + i);
+            ds.setDriverClassName(driverClassName);
+            ds.setJdbcUrl(urls.get(i).trim());
+            ds.setUsername(username);
+            ds.setPassword(password);
+            ds.setMaximumPoolSize(poolSize);
+            ds.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            shards.add(ds);
+        }
+    }
+
+    public DataSource get(int shard) {
+        if (shard < 0 || shard >= shards.size()) {
+            throw new IllegalArgumentException("설정되지 않은 샤드: " + shard + " (sharding.urls " + shards.size() + "개)");
+        }
+        return shards.get(shard);
+    }
+
+    public int size() {
+        return shards.size();
+    }
+
+    @Override
+    public void close() {
+        shards.forEach(HikariDataSource::close);
+    }
+}
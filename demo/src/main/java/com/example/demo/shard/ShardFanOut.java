@@ -0,0 +1,72 @@
+package com.example.demo.shard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * 전체 샤드 조회(관리자 통계 등). 같은 조회를 샤드마다 병렬로 읽기 전용 트랜잭션에서 실행하고 샤드 순서대로 결과를 돌려준다.
+ * 조회 안에서는 회원 번호 없이 FoodRepository/DietRepository를 호출할 수 있다.
+ */
+public class ShardFanOut implements AutoCloseable {
+
+    private final ShardRouter shardRouter;
+    private final ShardTemplate shardTemplate;
+    private final ExecutorService executor;
+    private final long timeoutMillis;
+
+    public ShardFanOut(ShardRouter shardRouter, ShardTemplate shardTemplate, long timeoutMillis) {
+        this.shardRouter = shardRouter;
+        this.shardTemplate = shardTemplate;
+        this.timeoutMillis = timeoutMillis;
+        this.executor = Executors.newFixedThreadPool(shardRouter.getCount(), r -> {
+            Thread t = new Thread(r, "shard-fan-out");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public <T> List<T> query(Supplier<T> query) {
+        List<Future<T>> futures = new ArrayList<>(shardRouter.getCount());
+        for (int shard = 0; shard < shardRouter.getCount(); shard++) {
+            int s = shard;
+            futures.add(executor.submit(() -> shardTemplate.execute(s, true, status -> query.get())));
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            }
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("샤드 조회 시간 초과 (" + timeoutMillis + "ms)", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } finally {
+            futures.forEach(f -> f.cancel(true));
+        }
+        return results;
+    }
+
+    public long sum(Supplier<Long> count) {
+        return query(count).stream().mapToLong(Long::longValue).sum();
+    }
+
+    // 샤드마다 정렬된 상위 limit개를 읽어 전체 상위 limit개로 합친다
+    public <T> List<T> top(Supplier<List<T>> query, Comparator<? super T> order, int limit) {
+        List<T> merged = new ArrayList<>();
+        query(query).forEach(merged::addAll);
+        merged.sort(order);
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.demo.shard;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 샤드를 정하는 회원 번호 파라미터 표시. (Long member_num 또는 Member)
+ * FoodRepository/DietRepository 조회 메서드에 붙이면 ShardRoutingAspect가 이 값으로 샤드를 고른다.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ShardKey {
+}
@@ -0,0 +1,129 @@
+package com.example.demo.shard;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.*;
+
+/**
+ * 샤드 데이터 이동 도구. (ShardRebalanceRunner로 실행)
+ * 샤드 수를 바꾸는 순서:
+ *   1. sharding.urls에 새 샤드를 추가하고 앱은 기존 sharding.count로 운영한다.
+ *   2. copy(기존 수, 새 수): 새 기준으로 다른 샤드에 속하는 회원의 행을 그 샤드로 복사한다. 원본은 그대로 둔다.
+ *   3. 쓰기를 잠시 멈추고 copy를 한 번 더 실행한다. (회원 단위로 대상 샤드를 지우고 다시 복사하므로 여러 번 실행해도 같다)
+ *   4. sharding.count를 새 수로 바꿔 재시작한다.
+ *   5. cleanup(새 수): 각 샤드에서 더 이상 그 샤드에 속하지 않는 회원의 행을 지운다.
+ * 단일 DB에서 처음 샤딩으로 옮길 때는 copy 대신 importFromGlobal을 쓴다.
+ * ID(AUTO_INCREMENT)는 샤드마다 따로 증가하므로 복사한 행은 새 ID를 받는다.
+ */
+public class ShardRebalancer {
+
+    // 회원 단위로 옮기는 테이블과 복사 시 뺄 ID 컬럼 (food_daily_summary는 회원/날짜/끼니가 키라서 그대로 복사)
+    private static final Map<String, String> ID_COLUMNS = Map.of("food", "id", "diet", "diet_id", "food_daily_summary", "");
+
+    private final DataSource global;
+    private final ShardDataSources shardDataSources;
+
+    public ShardRebalancer(DataSource global, ShardDataSources shardDataSources) {
+        this.global = global;
+        this.shardDataSources = shardDataSources;
+    }
+
+    // 회원 DB의 food/diet 행을 count개 샤드 기준으로 각 샤드에 복사. 옮긴 회원 수를 반환
+    public long importFromGlobal(int count) {
+        checkShards(count);
+        JdbcTemplate source = new JdbcTemplate(global);
+        long moved = 0;
+        for (Long memberNum : members(source)) {
+            copyMember(source, ShardRouter.shardOf(memberNum, count), memberNum);
+            moved = progress(moved, "import");
+        }
+        return moved;
+    }
+
+    // from개 샤드에 있는 회원 중 to개 기준으로 샤드가 달라지는 회원의 행을 새 샤드로 복사. 옮긴 회원 수를 반환
+    public long copy(int from, int to) {
+        checkShards(from);
+        checkShards(to);
+        long moved = 0;
+        for (int shard = 0; shard < from; shard++) {
+            JdbcTemplate source = new JdbcTemplate(shardDataSources.get(shard));
+            for (Long memberNum : members(source)) {
+                int target = ShardRouter.shardOf(memberNum, to);
+                if (target == shard) continue;
+                copyMember(source, target, memberNum);
+                moved = progress(moved, "copy");
+            }
+        }
+        return moved;
+    }
+
+    // count개 샤드 기준으로 각 샤드에 속하지 않는 회원의 행 삭제. 삭제한 회원 수를 반환
+    public long cleanup(int count) {
+        checkShards(count);
+        long removed = 0;
+        for (int shard = 0; shard < shardDataSources.size(); shard++) {
+            JdbcTemplate jdbc = new JdbcTemplate(shardDataSources.get(shard));
+            for (Long memberNum : members(jdbc)) {
+                if (ShardRouter.shardOf(memberNum, count) == shard) continue;
+                inTransaction(shardDataSources.get(shard), () -> deleteMember(jdbc, memberNum));
+                removed = progress(removed, "cleanup");
+            }
+        }
+        return removed;
+    }
+
+    private void copyMember(JdbcTemplate source, int targetShard, Long memberNum) {
+        DataSource target = shardDataSources.get(targetShard);
+        JdbcTemplate targetJdbc = new JdbcTemplate(target);
+        Map<String, List<Map<String, Object>>> rows = new LinkedHashMap<>();
+        for (String table : ID_COLUMNS.keySet()) {
+            rows.put(table, source.queryForList("SELECT * FROM " + table + " WHERE member_num = ?", memberNum));
+        }
+        inTransaction(target, () -> {
+            deleteMember(targetJdbc, memberNum);
+            rows.forEach((table, list) -> insert(targetJdbc, table, list));
+        });
+    }
+
+    private static void insert(JdbcTemplate jdbc, String table, List<Map<String, Object>> rows) {
+        if (rows.isEmpty()) return;
+        List<String> columns = new ArrayList<>(rows.get(0).keySet());
+        columns.removeIf(c -> c.equalsIgnoreCase(ID_COLUMNS.get(table)));
+        String sql = "INSERT INTO " + table + " (`" + String.join("`, `", columns) + "`) VALUES ("
+                + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            args.add(columns.stream().map(row::get).toArray());
+        }
+        jdbc.batchUpdate(sql, args);
+    }
+
+    private static void deleteMember(JdbcTemplate jdbc, Long memberNum) {
+        for (String table : ID_COLUMNS.keySet()) {
+            jdbc.update("DELETE FROM " + table + " WHERE member_num = ?", memberNum);
+        }
+    }
+
+    private static List<Long> members(JdbcTemplate jdbc) {
+        return jdbc.queryForList("SELECT member_num FROM food UNION SELECT member_num FROM diet UNION SELECT member_num FROM food_daily_summary", Long.class);
+    }
+
+    private static void inTransaction(DataSource dataSource, Runnable work) {
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource)).executeWithoutResult(status -> work.run());
+    }
+
+    private void checkShards(int count) {
+        if (count < 1 || count > shardDataSources.size()) {
+            throw new IllegalArgumentException("샤드 수 " + count + "개에 필요한 sharding.urls가 없습니다. (현재 " + shardDataSources.size() + "개)");
+        }
+    }
+
+    private static long progress(long done, String step) {
+        done++;
+        if (done % 1000 == 0) System.out.println("샤드 " + step + ": 회원 " + done + "명 처리");
+        return done;
+    }
+}
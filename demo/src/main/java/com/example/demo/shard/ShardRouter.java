@@ -0,0 +1,49 @@
+package com.example.demo.shard;
+
+/**
+ * member_num → 샤드 번호. Jump Consistent Hash(Lamping & Veach)를 쓰므로 샤드를 N개에서 N+1개로 늘리면
+ * 약 1/(N+1)의 회원만, 그것도 새 샤드로만 옮겨진다. (ShardRebalancer)
+ */
+public class ShardRouter {
+
+    private final int count;
+
+    public ShardRouter(int count) {
+        if (count < 1) throw new IllegalArgumentException("샤드 수는 1 이상이어야 합니다: " + count);
+        this.count = count;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int shardOf(long memberNum) {
+        return shardOf(memberNum, count);
+    }
+
+    // 샤드 수가 count개일 때의 샤드 (ShardRebalancer에서 이전/새 샤드 수로 계산할 때 사용)
+    public static int shardOf(long memberNum, int count) {
+        return jumpHash(mix(memberNum), count);
+    }
+
+    // 회원 번호는 연속된 값이므로 먼저 비트를 섞는다 (MurmurHash3 fmix64)
+    static long mix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    public static int jumpHash(long key, int buckets) {
+        long b = -1;
+        long j = 0;
+        while (j < buckets) {
+            b = j;
+            key = key * 2862933555777941757L + 1;
+            j = (long) ((b + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) b;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.demo.shard;
+
+import com.example.demo.member.Member;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+
+/**
+ * FoodRepository/DietRepository 호출을 회원 번호로 고른 샤드에서 실행한다.
+ * 회원 번호는 @ShardKey 파라미터(Long 또는 Member)나 저장/삭제하는 엔티티(ShardedByMember)에서 꺼낸다.
+ * 회원 번호가 없는 호출(findAll, count 등)은 ShardFanOut 안에서만 허용한다.
+ */
+@Aspect
+public class ShardRoutingAspect {
+
+    private final ShardRouter shardRouter;
+    private final ShardTemplate shardTemplate;
+
+    public ShardRoutingAspect(ShardRouter shardRouter, ShardTemplate shardTemplate) {
+        this.shardRouter = shardRouter;
+        this.shardTemplate = shardTemplate;
+    }
+
+    @Around("execution(public * *(..)) && (this(com.example.demo.food.Repository.FoodRepository) || this(com.example.demo.meal.DietRepository))")
+    public Object route(ProceedingJoinPoint pjp) throws Throwable {
+        Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        if (method.getDeclaringClass() == Object.class) {
+            return pjp.proceed();
+        }
+
+        Long memberNum = shardKey(method, pjp.getArgs());
+        Integer current = ShardContext.current();
+        if (memberNum == null) {
+            if (current != null) return pjp.proceed();
+            throw new IllegalStateException("샤드 키(회원 번호) 없이 호출할 수 없습니다: " + method.getName()
+                    + " (전체 샤드 조회는 ShardFanOut 사용)");
+        }
+
+        int shard = shardRouter.shardOf(memberNum);
+        if (current != null) {
+            if (current == shard) return pjp.proceed();
+            throw new IllegalStateException("샤드 " + current + " 작업 중에 다른 샤드(" + shard + ")의 회원을 조회할 수 없습니다.");
+        }
+        try {
+            return shardTemplate.execute(shard, false, status -> {
+                try {
+                    return pjp.proceed();
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable t) {
+                    throw new UndeclaredThrowableException(t);
+                }
+            });
+        } catch (UndeclaredThrowableException e) {
+            throw e.getUndeclaredThrowable();
+        }
+    }
+
+    private static Long shardKey(Method method, Object[] args) {
+        Annotation[][] annotations = method.getParameterAnnotations();
+        for (int i = 0; i < args.length; i++) {
+            for (Annotation annotation : annotations[i]) {
+                if (annotation instanceof ShardKey) return memberNumOf(args[i]);
+            }
+        }
+        Long found = null;
+        for (Object arg : args) {
+            if (arg instanceof ShardedByMember entity) {
+                found = sameMember(found, memberNumOf(entity.getMember()));
+            } else if (arg instanceof Iterable<?> entities) {   // saveAll, deleteAll
+                for (Object e : entities) {
+                    if (e instanceof ShardedByMember entity) found = sameMember(found, memberNumOf(entity.getMember()));
+                }
+            }
+        }
+        return found;
+    }
+
+    private static Long memberNumOf(Object value) {
+        Long num = value instanceof Member member ? member.getNum() : (Long) value;
+        if (num == null) throw new IllegalArgumentException("샤드 키(회원 번호)가 비어 있습니다.");
+        return num;
+    }
+
+    private static Long sameMember(Long found, Long num) {
+        if (found != null && !found.equals(num)) {
+            throw new IllegalArgumentException("여러 회원의 엔티티를 한 번에 저장/삭제할 수 없습니다. (샤드가 다를 수 있음)");
+        }
+        return num;
+    }
+}
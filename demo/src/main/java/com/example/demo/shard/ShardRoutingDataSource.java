@@ -0,0 +1,36 @@
+package com.example.demo.shard;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * 기본 DataSource("dataSource" 빈)를 감싸서, ShardContext가 설정되어 있으면 그 샤드 풀의 연결을 준다.
+ * 그 외(회원, 공지, 문의 등 샤딩하지 않는 테이블)는 원래 DataSource로 간다.
+ * 샤드 풀은 첫 샤드 작업 때 꺼낸다. (JPA 초기화 시점에 MeterRegistry 등을 먼저 만들지 않도록)
+ */
+public class ShardRoutingDataSource extends DelegatingDataSource {
+
+    private final ObjectProvider<ShardDataSources> shardDataSources;
+
+    public ShardRoutingDataSource(DataSource global, ObjectProvider<ShardDataSources> shardDataSources) {
+        super(global);
+        this.shardDataSources = shardDataSources;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Integer shard = ShardContext.current();
+        return shard == null ? super.getConnection() : shardDataSources.getObject().get(shard).getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Integer shard = ShardContext.current();
+        return shard == null ? super.getConnection(username, password)
+                : shardDataSources.getObject().get(shard).getConnection(username, password);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.demo.shard;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 시작 시 각 샤드에 food/diet와 그 정리 작업용 테이블(food_daily_summary, job_checkpoint)이 없으면 만든다.
+ * 회원 DB에서 Hibernate(ddl-auto)가 만든 테이블 정의(SHOW CREATE TABLE)를 그대로 쓰되, 샤드에는 member 테이블이 없으므로 외래키만 뺀다.
+ * 이미 있는 샤드 테이블의 컬럼 변경은 하지 않는다.
+ */
+public class ShardSchemaInitializer implements SmartInitializingSingleton {
+
+    static final List<String> TABLES = List.of("food", "diet", "food_daily_summary", "job_checkpoint");
+
+    private static final Pattern AUTO_INCREMENT = Pattern.compile(" AUTO_INCREMENT=\\d+");
+    private static final Pattern TRAILING_COMMA = Pattern.compile(",\\s*\\n\\)");
+
+    private final DataSource global;
+    private final ShardDataSources shardDataSources;
+
+    public ShardSchemaInitializer(DataSource global, ShardDataSources shardDataSources) {
+        this.global = global;
+        this.shardDataSources = shardDataSources;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        JdbcTemplate globalJdbc = new JdbcTemplate(global);
+        for (String table : TABLES) {
+            String ddl = shardDdl(globalJdbc.queryForObject("SHOW CREATE TABLE " + table, (rs, i) -> rs.getString(2)));
+            for (int shard = 0; shard < shardDataSources.size(); shard++) {
+                new JdbcTemplate(shardDataSources.get(shard)).execute(ddl);
+            }
+        }
+        System.out.println("샤드 테이블 확인 완료 " + TABLES + " x " + shardDataSources.size());
+    }
+
+    static String shardDdl(String createTable) {
+        StringBuilder ddl = new StringBuilder();
+        for (String line : createTable.split("\n")) {
+            if (line.contains("FOREIGN KEY")) continue;
+            ddl.append(line).append('\n');
+        }
+        String result = TRAILING_COMMA.matcher(ddl.toString().trim()).replaceFirst("\n)");
+        result = AUTO_INCREMENT.matcher(result).replaceFirst("");
+        return result.replaceFirst("^CREATE TABLE ", "CREATE TABLE IF NOT EXISTS ");
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.demo.shard;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 한 샤드 안에서 새 트랜잭션(새 EntityManager)으로 작업을 실행한다.
+ * 바깥 트랜잭션은 잠시 멈추고(REQUIRES_NEW), open-in-view로 묶인 EntityManager도 잠시 떼어 놓는다.
+ * 그래야 이미 회원 DB 연결을 잡고 있는 EntityManager가 샤드 쿼리를 회원 DB에 보내는 일이 없고,
+ * 샤드마다 따로 증가하는 ID가 한 영속성 컨텍스트 안에서 겹치지 않는다.
+ * 반환된 엔티티는 준영속 상태이다. (Member 연관은 지연로딩하지 않는다)
+ */
+public class ShardTemplate {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate readWrite;
+    private final TransactionTemplate readOnly;
+
+    public ShardTemplate(EntityManagerFactory entityManagerFactory, PlatformTransactionManager transactionManager) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.readWrite = new TransactionTemplate(transactionManager);
+        this.readWrite.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnly.setReadOnly(true);
+    }
+
+    public <T> T execute(int shard, boolean readOnlyTransaction, TransactionCallback<T> action) {
+        Integer outerShard = ShardContext.current();
+        EntityManagerHolder openInView = TransactionSynchronizationManager.isActualTransactionActive() ? null
+                : (EntityManagerHolder) TransactionSynchronizationManager.unbindResourceIfPossible(entityManagerFactory);
+        ShardContext.set(shard);
+        try {
+            return (readOnlyTransaction ? readOnly : readWrite).execute(action);
+        } finally {
+            ShardContext.set(outerShard);
+            if (openInView != null) {
+                TransactionSynchronizationManager.bindResource(entityManagerFactory, openInView);
+            }
+        }
+    }
+}
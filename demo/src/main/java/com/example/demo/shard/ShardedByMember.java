@@ -0,0 +1,10 @@
+package com.example.demo.shard;
+
+import com.example.demo.member.Member;
+
+/**
+ * 회원 번호로 샤드에 나뉘어 저장되는 엔티티 (Food, Diet). save/delete 시 이 회원으로 샤드를 고른다.
+ */
+public interface ShardedByMember {
+    Member getMember();
+}
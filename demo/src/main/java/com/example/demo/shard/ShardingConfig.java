@@ -0,0 +1,113 @@
+package com.example.demo.shard;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * sharding 프로필(sharding.enabled=true)에서 food/diet를 회원 번호 해시로 sharding.urls의 스키마들에 나눠 저장한다.
+ * 회원, 공지, 문의 등 나머지 테이블은 기존 DataSource(spring.datasource.*, replica 프로필이면 읽기/쓰기 라우팅)를 그대로 쓴다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    // 기본 "dataSource" 빈(자동설정 또는 ReplicaRoutingConfig)을 샤드 라우팅으로 감싼다
+    @Bean
+    static BeanPostProcessor shardRoutingDataSourcePostProcessor(ObjectProvider<ShardDataSources> shardDataSources) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+                    return new ShardRoutingDataSource(dataSource, shardDataSources);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean(destroyMethod = "close")
+    ShardDataSources shardDataSources(@Value("${sharding.urls}") List<String> urls,
+                                      DataSourceProperties properties,
+                                      @Value("${sharding.username:${spring.datasource.username}}") String username,
+                                      @Value("${sharding.password:${spring.datasource.password}}") String password,
+                                      @Value("${sharding.pool-size:10}") int poolSize,
+                                      MeterRegistry meterRegistry) {
+        return new ShardDataSources(urls, properties.determineDriverClassName(), username, password, poolSize, meterRegistry);
+    }
+
+    // sharding.count가 0이면 sharding.urls 전체를 사용. 샤드를 늘리는 중에는 urls만 먼저 늘리고 count는 기존 값으로 둔다 (ShardRebalancer)
+    @Bean
+    ShardRouter shardRouter(@Value("${sharding.count:0}") int count, ShardDataSources shardDataSources) {
+        int active = count > 0 ? count : shardDataSources.size();
+        if (active > shardDataSources.size()) {
+            throw new IllegalStateException("sharding.count(" + count + ")가 sharding.urls 수(" + shardDataSources.size() + ")보다 큽니다.");
+        }
+        return new ShardRouter(active);
+    }
+
+    @Bean
+    ShardTemplate shardTemplate(EntityManagerFactory entityManagerFactory, PlatformTransactionManager transactionManager) {
+        return new ShardTemplate(entityManagerFactory, transactionManager);
+    }
+
+    @Bean
+    ShardRoutingAspect shardRoutingAspect(ShardRouter shardRouter, ShardTemplate shardTemplate) {
+        return new ShardRoutingAspect(shardRouter, shardTemplate);
+    }
+
+    @Bean(destroyMethod = "close")
+    ShardFanOut shardFanOut(ShardRouter shardRouter, ShardTemplate shardTemplate,
+                            @Value("${sharding.fan-out-timeout-ms:10000}") long timeoutMillis) {
+        return new ShardFanOut(shardRouter, shardTemplate, timeoutMillis);
+    }
+
+    @Bean
+    ShardSchemaInitializer shardSchemaInitializer(DataSource dataSource, ShardDataSources shardDataSources) {
+        return new ShardSchemaInitializer(dataSource, shardDataSources);
+    }
+
+    @Bean
+    ShardRebalancer shardRebalancer(DataSource dataSource, ShardDataSources shardDataSources) {
+        return new ShardRebalancer(dataSource, shardDataSources);
+    }
+
+    /**
+     * 데이터 이동 실행 후 종료. 예)
+     *   --sharding.rebalance.mode=copy --sharding.rebalance.from-count=2 --sharding.rebalance.to-count=3
+     *   --sharding.rebalance.mode=cleanup --sharding.rebalance.to-count=3
+     *   --sharding.rebalance.mode=import --sharding.rebalance.to-count=2
+     */
+    @Bean
+    @ConditionalOnProperty(name = "sharding.rebalance.mode")
+    ApplicationRunner shardRebalanceRunner(ShardRebalancer rebalancer, ShardDataSources shardDataSources, ApplicationContext context,
+                                           @Value("${sharding.rebalance.mode}") String mode,
+                                           @Value("${sharding.rebalance.from-count:0}") int fromCount,
+                                           @Value("${sharding.rebalance.to-count:0}") int toCount) {
+        return args -> {
+            int to = toCount > 0 ? toCount : shardDataSources.size();
+            long started = System.currentTimeMillis();
+            long members = switch (mode) {
+                case "import" -> rebalancer.importFromGlobal(to);
+                case "copy" -> rebalancer.copy(fromCount, to);
+                case "cleanup" -> rebalancer.cleanup(to);
+                default -> throw new IllegalArgumentException("sharding.rebalance.mode는 import, copy, cleanup 중 하나: " + mode);
+            };
+            System.out.println("샤드 " + mode + " 완료: 회원 " + members + "명, " + (System.currentTimeMillis() - started) + "ms");
+            System.exit(SpringApplication.exit(context, () -> 0));
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.demo.vector;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 전체 벡터와 거리를 계산하는 정확한 검색. 벡터가 적을 때 기본으로 쓰고, HnswIndex 재현율 측정의 기준이 된다.
+ */
+public class BruteForceIndex implements VectorIndex {
+
+    private final VectorStore store;
+
+    public BruteForceIndex(VectorStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public List<Neighbor> search(float[] query, int k) {
+        if (k <= 0) return List.of();
+        PriorityQueue<Neighbor> top = new PriorityQueue<>(k + 1, Comparator.comparingDouble(Neighbor::distance).reversed());
+        for (int i = 0; i < store.size(); i++) {
+            float d = store.distance(i, query);
+            if (top.size() < k) {
+                top.offer(new Neighbor(i, d));
+            } else if (d < top.peek().distance()) {
+                top.poll();
+                top.offer(new Neighbor(i, d));
+            }
+        }
+        List<Neighbor> result = new ArrayList<>(top);
+        result.sort(Comparator.comparingDouble(Neighbor::distance));
+        return result;
+    }
+}
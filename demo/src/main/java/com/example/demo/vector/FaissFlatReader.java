@@ -0,0 +1,49 @@
+package com.example.demo.vector;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * FAISS IndexFlatL2/IndexFlatIP 파일(faiss.write_index 결과)에서 벡터만 읽는다.
+ * 형식 (little-endian): "IxF2"|"IxFI" / d(int32) / ntotal(int64) / dummy(int64) x2 / is_trained(byte) / metric(int32)
+ *                       / [metric_arg(float32), metric > 1일 때만] / 벡터 수*d(int64) / float32 * ntotal*d
+ */
+public final class FaissFlatReader {
+
+    private FaissFlatReader() {
+    }
+
+    public static VectorStore read(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        byte[] magic = new byte[4];
+        buffer.get(magic);
+        String fourcc = new String(magic, StandardCharsets.US_ASCII);
+        if (!fourcc.equals("IxF2") && !fourcc.equals("IxFI")) {
+            throw new IOException("지원하지 않는 FAISS 인덱스 형식입니다: " + fourcc);
+        }
+        int dim = buffer.getInt();
+        long total = buffer.getLong();
+        buffer.getLong();   // dummy
+        buffer.getLong();   // dummy
+        buffer.get();       // is_trained
+        int metric = buffer.getInt();
+        if (metric > 1) buffer.getFloat();   // metric_arg
+        long floatCount = buffer.getLong();
+        if (floatCount != total * dim) {
+            throw new IOException("벡터 크기가 맞지 않습니다: " + floatCount + " != " + total + " * " + dim);
+        }
+
+        VectorStore store = new VectorStore(dim, (int) total);
+        float[] vector = new float[dim];
+        for (long i = 0; i < total; i++) {
+            buffer.asFloatBuffer().get(vector);
+            buffer.position(buffer.position() + dim * Float.BYTES);
+            store.add(vector);
+        }
+        return store;
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.demo.vector;
+
+import java.util.*;
+
+/**
+ * HNSW(Hierarchical Navigable Small World) 근사 최근접 이웃 인덱스.
+ * 벡터는 VectorStore(float[] 하나)를 그대로 참조하고, 인덱스는 층별 이웃 번호(int[])만 가진다.
+ * - m: 노드당 이웃 수 (0층은 2m)
+ * - efConstruction: 구축 시 후보 수, efSearch: 검색 시 후보 수 (클수록 재현율↑ 속도↓)
+ * 구축은 한 스레드에서 끝낸 뒤 검색은 여러 스레드에서 동시에 해도 된다.
+ */
+public class HnswIndex implements VectorIndex {
+
+    private final VectorStore store;
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final int efSearch;
+    private final double levelMultiplier;
+    private final Random random;
+
+    // links[node][level] = { 이웃 수, 이웃1, 이웃2, ... }
+    private int[][][] links;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+    private int size;
+
+    public HnswIndex(VectorStore store, int m, int efConstruction, int efSearch, long seed) {
+        this.store = store;
+        this.m = m;
+        this.maxM0 = m * 2;
+        this.efConstruction = Math.max(efConstruction, m);
+        this.efSearch = efSearch;
+        this.levelMultiplier = 1 / Math.log(m);
+        this.random = new Random(seed);
+        this.links = new int[Math.max(16, store.size())][][];
+    }
+
+    // store에 있는 벡터를 모두 인덱스에 넣는다
+    public static HnswIndex build(VectorStore store, int m, int efConstruction, int efSearch) {
+        HnswIndex index = new HnswIndex(store, m, efConstruction, efSearch, 42);
+        for (int i = 0; i < store.size(); i++) {
+            index.insert(i);
+        }
+        return index;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // store의 node번째 벡터를 추가한다. 0부터 순서대로 호출해야 한다.
+    public void insert(int node) {
+        if (node >= links.length) {
+            links = Arrays.copyOf(links, Math.max(links.length * 2, node + 1));
+        }
+        int level = (int) (-Math.log(1 - random.nextDouble()) * levelMultiplier);
+        links[node] = new int[level + 1][];
+        for (int l = 0; l <= level; l++) {
+            links[node][l] = new int[(l == 0 ? maxM0 : m) + 1];
+        }
+        size++;
+
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return;
+        }
+
+        float[] vector = store.get(node);
+        int current = entryPoint;
+        for (int l = maxLevel; l > level; l--) {
+            current = greedyClosest(vector, current, l);
+        }
+        List<Neighbor> entries = List.of(new Neighbor(current, store.distance(current, vector)));
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            List<Neighbor> candidates = searchLayer(vector, entries, efConstruction, l);
+            int maxLinks = l == 0 ? maxM0 : m;
+            for (Neighbor neighbor : selectNeighbors(candidates, m)) {
+                addLink(node, neighbor.id(), l, maxLinks);
+                addLink(neighbor.id(), node, l, maxLinks);
+            }
+            entries = candidates;
+        }
+
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = node;
+        }
+    }
+
+    @Override
+    public List<Neighbor> search(float[] query, int k) {
+        if (entryPoint < 0 || k <= 0) return List.of();
+        int current = entryPoint;
+        for (int l = maxLevel; l > 0; l--) {
+            current = greedyClosest(query, current, l);
+        }
+        List<Neighbor> found = searchLayer(query, List.of(new Neighbor(current, store.distance(current, query))),
+                Math.max(efSearch, k), 0);
+        return found.size() > k ? new ArrayList<>(found.subList(0, k)) : found;
+    }
+
+    // 한 층에서 더 가까운 이웃이 없을 때까지 이동
+    private int greedyClosest(float[] query, int start, int level) {
+        int current = start;
+        float currentDistance = store.distance(current, query);
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            int[] neighbors = links[current][level];
+            for (int i = 1; i <= neighbors[0]; i++) {
+                float d = store.distance(neighbors[i], query);
+                if (d < currentDistance) {
+                    currentDistance = d;
+                    current = neighbors[i];
+                    changed = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    // 한 층에서 ef개 후보를 유지하며 탐색. 결과는 가까운 순
+    private List<Neighbor> searchLayer(float[] query, List<Neighbor> entries, int ef, int level) {
+        BitSet visited = new BitSet(size);
+        PriorityQueue<Neighbor> candidates = new PriorityQueue<>(Comparator.comparingDouble(Neighbor::distance));
+        PriorityQueue<Neighbor> results = new PriorityQueue<>(Comparator.comparingDouble(Neighbor::distance).reversed());
+        for (Neighbor entry : entries) {
+            visited.set(entry.id());
+            candidates.offer(entry);
+            results.offer(entry);
+        }
+        while (results.size() > ef) results.poll();
+
+        while (!candidates.isEmpty()) {
+            Neighbor closest = candidates.poll();
+            if (results.size() >= ef && closest.distance() > results.peek().distance()) break;
+
+            int[] neighbors = links[closest.id()][level];
+            for (int i = 1; i <= neighbors[0]; i++) {
+                int next = neighbors[i];
+                if (visited.get(next)) continue;
+                visited.set(next);
+                float d = store.distance(next, query);
+                if (results.size() < ef || d < results.peek().distance()) {
+                    Neighbor neighbor = new Neighbor(next, d);
+                    candidates.offer(neighbor);
+                    results.offer(neighbor);
+                    if (results.size() > ef) results.poll();
+                }
+            }
+        }
+        List<Neighbor> sorted = new ArrayList<>(results);
+        sorted.sort(Comparator.comparingDouble(Neighbor::distance));
+        return sorted;
+    }
+
+    // 휴리스틱 선택: 이미 고른 이웃보다 후보에 더 가까운 경우에만 추가해서 여러 방향으로 연결되게 한다
+    private List<Neighbor> selectNeighbors(List<Neighbor> candidates, int count) {
+        List<Neighbor> selected = new ArrayList<>(count);
+        for (Neighbor candidate : candidates) {
+            if (selected.size() >= count) break;
+            boolean diverse = true;
+            for (Neighbor s : selected) {
+                if (store.distance(candidate.id(), s.id()) < candidate.distance()) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) selected.add(candidate);
+        }
+        // 너무 적게 뽑히면 가까운 순으로 채운다
+        for (Neighbor candidate : candidates) {
+            if (selected.size() >= count) break;
+            if (!selected.contains(candidate)) selected.add(candidate);
+        }
+        return selected;
+    }
+
+    // 이웃 목록이 가득 차면 가장 먼 이웃과 비교해서 교체
+    private void addLink(int from, int to, int level, int maxLinks) {
+        int[] neighbors = links[from][level];
+        int count = neighbors[0];
+        for (int i = 1; i <= count; i++) {
+            if (neighbors[i] == to) return;
+        }
+        if (count < maxLinks) {
+            neighbors[count + 1] = to;
+            neighbors[0] = count + 1;
+            return;
+        }
+        int farthest = -1;
+        float farthestDistance = store.distance(from, to);
+        for (int i = 1; i <= count; i++) {
+            float d = store.distance(from, neighbors[i]);
+            if (d > farthestDistance) {
+                farthestDistance = d;
+                farthest = i;
+            }
+        }
+        if (farthest > 0) {
+            neighbors[farthest] = to;
+        }
+    }
+}
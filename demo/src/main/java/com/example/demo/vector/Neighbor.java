@@ -0,0 +1,5 @@
+package com.example.demo.vector;
+
+// 검색 결과 한 건: 벡터 번호와 제곱 L2 거리
+public record Neighbor(int id, float distance) {
+}
@@ -0,0 +1,8 @@
+package com.example.demo.vector;
+
+import java.util.List;
+
+public interface VectorIndex {
+    // query와 가까운 순으로 최대 k개
+    List<Neighbor> search(float[] query, int k);
+}
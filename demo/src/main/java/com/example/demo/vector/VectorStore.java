@@ -0,0 +1,63 @@
+package com.example.demo.vector;
+
+import java.util.Arrays;
+
+/**
+ * 같은 차원의 float 벡터 묶음. 벡터마다 객체를 만들지 않고 float[] 하나에 이어 붙여 보관한다. (i번째 벡터 = data[i*dim .. (i+1)*dim))
+ * 읽기 전용으로 쓰기 전에 모두 추가해 두는 것을 전제로 하며, 추가는 동기화하지 않는다.
+ */
+public final class VectorStore {
+    private final int dim;
+    private float[] data;
+    private int size;
+
+    public VectorStore(int dim, int initialCapacity) {
+        this.dim = dim;
+        this.data = new float[Math.max(1, initialCapacity) * dim];
+    }
+
+    public int add(float[] vector) {
+        if (vector.length != dim) {
+            throw new IllegalArgumentException("차원이 다릅니다: " + vector.length + " != " + dim);
+        }
+        if ((size + 1) * dim > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, (size + 1) * dim));
+        }
+        System.arraycopy(vector, 0, data, size * dim, dim);
+        return size++;
+    }
+
+    public int dim() {
+        return dim;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public float[] get(int index) {
+        return Arrays.copyOfRange(data, index * dim, (index + 1) * dim);
+    }
+
+    // 제곱 L2 거리 (FAISS IndexFlatL2와 같은 값)
+    public float distance(int index, float[] query) {
+        int offset = index * dim;
+        float sum = 0;
+        for (int i = 0; i < dim; i++) {
+            float d = data[offset + i] - query[i];
+            sum += d * d;
+        }
+        return sum;
+    }
+
+    public float distance(int a, int b) {
+        int offsetA = a * dim;
+        int offsetB = b * dim;
+        float sum = 0;
+        for (int i = 0; i < dim; i++) {
+            float d = data[offsetA + i] - data[offsetB + i];
+            sum += d * d;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.demo;
+
+import com.example.demo.inquiry.Inquiry;
+import com.example.demo.inquiry.InquiryRepository;
+import com.example.demo.inquiry.InquiryService;
+import com.example.demo.mail.MailOutbox;
+import com.example.demo.mail.MailOutboxRepository;
+import com.example.demo.member.Member;
+import com.example.demo.member.MemberCreateForm;
+import com.example.demo.member.MemberRepository;
+import com.example.demo.member.MemberService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 문의 선점/답변 compare-and-set: 동시에 선점하거나 답변해도 한 명만 통과하고, 답변된 문의는 다시 선점/답변되지 않는다. (메일도 한 번)
+ */
+@SpringBootTest
+class InquiryClaimTest {
+
+    @Autowired
+    private InquiryService inquiryService;
+
+    @Autowired
+    private InquiryRepository inquiryRepository;
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    private Member member;
+    private Inquiry inquiry;
+
+    @BeforeEach
+    void setUp() {
+        MemberCreateForm form = new MemberCreateForm();
+        form.setMemberId("q" + UUID.randomUUID().toString().substring(0, 8));
+        form.setMemberName("문의회원");
+        form.setPassword1("password1!");
+        form.setPassword2("password1!");
+        form.setSex("남");
+        form.setBirthday(LocalDate.of(1990, 1, 1));
+        form.setHeight(170);
+        form.setWeight(65);
+        form.setEmail(form.getMemberId() + "@example.com");
+        member = memberService.create(form);
+
+        inquiry = new Inquiry();
+        inquiry.setMember(member);
+        inquiry.setSubject("선점 테스트");
+        inquiry.setMessage("내용");
+        inquiry.setRegDate(LocalDateTime.now());
+        inquiry.setAnswered(false);
+        inquiry = inquiryRepository.save(inquiry);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        mailOutboxRepository.deleteAll(mails());
+        inquiryRepository.deleteById(inquiry.getId());
+        memberRepository.deleteById(member.getNum());
+    }
+
+    private List<MailOutbox> mails() {
+        return mailOutboxRepository.findAll().stream()
+                .filter(mail -> mail.getRecipient().equals(member.getEmail()))
+                .toList();
+    }
+
+    // 여러 관리자가 같은 순간에 task를 실행하고 성공한 수를 센다
+    private int race(int admins, Callable<Boolean> task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(admins);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < admins; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            int won = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) won++;
+            }
+            return won;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void onlyOneAdminWinsConcurrentClaim() throws Exception {
+        int[] next = {0};
+        int won = race(8, () -> {
+            String admin;
+            synchronized (next) {
+                admin = "admin" + next[0]++;
+            }
+            return inquiryService.claim(inquiry.getId(), admin);
+        });
+
+        assertEquals(1, won);
+        String owner = inquiryRepository.findById(inquiry.getId()).orElseThrow().getClaimedBy();
+        assertTrue(inquiryService.claim(inquiry.getId(), owner), "선점한 관리자는 연장할 수 있다");
+    }
+
+    @Test
+    void concurrentRepliesSendOneMail() throws Exception {
+        int[] next = {0};
+        int won = race(4, () -> {
+            String admin;
+            synchronized (next) {
+                admin = "admin" + next[0]++;
+            }
+            try {
+                inquiryService.replyInquiry(inquiry.getId(), "답변 " + admin, admin);
+                return true;
+            } catch (IllegalStateException e) {
+                return false;
+            }
+        });
+
+        assertEquals(1, won);
+        assertEquals(1, mails().size());
+        Inquiry answered = inquiryRepository.findById(inquiry.getId()).orElseThrow();
+        assertTrue(answered.isAnswered());
+        assertNull(answered.getClaimedBy());
+    }
+
+    @Test
+    void answeredInquiryCannotBeClaimedOrAnsweredAgain() {
+        inquiryService.replyInquiry(inquiry.getId(), "첫 답변", "admin0");
+
+        assertFalse(inquiryService.claim(inquiry.getId(), "admin0"));
+        assertFalse(inquiryService.claim(inquiry.getId(), "admin1"));
+        assertThrows(IllegalStateException.class, () -> inquiryService.replyInquiry(inquiry.getId(), "둘째 답변", "admin0"));
+
+        assertEquals("첫 답변", inquiryRepository.findById(inquiry.getId()).orElseThrow().getReplyMessage());
+        assertEquals(1, mails().size());
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.demo;
+
+import com.example.demo.inquiry.Inquiry;
+import com.example.demo.inquiry.InquiryListItem;
+import com.example.demo.inquiry.InquiryRepository;
+import com.example.demo.member.Member;
+import com.example.demo.notice.Notice;
+import com.example.demo.notice.NoticeListItem;
+import com.example.demo.notice.NoticeRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 문의/공지 목록이 행 수와 관계없이 페이지당 고정된 수의 SQL만 실행하는지 확인한다. (목록 1회 + count 1회)
+ * 테스트 데이터는 트랜잭션 롤백으로 지워진다.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class ListingQueryCountTest {
+
+    private static final int ROWS = 25;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private InquiryRepository inquiryRepository;
+
+    @Autowired
+    private NoticeRepository noticeRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // 행마다 작성자를 다르게 해야 지연로딩이 일어날 경우 SQL 수가 행 수만큼 늘어난다
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        for (int i = 0; i < ROWS; i++) {
+            Member member = new Member();
+            member.setMemberId(prefix + "-" + i);
+            member.setMemberName("작성자" + i);
+            member.setRegDate(LocalDateTime.now());
+            em.persist(member);
+
+            Inquiry inquiry = new Inquiry();
+            inquiry.setMember(member);
+            inquiry.setSubject("문의 " + i);
+            inquiry.setMessage("내용");
+            inquiry.setRegDate(LocalDateTime.now().plusMinutes(i));
+            em.persist(inquiry);
+
+            em.persist(Notice.builder()
+                    .author(member)
+                    .noticeTitle("공지 " + i)
+                    .noticeContent("내용")
+                    .regDate(LocalDateTime.now().plusMinutes(i))
+                    .build());
+        }
+        em.flush();
+        em.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void inquiryListItemsUseTwoStatementsPerPage() {
+        for (int size : new int[]{5, 10, 20}) {
+            statistics.clear();
+            Page<InquiryListItem> page = inquiryRepository.findListItems(PageRequest.of(0, size));
+            page.forEach(item -> assertNotNull(item.getMemberName()));
+
+            assertEquals(size, page.getNumberOfElements());
+            assertEquals(2, statistics.getPrepareStatementCount(), "size=" + size);
+        }
+    }
+
+    @Test
+    void inquiryEntityPageLoadsMembersWithEntityGraph() {
+        Page<Inquiry> page = inquiryRepository.findAllWithMember(PageRequest.of(0, 20));
+        page.forEach(inquiry -> assertNotNull(inquiry.getMember().getMemberName()));
+
+        assertEquals(20, page.getNumberOfElements());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void noticeListItemsUseTwoStatementsPerPage() {
+        Page<NoticeListItem> page = noticeRepository.findListItems(PageRequest.of(0, 20));
+        page.forEach(item -> assertNotNull(item.getNoticeTitle()));
+
+        assertEquals(20, page.getNumberOfElements());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void noticeDetailLoadsAuthorInOneStatement() {
+        Integer noticeId = noticeRepository.findListItems(PageRequest.of(0, 1)).getContent().get(0).getNoticeId();
+        em.clear();
+        statistics.clear();
+
+        Notice notice = noticeRepository.findWithAuthorByNoticeId(noticeId).orElseThrow();
+        assertNotNull(notice.getAuthor().getMemberName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
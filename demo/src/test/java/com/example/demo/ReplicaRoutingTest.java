@@ -0,0 +1,53 @@
+package com.example.demo;
+
+import com.example.demo.datasource.ReplicaLagMonitor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * replica 프로필로 로컬 DB 두 개(mariadb, mariadb-replica)에 붙여 readOnly 트랜잭션만 replica로 가는지 확인한다.
+ * 두 인스턴스는 복제로 묶여 있지 않아도 되지만 server_id는 서로 달라야 한다.
+ * replica 호스트가 필요하므로 기본 test에서는 빠진다. (./gradlew integrationTest)
+ */
+@Tag("integration")
+@SpringBootTest(properties = "datasource.replica.lag-check-ms=3600000")
+@ActiveProfiles("replica")
+class ReplicaRoutingTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    private long serverId(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbcTemplate.queryForObject("SELECT @@server_id", Long.class));
+    }
+
+    @BeforeEach
+    void checkReplica() {
+        replicaLagMonitor.check();
+        assertTrue(replicaLagMonitor.isReplicaUsable(), "replica에 연결할 수 없음");
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplica() {
+        long primaryId = jdbcTemplate.queryForObject("SELECT @@server_id", Long.class);
+
+        assertEquals(primaryId, serverId(false));
+        assertNotEquals(primaryId, serverId(true));
+    }
+}
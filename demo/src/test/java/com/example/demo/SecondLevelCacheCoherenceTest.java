@@ -0,0 +1,164 @@
+package com.example.demo;
+
+import com.example.demo.member.*;
+import com.example.demo.notice.Notice;
+import com.example.demo.notice.NoticeRepository;
+import com.example.demo.notice.NoticeService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Member/Notice 2차 캐시 + 쿼리 캐시가 수정/탈퇴/공지 등록 뒤에 오래된 값을 주지 않는지 확인한다.
+ * 2차 캐시는 커밋 후에 채워지므로 테스트 트랜잭션으로 감싸지 않고, 만든 데이터는 끝나고 지운다.
+ */
+@SpringBootTest
+class SecondLevelCacheCoherenceTest {
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private NoticeService noticeService;
+
+    @Autowired
+    private NoticeRepository noticeRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private final List<Long> members = new ArrayList<>();
+    private final List<Integer> notices = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        noticeRepository.deleteAllById(notices);
+        memberRepository.deleteAllById(members);
+    }
+
+    private Member createMember() {
+        MemberCreateForm form = new MemberCreateForm();
+        form.setMemberId("c" + UUID.randomUUID().toString().substring(0, 8));
+        form.setMemberName("캐시회원");
+        form.setPassword1("password1!");
+        form.setPassword2("password1!");
+        form.setSex("남");
+        form.setBirthday(LocalDate.of(1990, 1, 1));
+        form.setHeight(170);
+        form.setWeight(65);
+        Member member = memberService.create(form);
+        members.add(member.getNum());
+        return member;
+    }
+
+    private Member readByMemberId(String memberId) {
+        return transactionTemplate.execute(status -> memberRepository.findByMemberId(memberId).orElseThrow());
+    }
+
+    @Test
+    void memberByNumIsServedFromCacheButLoginLookupReadsDb() {
+        Member member = createMember();
+        transactionTemplate.execute(status -> memberRepository.findById(member.getNum()).orElseThrow());   // 2차 캐시 채움
+
+        statistics.clear();
+        Member byNum = transactionTemplate.execute(status -> memberRepository.findById(member.getNum()).orElseThrow());
+        assertEquals(member.getNum(), byNum.getNum());
+        assertEquals(0, statistics.getPrepareStatementCount(), "DB를 다시 읽음");
+        assertTrue(statistics.getSecondLevelCacheHitCount() >= 1);
+
+        // 로그인 조회는 다른 노드의 비밀번호 변경/탈퇴를 봐야 하므로 매번 DB를 읽는다
+        readByMemberId(member.getMemberId());
+        statistics.clear();
+        Member again = readByMemberId(member.getMemberId());
+        assertEquals(member.getNum(), again.getNum());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void modifyIsVisibleThroughCaches() {
+        Member member = createMember();
+        readByMemberId(member.getMemberId());
+        transactionTemplate.execute(status -> memberRepository.findById(member.getNum()).orElseThrow());
+
+        MemberModifyForm form = new MemberModifyForm();
+        form.setMemberName("바뀐이름");
+        form.setPassword1("password2!");
+        form.setPassword2("password2!");
+        form.setSex("여");
+        form.setBirthday(LocalDate.of(1991, 2, 2));
+        form.setHeight(160);
+        form.setWeight(50);
+        memberService.modify(member.getMemberId(), form);
+
+        Member byMemberId = readByMemberId(member.getMemberId());
+        Member byNum = transactionTemplate.execute(status -> memberRepository.findById(member.getNum()).orElseThrow());
+        assertEquals("바뀐이름", byMemberId.getMemberName());
+        assertEquals(160, byNum.getHeight());
+        assertEquals("여", byNum.getSex());
+    }
+
+    @Test
+    void withdrawIsVisibleThroughCaches() {
+        Member member = createMember();
+        assertNotEquals(MemberStatus.WITHDRAWAL, readByMemberId(member.getMemberId()).getStatus());
+
+        memberService.withdraw(member.getMemberId());
+
+        assertEquals(MemberStatus.WITHDRAWAL, readByMemberId(member.getMemberId()).getStatus());
+        assertEquals(MemberStatus.WITHDRAWAL,
+                transactionTemplate.execute(status -> memberRepository.findById(member.getNum()).orElseThrow()).getStatus());
+    }
+
+    @Test
+    void saveNoticeInvalidatesCachedNoticeQueries() {
+        String title = "캐시 공지 " + UUID.randomUUID();
+        noticeService.saveNotice(title, "첫 내용");
+        Integer firstId = noticeRepository.findListItems(PageRequest.of(0, 1)).getContent().get(0).getNoticeId();
+        notices.add(firstId);
+
+        // 같은 쿼리 두 번 → 두 번째는 쿼리 캐시 적중
+        transactionTemplate.execute(status -> noticeRepository.findWithAuthorByNoticeId(firstId));
+        statistics.clear();
+        Notice cached = transactionTemplate.execute(status -> noticeRepository.findWithAuthorByNoticeId(firstId).orElseThrow());
+        assertEquals(title, cached.getNoticeTitle());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+
+        // 공지 등록(notice 테이블 변경) 뒤에는 캐시된 쿼리 결과를 쓰지 않고 다시 읽는다
+        noticeService.saveNotice(title + " 2", "둘째 내용");
+        notices.add(noticeRepository.findListItems(PageRequest.of(0, 1)).getContent().get(0).getNoticeId());
+        statistics.clear();
+        transactionTemplate.execute(status -> noticeRepository.findWithAuthorByNoticeId(firstId).orElseThrow());
+        assertEquals(0, statistics.getQueryCacheHitCount());
+        assertEquals(1, statistics.getQueryCacheMissCount());
+
+        // 새 공지 상세도 바로 보인다 (NoticeCache + 2차 캐시)
+        assertEquals(title + " 2", noticeService.findById(notices.get(1)).getNoticeTitle());
+    }
+}
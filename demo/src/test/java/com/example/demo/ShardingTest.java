@@ -0,0 +1,147 @@
+package com.example.demo;
+
+import com.example.demo.food.Repository.FoodRepository;
+import com.example.demo.food.model.Food;
+import com.example.demo.meal.Diet;
+import com.example.demo.meal.DietRepository;
+import com.example.demo.member.Member;
+import com.example.demo.shard.ShardDataSources;
+import com.example.demo.shard.ShardFanOut;
+import com.example.demo.shard.ShardRebalancer;
+import com.example.demo.shard.ShardRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * sharding 프로필로 로컬 MariaDB 안의 테스트 스키마 3개(샤드 2개 사용 + 늘릴 샤드 1개)에 food/diet가 나뉘어 저장되는지 확인한다.
+ * 회원 번호는 실제 회원과 겹치지 않는 큰 값을 쓰고, 샤드 테이블에는 외래키가 없으므로 회원 행은 만들지 않는다.
+ */
+@SpringBootTest(properties = {
+        "sharding.urls=jdbc:mariadb://mariadb:3306/ai_bracket2_shardtest0?createDatabaseIfNotExist=true,"
+                + "jdbc:mariadb://mariadb:3306/ai_bracket2_shardtest1?createDatabaseIfNotExist=true,"
+                + "jdbc:mariadb://mariadb:3306/ai_bracket2_shardtest2?createDatabaseIfNotExist=true",
+        "sharding.count=2"
+})
+@ActiveProfiles("sharding")
+class ShardingTest {
+
+    private static final long FIRST_MEMBER = 9_100_000_000L;
+    private static final int MEMBERS = 40;
+
+    @Autowired
+    private FoodRepository foodRepository;
+
+    @Autowired
+    private DietRepository dietRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ShardDataSources shardDataSources;
+
+    @Autowired
+    private ShardFanOut shardFanOut;
+
+    @Autowired
+    private ShardRebalancer shardRebalancer;
+
+    @AfterEach
+    void cleanUp() {
+        for (int shard = 0; shard < shardDataSources.size(); shard++) {
+            JdbcTemplate jdbc = new JdbcTemplate(shardDataSources.get(shard));
+            jdbc.update("DELETE FROM food WHERE member_num >= ?", FIRST_MEMBER);
+            jdbc.update("DELETE FROM diet WHERE member_num >= ?", FIRST_MEMBER);
+        }
+    }
+
+    private static Member member(long num) {
+        Member member = new Member();
+        member.setNum(num);
+        return member;
+    }
+
+    private void saveMeals(long num) {
+        foodRepository.save(Food.builder().foodName("현미밥").calories(300.0).mealTime("아침").member(member(num)).build());
+        foodRepository.save(Food.builder().foodName("닭가슴살").calories(150.0).mealTime("점심").member(member(num)).build());
+        Diet diet = new Diet();
+        diet.setMember(member(num));
+        diet.setDietDate(LocalDate.now());
+        diet.setTotalKcal(450.0);
+        dietRepository.save(diet);
+    }
+
+    private long rows(int shard, String table, long num) {
+        return new JdbcTemplate(shardDataSources.get(shard))
+                .queryForObject("SELECT COUNT(*) FROM " + table + " WHERE member_num = ?", Long.class, num);
+    }
+
+    @Test
+    void rowsLandOnTheMembersShardAndReadsRouteThere() {
+        for (long num = FIRST_MEMBER; num < FIRST_MEMBER + MEMBERS; num++) {
+            saveMeals(num);
+        }
+
+        for (long num = FIRST_MEMBER; num < FIRST_MEMBER + MEMBERS; num++) {
+            int shard = shardRouter.shardOf(num);
+            assertEquals(2, rows(shard, "food", num));
+            assertEquals(1, rows(shard, "diet", num));
+            assertEquals(0, rows(1 - shard, "food", num));
+
+            List<Food> foods = foodRepository.findByMember_NumAndRegDateBetween(num,
+                    LocalDateTime.now().minusHours(1), LocalDateTime.now().plusHours(1));
+            assertEquals(2, foods.size());
+            assertNotNull(dietRepository.findByMember_NumAndDietDate(num, LocalDate.now()).orElse(null));
+        }
+    }
+
+    @Test
+    void callsWithoutMemberNumberMustFanOut() {
+        saveMeals(FIRST_MEMBER);
+        saveMeals(FIRST_MEMBER + 1);
+
+        assertThrows(IllegalStateException.class, () -> dietRepository.count());
+        List<Long> perShard = shardFanOut.query(dietRepository::count);
+        assertEquals(2, perShard.size());
+        assertTrue(shardFanOut.sum(dietRepository::count) >= 2);
+
+        List<Diet> recent = shardFanOut.top(dietRepository::findTop20ByOrderByCreatedAtDesc,
+                (a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()), 2);
+        assertEquals(2, recent.size());
+    }
+
+    @Test
+    void rebalanceToThreeShardsMovesOnlyReassignedMembers() {
+        for (long num = FIRST_MEMBER; num < FIRST_MEMBER + MEMBERS; num++) {
+            saveMeals(num);
+        }
+
+        shardRebalancer.copy(2, 3);
+        shardRebalancer.copy(2, 3);   // 다시 실행해도 중복되지 않는다
+        shardRebalancer.cleanup(3);
+
+        int moved = 0;
+        for (long num = FIRST_MEMBER; num < FIRST_MEMBER + MEMBERS; num++) {
+            int before = ShardRouter.shardOf(num, 2);
+            int after = ShardRouter.shardOf(num, 3);
+            assertEquals(2, rows(after, "food", num));
+            assertEquals(1, rows(after, "diet", num));
+            if (before != after) {
+                assertEquals(2, after);
+                assertEquals(0, rows(before, "food", num));
+                moved++;
+            }
+        }
+        assertTrue(moved > 0 && moved < MEMBERS, "moved=" + moved);
+    }
+}
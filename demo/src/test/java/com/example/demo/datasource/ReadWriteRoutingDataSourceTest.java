@@ -0,0 +1,84 @@
+package com.example.demo.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, 5, registry);
+    private final ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica, monitor, registry);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+    }
+
+    @AfterEach
+    void clearTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    private void inTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    @Test
+    void readOnlyTransactionUsesReplica() throws Exception {
+        monitor.update(0L);
+        inTransaction(true);
+        assertSame(replicaConnection, routing.getConnection());
+        assertEquals(1, registry.get("datasource.routing").tag("target", "replica").counter().count());
+    }
+
+    @Test
+    void writesAndNonTransactionalWorkUsePrimary() throws Exception {
+        monitor.update(0L);
+        assertSame(primaryConnection, routing.getConnection());
+        inTransaction(false);
+        assertSame(primaryConnection, routing.getConnection());
+    }
+
+    @Test
+    void fallsBackToPrimaryWhenReplicaLagsOrStops() throws Exception {
+        inTransaction(true);
+        assertSame(primaryConnection, routing.getConnection(), "첫 확인 전에는 replica를 쓰지 않는다");
+
+        monitor.update(30L);
+        assertSame(primaryConnection, routing.getConnection());
+        assertEquals(30, registry.get("datasource.replica.lag").gauge().value());
+
+        monitor.update(null);
+        assertSame(primaryConnection, routing.getConnection());
+        assertTrue(Double.isNaN(monitor.getLagSeconds()));
+
+        monitor.update(2L);
+        assertSame(replicaConnection, routing.getConnection());
+        assertEquals(3, registry.get("datasource.routing").tag("target", "primary").tag("read.only", "true").counter().count());
+    }
+
+    @Test
+    void unreachableReplicaIsNotUsed() throws Exception {
+        monitor.update(0L);
+        when(replica.getConnection()).thenThrow(new java.sql.SQLException("connection refused"));
+        monitor.check();
+        assertFalse(monitor.isReplicaUsable());
+        assertEquals(0, registry.get("datasource.replica.usable").gauge().value());
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.demo.emotion;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 로컬 HTTP 서버를 모델 서버(/predict/batch) 대신 띄워서 묶음 나누기, 동시 요청 제한, 타임아웃을 확인한다.
+ */
+class EmotionBatcherTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<List<String>> received = new CopyOnWriteArrayList<>();
+    private final AtomicInteger concurrent = new AtomicInteger();
+    private final AtomicInteger maxConcurrent = new AtomicInteger();
+    private volatile CountDownLatch firstRequestArrived = new CountDownLatch(1);
+    private volatile CountDownLatch releaseFirstRequest = new CountDownLatch(0);
+    private final ExecutorService serverThreads = Executors.newCachedThreadPool();
+    private HttpServer server;
+    private EmotionBatcher batcher;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(serverThreads);
+        server.createContext("/predict/batch", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void stop() {
+        if (batcher != null) batcher.destroy();
+        releaseFirstRequest.countDown();
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void handle(HttpExchange exchange) throws IOException {
+        maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+        try {
+            List<String> texts = (List<String>) objectMapper.readValue(exchange.getRequestBody(), Map.class).get("texts");
+            boolean first = received.isEmpty();
+            received.add(texts);
+            if (first) {
+                firstRequestArrived.countDown();
+                releaseFirstRequest.await();
+            }
+            List<Map<String, Object>> results = texts.stream()
+                    .map(t -> Map.<String, Object>of("predicted_emotion", "기쁨", "recommendation", t))
+                    .toList();
+            byte[] body = objectMapper.writeValueAsBytes(Map.of("results", results));
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            concurrent.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private EmotionBatcher batcher(int maxSize, long maxWaitMillis, int maxInFlight, int readTimeoutMillis) {
+        String apiBase = "http://127.0.0.1:" + server.getAddress().getPort();
+        batcher = new EmotionBatcher(new SimpleMeterRegistry(), apiBase, maxSize, maxWaitMillis, 100, maxInFlight, readTimeoutMillis);
+        return batcher;
+    }
+
+    @Test
+    void requestsAreSplitByMaxSizeAndAnsweredInOrder() throws Exception {
+        EmotionBatcher batcher = batcher(3, 500, 4, 5000);
+
+        List<CompletableFuture<EmotionResult>> futures = new ArrayList<>();
+        for (int i = 0; i < 7; i++) futures.add(batcher.submit("문장" + i));
+
+        for (int i = 0; i < 7; i++) {
+            assertEquals("문장" + i, futures.get(i).get(5, TimeUnit.SECONDS).getRecommendation());
+        }
+        assertEquals(List.of(3, 3, 1), received.stream().map(List::size).sorted(Comparator.reverseOrder()).toList());
+    }
+
+    @Test
+    void requestsWaitingForInFlightSlotAreMergedIntoNextBatch() throws Exception {
+        releaseFirstRequest = new CountDownLatch(1);
+        EmotionBatcher batcher = batcher(32, 10, 1, 5000);
+
+        CompletableFuture<EmotionResult> first = batcher.submit("a");
+        assertTrue(firstRequestArrived.await(5, TimeUnit.SECONDS));
+        List<CompletableFuture<EmotionResult>> waiting = List.of(batcher.submit("b"), batcher.submit("c"), batcher.submit("d"));
+        Thread.sleep(100);   // 자리가 없으므로 두 번째 묶음은 아직 보내지 않는다
+        assertEquals(1, received.size());
+
+        releaseFirstRequest.countDown();
+
+        assertEquals("a", first.get(5, TimeUnit.SECONDS).getRecommendation());
+        for (CompletableFuture<EmotionResult> f : waiting) f.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(List.of("a"), List.of("b", "c", "d")), received);
+        assertEquals(1, maxConcurrent.get());
+    }
+
+    @Test
+    void readTimeoutFailsTheBatchAndReleasesItsSlot() throws Exception {
+        releaseFirstRequest = new CountDownLatch(1);
+        EmotionBatcher batcher = batcher(32, 10, 1, 200);
+
+        CompletableFuture<EmotionResult> slow = batcher.submit("a");
+        ExecutionException e = assertThrows(ExecutionException.class, () -> slow.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ResourceAccessException.class, e.getCause());
+
+        // 실패한 묶음이 자리를 돌려줘야 다음 요청이 나간다
+        assertEquals("b", batcher.submit("b").get(5, TimeUnit.SECONDS).getRecommendation());
+    }
+
+    @Test
+    void fullQueueRejectsImmediately() {
+        releaseFirstRequest = new CountDownLatch(1);
+        String apiBase = "http://127.0.0.1:" + server.getAddress().getPort();
+        batcher = new EmotionBatcher(new SimpleMeterRegistry(), apiBase, 1, 10, 1, 1, 5000);
+
+        batcher.submit("a");   // 서버에서 멈춰 있음
+        CompletableFuture<EmotionResult> rejected = null;
+        for (int i = 0; i < 10 && rejected == null; i++) {
+            CompletableFuture<EmotionResult> f = batcher.submit("b" + i);
+            if (f.isCompletedExceptionally()) rejected = f;
+        }
+
+        assertNotNull(rejected);
+        ExecutionException e = assertThrows(ExecutionException.class, rejected::get);
+        assertInstanceOf(RejectedExecutionException.class, e.getCause());
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.demo.emotion;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.Invocation;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class EmotionLogWriterTest {
+
+    private record Call(String sql, List<List<Object>> rows) {
+    }
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final List<Call> calls = new ArrayList<>();
+    private int failingTransactions;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        // 트랜잭션 하나가 통째로 실패하는 상황 (실패한 트랜잭션의 batchUpdate는 기록하지 않음 = 롤백)
+        doAnswer(invocation -> {
+            if (failingTransactions > 0) {
+                failingTransactions--;
+                throw new DataAccessResourceFailureException("DB down");
+            }
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        doAnswer(invocation -> {
+            Collection<Object> rows = invocation.getArgument(1);
+            ParameterizedPreparedStatementSetter<Object> setter = invocation.getArgument(3);
+            List<List<Object>> params = new ArrayList<>();
+            for (Object row : rows) {
+                PreparedStatement ps = mock(PreparedStatement.class);
+                setter.setValues(ps, row);
+                params.add(parameters(ps));
+            }
+            calls.add(new Call(invocation.getArgument(0), params));
+            return new int[0][];
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    // ps.setXxx(index, value) 호출을 순서대로 모은 값
+    private static List<Object> parameters(PreparedStatement ps) {
+        Object[] values = new Object[4];
+        for (Invocation invocation : mockingDetails(ps).getInvocations()) {
+            values[invocation.<Integer>getArgument(0) - 1] = invocation.getArgument(1);
+        }
+        return Arrays.asList(values);
+    }
+
+    private EmotionLogWriter writer(int queueCapacity, int batchSize, int maxRetries) {
+        return new EmotionLogWriter(jdbcTemplate, transactionTemplate, meterRegistry, queueCapacity, batchSize, maxRetries);
+    }
+
+    private List<Call> calls(String table) {
+        return calls.stream().filter(c -> c.sql().startsWith("INSERT INTO " + table + " ")).toList();
+    }
+
+    private int loggedRows() {
+        return calls("emotion_log").stream().mapToInt(c -> c.rows().size()).sum();
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    @Test
+    void flushSplitsQueueIntoBatches() {
+        EmotionLogWriter writer = writer(100, 2, 3);
+        for (int i = 0; i < 5; i++) writer.record(1L, "문장" + i, "기쁨");
+
+        writer.flush();
+
+        assertEquals(List.of(2, 2, 1), calls("emotion_log").stream().map(c -> c.rows().size()).toList());
+        verify(transactionTemplate, times(3)).executeWithoutResult(any());
+        List<Object> first = calls("emotion_log").get(0).rows().get(0);
+        assertEquals(1L, first.get(0));
+        assertEquals("기쁨", first.get(1));
+        assertEquals("문장0", first.get(2));
+        assertInstanceOf(Timestamp.class, first.get(3));
+    }
+
+    @Test
+    void longTextIsTruncated() {
+        EmotionLogWriter writer = writer(100, 10, 3);
+        writer.record(1L, "가".repeat(300), "슬픔");
+
+        writer.flush();
+
+        assertEquals(200, ((String) calls("emotion_log").get(0).rows().get(0).get(2)).length());
+    }
+
+    @Test
+    void countsAreMergedPerBucketBeforeUpsert() {
+        EmotionLogWriter writer = writer(100, 10, 3);
+        writer.record(2L, "a", "기쁨");
+        writer.record(1L, "b", "슬픔");
+        writer.record(1L, "c", "기쁨");
+        writer.record(1L, "d", "기쁨");
+
+        writer.flush();
+
+        List<List<Object>> daily = calls("emotion_daily").get(0).rows();
+        List<List<Object>> weekly = calls("emotion_weekly").get(0).rows();
+        LocalDate day = (LocalDate) daily.get(0).get(1);
+        LocalDate monday = day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        // (회원, 날짜, 감정) 순으로 정렬, 같은 묶음의 같은 키는 한 행으로
+        assertEquals(List.of(
+                List.of(1L, day, "기쁨", 2L),
+                List.of(1L, day, "슬픔", 1L),
+                List.of(2L, day, "기쁨", 1L)), daily);
+        assertEquals(List.of(
+                List.of(1L, monday, "기쁨", 2L),
+                List.of(1L, monday, "슬픔", 1L),
+                List.of(2L, monday, "기쁨", 1L)), weekly);
+        assertTrue(calls("emotion_daily").get(0).sql().contains("ON DUPLICATE KEY UPDATE cnt = cnt + VALUES(cnt)"));
+    }
+
+    @Test
+    void failedBatchIsRetriedOnNextFlush() {
+        EmotionLogWriter writer = writer(100, 10, 3);
+        writer.record(1L, "a", "기쁨");
+        writer.record(1L, "b", "기쁨");
+        failingTransactions = 1;
+
+        writer.flush();
+        assertEquals(0, loggedRows());
+        writer.record(1L, "c", "기쁨");   // 실패한 묶음을 다시 쓰기 전에는 큐에 머문다
+
+        writer.flush();
+
+        assertEquals(List.of(2, 1), calls("emotion_log").stream().map(c -> c.rows().size()).toList());
+        assertEquals(2L, calls("emotion_daily").get(0).rows().get(0).get(3));
+        assertEquals(0, counter("emotion.log.lost"));
+    }
+
+    @Test
+    void batchIsCountedAsLostAfterMaxRetries() {
+        EmotionLogWriter writer = writer(100, 10, 2);
+        writer.record(1L, "a", "기쁨");
+        writer.record(1L, "b", "기쁨");
+        failingTransactions = 3;   // 첫 시도 + 재시도 2번
+
+        writer.flush();
+        writer.flush();
+        assertEquals(0, counter("emotion.log.lost"));
+        writer.flush();
+        assertEquals(2, counter("emotion.log.lost"));
+
+        writer.record(1L, "c", "기쁨");
+        writer.flush();
+        assertEquals(1, loggedRows());
+    }
+
+    @Test
+    void fullQueueDropsNewRecords() {
+        EmotionLogWriter writer = writer(2, 10, 3);
+        for (int i = 0; i < 5; i++) writer.record(1L, "문장" + i, "기쁨");
+
+        assertEquals(3, counter("emotion.log.dropped"));
+        writer.flush();
+        assertEquals(2, loggedRows());
+    }
+
+    @Test
+    void shutdownCountsRecordsItCouldNotSave() {
+        EmotionLogWriter writer = writer(100, 2, 3);
+        for (int i = 0; i < 3; i++) writer.record(1L, "문장" + i, "기쁨");
+        failingTransactions = Integer.MAX_VALUE;
+
+        writer.shutdown();
+
+        assertEquals(0, loggedRows());
+        assertEquals(3, counter("emotion.log.lost"));   // 실패한 묶음 2건 + 큐에 남은 1건
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.demo.emotion;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmotionResultCacheTest {
+
+    @TempDir
+    Path dir;
+
+    private final AtomicInteger predictions = new AtomicInteger();
+
+    private final Function<String, CompletableFuture<EmotionResult>> predictor = text -> {
+        predictions.incrementAndGet();
+        return CompletableFuture.completedFuture(new EmotionResult("슬픔", "따뜻한 국물 요리를 추천합니다."));
+    };
+
+    private EmotionResultCache newCache() {
+        return new EmotionResultCache(new SimpleMeterRegistry(), 100, 24, dir.resolve("emotion-cache.bin").toString());
+    }
+
+    @Test
+    void sameNormalizedTextHitsCache() {
+        EmotionResultCache cache = newCache();
+
+        cache.getOrPredict("피곤해", predictor).join();
+        cache.getOrPredict("  피곤해.  ", predictor).join();
+        cache.getOrPredict("피곤해!!", predictor).join();
+
+        assertEquals(1, predictions.get());
+        assertEquals(EmotionResultCache.keyOf("피곤해"), EmotionResultCache.keyOf(" 피곤해~ "));
+        assertNotEquals(EmotionResultCache.keyOf("피곤해"), EmotionResultCache.keyOf("행복해"));
+    }
+
+    @Test
+    void concurrentMissesShareOnePrediction() {
+        EmotionResultCache cache = newCache();
+        CompletableFuture<EmotionResult> pending = new CompletableFuture<>();
+
+        CompletableFuture<EmotionResult> first = cache.getOrPredict("행복해", text -> {
+            predictions.incrementAndGet();
+            return pending;
+        });
+        CompletableFuture<EmotionResult> second = cache.getOrPredict("행복해", predictor);
+        pending.complete(new EmotionResult("행복", "케이크"));
+
+        assertEquals("행복", first.join().getPredictedEmotion());
+        assertEquals("행복", second.join().getPredictedEmotion());
+        assertEquals(1, predictions.get());
+    }
+
+    @Test
+    void failedPredictionIsNotCached() {
+        EmotionResultCache cache = newCache();
+
+        CompletableFuture<EmotionResult> failed = cache.getOrPredict("화나", text ->
+                CompletableFuture.failedFuture(new IllegalStateException("down")));
+        assertTrue(failed.isCompletedExceptionally());
+
+        cache.getOrPredict("화나", predictor).join();
+        assertEquals(1, predictions.get());
+    }
+
+    @Test
+    void entriesSurviveRestart() {
+        EmotionResultCache cache = newCache();
+        cache.getOrPredict("우울해", predictor).join();
+        cache.save();
+
+        EmotionResultCache restarted = newCache();
+        restarted.load();
+        EmotionResult result = restarted.getOrPredict("우울해", predictor).join();
+
+        assertEquals(1, predictions.get());
+        assertEquals("따뜻한 국물 요리를 추천합니다.", result.getRecommendation());
+    }
+
+    @Test
+    void synchronousPredictorFailureDoesNotBlockLaterRequests() {
+        EmotionResultCache cache = newCache();
+
+        CompletableFuture<EmotionResult> rejected = cache.getOrPredict("졸려", text -> {
+            throw new IllegalStateException("queue full");
+        });
+        assertTrue(rejected.isCompletedExceptionally());
+
+        EmotionResult result = cache.getOrPredict("졸려", predictor).join();
+        assertEquals("슬픔", result.getPredictedEmotion());
+        assertEquals(1, predictions.get());
+    }
+
+    @Test
+    void repeatedHitsNeverCallPredictor() {
+        EmotionResultCache cache = newCache();
+        cache.getOrPredict("피곤해", predictor).join();
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(cache.getOrPredict("피곤해", predictor).isDone());
+        }
+        assertEquals(1, predictions.get());
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.demo.emotion;
+
+import com.example.demo.meal.Diet;
+import com.example.demo.meal.DietRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class EmotionStatsServiceTest {
+
+    private final EmotionDailyRepository emotionDailyRepository = mock(EmotionDailyRepository.class);
+    private final EmotionWeeklyRepository emotionWeeklyRepository = mock(EmotionWeeklyRepository.class);
+    private final DietRepository dietRepository = mock(DietRepository.class);
+    private final EmotionStatsService emotionStatsService =
+            new EmotionStatsService(emotionDailyRepository, emotionWeeklyRepository, dietRepository);
+
+    private final LocalDate today = LocalDate.now();
+    private final LocalDate yesterday = today.minusDays(1);
+
+    private static EmotionDaily daily(LocalDate date, String emotion, long cnt) {
+        EmotionDaily d = new EmotionDaily();
+        d.setMemberNum(1L);
+        d.setBucketDate(date);
+        d.setEmotion(emotion);
+        d.setCnt(cnt);
+        return d;
+    }
+
+    private static EmotionWeekly weekly(LocalDate weekStart, String emotion, long cnt) {
+        EmotionWeekly w = new EmotionWeekly();
+        w.setMemberNum(1L);
+        w.setWeekStart(weekStart);
+        w.setEmotion(emotion);
+        w.setCnt(cnt);
+        return w;
+    }
+
+    private static Diet diet(LocalDate date, Double totalKcal) {
+        Diet diet = new Diet();
+        diet.setDietDate(date);
+        diet.setTotalKcal(totalKcal);
+        return diet;
+    }
+
+    @Test
+    void dailyStatsPickDominantEmotionAndJoinKcal() {
+        when(emotionDailyRepository.findByMemberNumAndBucketDateBetweenOrderByBucketDate(1L, today.minusDays(6), today))
+                .thenReturn(List.of(daily(yesterday, "기쁨", 3), daily(yesterday, "슬픔", 1), daily(today, "슬픔", 2)));
+        when(dietRepository.findByMember_NumAndDietDateBetween(1L, today.minusDays(6), today))
+                .thenReturn(List.of(diet(yesterday, 1800.0), diet(today, null)));
+
+        EmotionStats stats = emotionStatsService.getStats(1L, 7);
+
+        assertEquals(2, stats.getDays().size());
+        EmotionStats.Day first = stats.getDays().get(0);
+        assertEquals(yesterday, first.getDate());
+        assertEquals(Map.of("기쁨", 3L, "슬픔", 1L), first.getCounts());
+        assertEquals("기쁨", first.getDominant());
+        assertEquals(1800.0, first.getTotalKcal());
+        EmotionStats.Day second = stats.getDays().get(1);
+        assertEquals("슬픔", second.getDominant());
+        assertNull(second.getTotalKcal());
+    }
+
+    @Test
+    void kcalIsAveragedPerDominantEmotionOverDaysWithDiet() {
+        LocalDate twoDaysAgo = today.minusDays(2);
+        when(emotionDailyRepository.findByMemberNumAndBucketDateBetweenOrderByBucketDate(1L, today.minusDays(6), today))
+                .thenReturn(List.of(daily(twoDaysAgo, "기쁨", 1), daily(yesterday, "기쁨", 2), daily(today, "슬픔", 1)));
+        when(dietRepository.findByMember_NumAndDietDateBetween(1L, today.minusDays(6), today))
+                .thenReturn(List.of(diet(twoDaysAgo, 1000.0), diet(yesterday, 2000.0)));
+
+        List<EmotionStats.EmotionKcal> kcal = emotionStatsService.getStats(1L, 7).getKcalByEmotion();
+
+        assertEquals(1, kcal.size());   // 슬픔인 날은 식단 기록이 없음
+        assertEquals("기쁨", kcal.get(0).getEmotion());
+        assertEquals(2, kcal.get(0).getDays());
+        assertEquals(1500.0, kcal.get(0).getAvgKcal());
+    }
+
+    @Test
+    void weeklyStatsStartFromMondayOfFirstDay() {
+        LocalDate from = today.minusDays(13);
+        LocalDate weekFrom = from.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate thisWeek = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        when(emotionWeeklyRepository.findByMemberNumAndWeekStartBetweenOrderByWeekStart(1L, weekFrom, today))
+                .thenReturn(List.of(weekly(weekFrom, "불안", 4), weekly(thisWeek, "기쁨", 5), weekly(thisWeek, "불안", 1)));
+
+        EmotionStats stats = emotionStatsService.getStats(1L, 14);
+
+        List<EmotionStats.Week> weeks = stats.getWeeks();
+        assertEquals(weekFrom, weeks.get(0).getWeekStart());
+        assertEquals(Map.of("불안", 4L), weeks.get(0).getCounts());
+        assertEquals(thisWeek, weeks.get(weeks.size() - 1).getWeekStart());
+        assertEquals(Map.of("기쁨", 5L, "불안", 1L), weeks.get(weeks.size() - 1).getCounts());
+        assertTrue(stats.getDays().isEmpty());
+        verify(emotionWeeklyRepository).findByMemberNumAndWeekStartBetweenOrderByWeekStart(1L, weekFrom, today);
+    }
+}
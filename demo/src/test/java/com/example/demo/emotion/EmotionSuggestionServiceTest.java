@@ -0,0 +1,63 @@
+package com.example.demo.emotion;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class EmotionSuggestionServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private static EmotionSuggestionService service(Path dir, boolean required) {
+        EmotionSuggestionService service = new EmotionSuggestionService(new ObjectMapper());
+        ReflectionTestUtils.setField(service, "vectorsDir", dir.toString());
+        ReflectionTestUtils.setField(service, "faissFile", "emotion_vectors.faiss");
+        ReflectionTestUtils.setField(service, "docsFile", "docs.json");
+        ReflectionTestUtils.setField(service, "hnswThreshold", 1000);
+        ReflectionTestUtils.setField(service, "required", required);
+        return service;
+    }
+
+    @Test
+    void missingFilesStopStartupWhenRequired() {
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> service(dir, true).load());
+        assertTrue(e.getMessage().contains(dir.resolve("emotion_vectors.faiss").toString()), e.getMessage());
+    }
+
+    @Test
+    void missingFilesDisableVectorsWhenNotRequired() {
+        EmotionSuggestionService service = service(dir, false);
+        service.load();
+
+        assertFalse(service.isAvailable());
+        List<EmotionSuggestion> suggestions = service.suggest("슬픔", 3);
+        assertEquals(1, suggestions.size());
+        assertEquals("슬픔", suggestions.get(0).getEmotion());
+    }
+
+    @Test
+    void loadsFilesFromConfiguredDirectory() throws IOException {
+        Path predict = Path.of("../Predict");
+        assumeTrue(Files.exists(predict.resolve("emotion_vectors.faiss")), "Predict/emotion_vectors.faiss 없음");
+        Files.copy(predict.resolve("emotion_vectors.faiss"), dir.resolve("emotion_vectors.faiss"));
+        Files.copy(predict.resolve("docs.json"), dir.resolve("docs.json"));
+
+        EmotionSuggestionService service = service(dir.toAbsolutePath(), true);
+        service.load();
+
+        assertTrue(service.isAvailable());
+        List<EmotionSuggestion> suggestions = service.suggest("슬픔", 3);
+        assertEquals(3, suggestions.size());
+        assertEquals("슬픔", suggestions.get(0).getEmotion());   // 자기 자신이 가장 가깝다
+    }
+}
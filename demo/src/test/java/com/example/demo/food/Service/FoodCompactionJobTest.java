@@ -0,0 +1,33 @@
+package com.example.demo.food.Service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FoodCompactionJobTest {
+
+    @Test
+    void checkpointRoundTrips() {
+        FoodCompactionJob.Checkpoint aggregated = new FoodCompactionJob.Checkpoint(LocalDate.of(2026, 9, 14), 9_100_000_001L, false);
+        FoodCompactionJob.Checkpoint deleted = new FoodCompactionJob.Checkpoint(LocalDate.of(2026, 9, 14), 42, true);
+
+        assertEquals("2026-09-14|9100000001|A", aggregated.format());
+        assertEquals(aggregated, FoodCompactionJob.Checkpoint.parse(aggregated.format()));
+        assertEquals(deleted, FoodCompactionJob.Checkpoint.parse(deleted.format()));
+        assertNull(FoodCompactionJob.Checkpoint.parse(null));
+    }
+
+    @Test
+    void comparesDailyKcalWithDiet() {
+        LocalDate day = LocalDate.of(2026, 8, 1);
+        Map<LocalDate, Double> food = Map.of(day, 1800.0, day.plusDays(1), 2100.4, day.plusDays(2), 900.0);
+        Map<LocalDate, Double> diet = Map.of(day, 1800.5, day.plusDays(1), 1500.0, day.plusDays(5), 2000.0);
+
+        int[] result = FoodCompactionJob.compareWithDiet(food, diet, 1);
+
+        assertArrayEquals(new int[]{1, 1, 1}, result);   // 일치, 불일치, Diet 없음
+    }
+}
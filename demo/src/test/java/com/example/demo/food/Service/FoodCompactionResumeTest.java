@@ -0,0 +1,101 @@
+package com.example.demo.food.Service;
+
+import com.example.demo.batch.JobCheckpoints;
+import com.example.demo.shard.ShardDataSources;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 로컬 MariaDB의 ai_bracket2_compactiontest 스키마에서 FoodCompactionJob의 중단/재개를 확인한다.
+ * 합친 뒤 삭제 도중 멈춤(phase A) → 삭제만 이어서 → 시간 초과로 멈춤 → 저장된 기준일로 마저 처리 → 진행 위치 삭제.
+ * 어느 단계에서도 요약 합계는 지운 원본 행의 합과 같아야 한다.
+ */
+class FoodCompactionResumeTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);   // 기준일 2026-09-14 (35일)
+    private static final long FAR = Long.MAX_VALUE;
+
+    private final DataSource dataSource = FoodTestSchema.dataSource("ai_bracket2_compactiontest");
+    private final JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final FoodCompactionJob job = new FoodCompactionJob(dataSource,
+            new StaticListableBeanFactory().getBeanProvider(ShardDataSources.class), meterRegistry, 35, 2, 10, 30, 1);
+
+    private double rawKcal;
+    private long rawRows;
+
+    @BeforeEach
+    void setUp() {
+        FoodTestSchema.recreate(jdbc);
+        for (int i = 0; i < 5; i++) oldFood(1, LocalDateTime.of(2026, 8, 1 + i % 2, 8 + i, 0), i % 2 == 0 ? "아침" : "저녁", 100 + i);
+        for (int i = 0; i < 3; i++) oldFood(2, LocalDateTime.of(2026, 9, 1, 12, i), "점심", 200);
+        FoodTestSchema.food(jdbc, 2, LocalDateTime.of(2026, 9, 16, 12, 0), "점심", 333);   // 이번 기준일 이후
+        FoodTestSchema.food(jdbc, 1, LocalDateTime.of(2026, 10, 18, 12, 0), "점심", 444);  // 최근
+        jdbc.update("INSERT INTO diet (member_num, diet_date, total_calories) VALUES (1, '2026-08-01', ?)", 100 + 102 + 104);
+    }
+
+    private void oldFood(long memberNum, LocalDateTime regDate, String mealTime, double kcal) {
+        FoodTestSchema.food(jdbc, memberNum, regDate, mealTime, kcal);
+        rawKcal += kcal;
+        rawRows++;
+    }
+
+    private long oldRows(long memberNum) {
+        return FoodTestSchema.count(jdbc, "SELECT COUNT(*) FROM food WHERE member_num = ? AND reg_date < '2026-09-14'", memberNum);
+    }
+
+    private long summaryCount(long memberNum) {
+        return FoodTestSchema.count(jdbc, "SELECT COALESCE(SUM(food_count), 0) FROM food_daily_summary WHERE member_num = ?", memberNum);
+    }
+
+    private double summaryKcal() {
+        return jdbc.queryForObject("SELECT COALESCE(SUM(calories), 0) FROM food_daily_summary", Double.class);
+    }
+
+    @Test
+    void resumesAfterAggregationWithoutCountingTwice() {
+        // 1. 첫 삭제 배치 뒤 종료 신호(인터럽트)로 멈춤: 합계는 저장, 원본은 일부만 삭제, 진행 위치는 phase A
+        Thread.currentThread().interrupt();
+        boolean finished;
+        try {
+            finished = job.compact(dataSource, TODAY, FAR);
+        } finally {
+            Thread.interrupted();
+        }
+        assertFalse(finished);
+        assertEquals("2026-09-14|1|A", JobCheckpoints.get(jdbc, FoodCompactionJob.JOB));
+        assertEquals(3, oldRows(1));
+        assertEquals(5, summaryCount(1));
+
+        // 2. 다음 실행은 회원 1을 다시 더하지 않고 삭제만 마친 뒤 시간 초과로 멈춤 (며칠 뒤 실행이어도 저장된 기준일 사용)
+        assertFalse(job.compact(dataSource, TODAY.plusDays(4), System.currentTimeMillis() - 1));
+        assertEquals("2026-09-14|1|D", JobCheckpoints.get(jdbc, FoodCompactionJob.JOB));
+        assertEquals(0, oldRows(1));
+        assertEquals(5, summaryCount(1));
+        assertEquals(3, oldRows(2));
+
+        // 3. 회원 2를 마저 처리하고 진행 위치 삭제. 새 기준일(2026-09-18)에만 들어가는 행은 이번 회차에서 남는다
+        assertTrue(job.compact(dataSource, TODAY.plusDays(4), FAR));
+        assertNull(JobCheckpoints.get(jdbc, FoodCompactionJob.JOB));
+        assertEquals(3, summaryCount(2));
+        assertEquals(2, FoodTestSchema.count(jdbc, "SELECT COUNT(*) FROM food"));   // 09-16 행, 최근 행
+        assertEquals(rawRows, FoodTestSchema.count(jdbc, "SELECT SUM(food_count) FROM food_daily_summary"));
+        assertEquals(rawKcal, summaryKcal(), 0.001);
+
+        // 4. 새 회차는 새 기준일로 시작
+        assertTrue(job.compact(dataSource, TODAY.plusDays(4), FAR));
+        assertEquals(4, summaryCount(2));
+        assertEquals(rawKcal + 333, summaryKcal(), 0.001);
+        assertEquals(1, FoodTestSchema.count(jdbc, "SELECT COUNT(*) FROM food"));
+        assertEquals(1, meterRegistry.get("food.compaction.diet.checks").tag("result", "match").counter().count());
+    }
+}
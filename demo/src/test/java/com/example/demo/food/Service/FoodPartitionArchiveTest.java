@@ -0,0 +1,93 @@
+package com.example.demo.food.Service;
+
+import com.example.demo.batch.JobCheckpoints;
+import com.example.demo.shard.ShardDataSources;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 로컬 MariaDB의 ai_bracket2_partitiontest 스키마에서 파티션 변환, 보관 기간 지난 파티션 요약/삭제, 중단 후 재실행을 확인한다.
+ */
+class FoodPartitionArchiveTest {
+
+    private static final YearMonth NOW = YearMonth.of(2026, 10);
+
+    private final DataSource dataSource = FoodTestSchema.dataSource("ai_bracket2_partitiontest");
+    private final JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+    private final FoodPartitionMaintainer maintainer = new FoodPartitionMaintainer(dataSource,
+            new StaticListableBeanFactory().getBeanProvider(ShardDataSources.class), 3, 12);
+
+    @BeforeEach
+    void setUp() {
+        FoodTestSchema.recreate(jdbc);
+        // 2025-08, 2025-09: 12개월 지남 / 2026-05: 유지
+        FoodTestSchema.food(jdbc, 1, LocalDateTime.of(2025, 8, 3, 8, 0), "아침", 300);
+        FoodTestSchema.food(jdbc, 1, LocalDateTime.of(2025, 8, 3, 8, 30), "아침", 120);
+        FoodTestSchema.food(jdbc, 1, LocalDateTime.of(2025, 8, 3, 19, 0), "저녁", 700);
+        FoodTestSchema.food(jdbc, 2, LocalDateTime.of(2025, 9, 30, 23, 59), "저녁", 500);
+        FoodTestSchema.food(jdbc, 1, LocalDateTime.of(2026, 5, 1, 12, 0), "점심", 650);
+    }
+
+    private List<String> partitionNames() {
+        return jdbc.queryForList("SELECT PARTITION_NAME FROM information_schema.PARTITIONS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'food' ORDER BY PARTITION_ORDINAL_POSITION", String.class);
+    }
+
+    private double summaryKcal(long memberNum, String date, String mealTime) {
+        return jdbc.queryForObject("SELECT calories FROM food_daily_summary WHERE member_num = ? AND summary_date = ? AND meal_time = ?",
+                Double.class, memberNum, date, mealTime);
+    }
+
+    @Test
+    void maintainSkipsUnconvertedTable() {
+        maintainer.maintain(dataSource, NOW);
+
+        assertEquals(List.of(), partitionNames().stream().filter(name -> name != null).toList());
+        assertEquals(5, FoodTestSchema.count(jdbc, "SELECT COUNT(*) FROM food"));
+    }
+
+    @Test
+    void archivesExpiredPartitionsIntoSummaryAndDropsThem() {
+        maintainer.migrate(dataSource, NOW);
+        assertEquals("p202508", partitionNames().get(0));
+        assertTrue(partitionNames().contains("p202701"));
+
+        maintainer.maintain(dataSource, NOW);
+
+        assertFalse(partitionNames().contains("p202508"));
+        assertFalse(partitionNames().contains("p202509"));
+        assertEquals(1, FoodTestSchema.count(jdbc, "SELECT COUNT(*) FROM food"));
+        assertEquals(420, summaryKcal(1, "2025-08-03", "아침"), 0.001);
+        assertEquals(700, summaryKcal(1, "2025-08-03", "저녁"), 0.001);
+        assertEquals(500, summaryKcal(2, "2025-09-30", "저녁"), 0.001);
+        assertEquals(4, FoodTestSchema.count(jdbc, "SELECT SUM(food_count) FROM food_daily_summary"));
+        assertEquals("p202509", JobCheckpoints.get(jdbc, FoodPartitionMaintainer.ARCHIVE_JOB));
+
+        maintainer.maintain(dataSource, NOW);   // 다시 실행해도 그대로
+        assertEquals(4, FoodTestSchema.count(jdbc, "SELECT SUM(food_count) FROM food_daily_summary"));
+    }
+
+    @Test
+    void resumesWithoutCountingArchivedPartitionTwice() {
+        maintainer.migrate(dataSource, NOW);
+        // p202508 요약을 저장한 직후 DROP 전에 멈춘 상태
+        jdbc.update("INSERT INTO food_daily_summary VALUES (1, '2025-08-03', '아침', 2, 420, 2, 4, 6), (1, '2025-08-03', '저녁', 1, 700, 1, 2, 3)");
+        JobCheckpoints.save(jdbc, FoodPartitionMaintainer.ARCHIVE_JOB, "p202508");
+
+        maintainer.maintain(dataSource, NOW);
+
+        assertFalse(partitionNames().contains("p202508"));
+        assertEquals(420, summaryKcal(1, "2025-08-03", "아침"), 0.001);
+        assertEquals(500, summaryKcal(2, "2025-09-30", "저녁"), 0.001);
+        assertEquals(4, FoodTestSchema.count(jdbc, "SELECT SUM(food_count) FROM food_daily_summary"));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.demo.food.Service;
+
+import com.example.demo.food.Service.FoodPartitionMaintainer.Partition;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FoodPartitionMaintainerTest {
+
+    private static final YearMonth NOW = YearMonth.of(2026, 10);
+
+    @Test
+    void partitionByClauseCoversEveryMonthPlusMaxValue() {
+        String clause = FoodPartitionMaintainer.partitionByClause(YearMonth.of(2025, 12), YearMonth.of(2026, 2));
+
+        assertEquals("PARTITION BY RANGE COLUMNS(reg_date) ("
+                + "PARTITION p202512 VALUES LESS THAN ('2026-01-01'), "
+                + "PARTITION p202601 VALUES LESS THAN ('2026-02-01'), "
+                + "PARTITION p202602 VALUES LESS THAN ('2026-03-01'), "
+                + "PARTITION pmax VALUES LESS THAN (MAXVALUE))", clause);
+    }
+
+    @Test
+    void parsesInformationSchemaDescriptions() {
+        assertEquals(LocalDate.of(2026, 2, 1), FoodPartitionMaintainer.parsePartition("p202601", "'2026-02-01'").lessThan());
+        assertEquals(LocalDate.of(2026, 2, 1), FoodPartitionMaintainer.parsePartition("p202601", "'2026-02-01 00:00:00'").lessThan());
+        assertNull(FoodPartitionMaintainer.parsePartition("pmax", "MAXVALUE").lessThan());
+    }
+
+    @Test
+    void addsOnlyMonthsAfterTheLastPartition() {
+        List<Partition> existing = List.of(
+                new Partition("p202610", LocalDate.of(2026, 11, 1)),
+                new Partition("p202611", LocalDate.of(2026, 12, 1)),
+                new Partition("pmax", null));
+
+        assertEquals(List.of(YearMonth.of(2026, 12), YearMonth.of(2027, 1)),
+                FoodPartitionMaintainer.missingMonths(existing, NOW.plusMonths(3)));
+        assertTrue(FoodPartitionMaintainer.missingMonths(existing, YearMonth.of(2026, 11)).isEmpty());
+    }
+
+    @Test
+    void expiresPartitionsWhoseRowsAreAllOlderThanTheHorizon() {
+        List<Partition> existing = List.of(
+                new Partition("p202508", LocalDate.of(2025, 9, 1)),
+                new Partition("p202509", LocalDate.of(2025, 10, 1)),
+                new Partition("p202510", LocalDate.of(2025, 11, 1)),
+                new Partition("pmax", null));
+
+        List<Partition> expired = FoodPartitionMaintainer.expiredPartitions(existing, NOW, 12);
+
+        assertEquals(List.of("p202508", "p202509"), expired.stream().map(Partition::name).toList());
+    }
+}
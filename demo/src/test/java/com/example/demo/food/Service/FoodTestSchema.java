@@ -0,0 +1,48 @@
+package com.example.demo.food.Service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * food 배치 작업 DB 테스트용 스키마. 로컬 MariaDB의 별도 스키마에 food/diet/food_daily_summary/job_checkpoint를
+ * 엔티티와 같은 컬럼으로 새로 만든다. (개발용 ai_bracket2 테이블은 건드리지 않음)
+ */
+final class FoodTestSchema {
+
+    private FoodTestSchema() {
+    }
+
+    static DataSource dataSource(String schema) {
+        return new DriverManagerDataSource(
+                "jdbc:mariadb://mariadb:3306/" + schema + "?createDatabaseIfNotExist=true", "root", "1234");
+    }
+
+    static void recreate(JdbcTemplate jdbc) {
+        jdbc.execute("DROP TABLE IF EXISTS food, diet, food_daily_summary, job_checkpoint");
+        jdbc.execute("CREATE TABLE food (id BIGINT NOT NULL AUTO_INCREMENT, member_num BIGINT NOT NULL, food_name VARCHAR(255), " +
+                "calories DOUBLE, protein DOUBLE, fat DOUBLE, carbohydrates DOUBLE, meal_time VARCHAR(20), " +
+                "reg_date DATETIME(6) NOT NULL, PRIMARY KEY (id), KEY idx_food_member_reg_date (member_num, reg_date))");
+        jdbc.execute("CREATE TABLE diet (diet_id BIGINT NOT NULL AUTO_INCREMENT, member_num BIGINT NOT NULL, diet_date DATE NOT NULL, " +
+                "total_calories DOUBLE DEFAULT NULL, PRIMARY KEY (diet_id), KEY idx_diet_member_date (member_num, diet_date))");
+        jdbc.execute("CREATE TABLE food_daily_summary (member_num BIGINT NOT NULL, summary_date DATE NOT NULL, meal_time VARCHAR(20) NOT NULL, " +
+                "food_count BIGINT NOT NULL, calories DOUBLE NOT NULL, protein DOUBLE NOT NULL, fat DOUBLE NOT NULL, " +
+                "carbohydrates DOUBLE NOT NULL, PRIMARY KEY (member_num, summary_date, meal_time))");
+        jdbc.execute("CREATE TABLE job_checkpoint (job_name VARCHAR(50) NOT NULL, checkpoint VARCHAR(100), " +
+                "updated_at DATETIME(6) NOT NULL, PRIMARY KEY (job_name))");
+    }
+
+    static void food(JdbcTemplate jdbc, long memberNum, LocalDateTime regDate, String mealTime, double calories) {
+        jdbc.update("INSERT INTO food (member_num, food_name, calories, protein, fat, carbohydrates, meal_time, reg_date) " +
+                        "VALUES (?, '현미밥', ?, 1, 2, 3, ?, ?)",
+                memberNum, calories, mealTime, Timestamp.valueOf(regDate));
+    }
+
+    static long count(JdbcTemplate jdbc, String sql, Object... args) {
+        Long value = jdbc.queryForObject(sql, Long.class, args);
+        return value != null ? value : 0;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.demo.mail;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 내장 SMTP 서버(GreenMail)로 outbox 발송/재시도/포기 흐름을 확인한다.
+ * 스케줄러가 끼어들지 않도록 poll 주기를 길게 두고 dispatch()를 직접 호출한다.
+ * dispatch()는 기한이 된 PENDING 메일을 모두 가져가므로 개발용 ai_bracket2가 아닌 별도 스키마에서 실행한다. (실제 대기 메일을 보내거나 DEAD로 만들지 않도록)
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:mariadb://mariadb:3306/ai_bracket2_mailtest?createDatabaseIfNotExist=true",
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "mail.outbox.poll-ms=3600000",
+        "mail.outbox.max-attempts=2",
+        "mail.outbox.backoff-base-seconds=0"
+})
+class MailDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private MailDispatcher mailDispatcher;
+
+    @Autowired
+    private MailOutboxService mailOutboxService;
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Long> created = new ArrayList<>();
+
+    @BeforeEach
+    void clearOutbox() {
+        mailOutboxRepository.deleteAll();   // 테스트 전용 스키마라 전부 지워도 된다
+    }
+
+    @AfterEach
+    void cleanUp() {
+        mailOutboxRepository.deleteAllById(created);
+    }
+
+    private String enqueue(String subject) {
+        String recipient = UUID.randomUUID().toString().substring(0, 8) + "@example.com";
+        MailOutbox mail = transactionTemplate.execute(status -> mailOutboxService.enqueue(recipient, subject, "답변 내용"));
+        created.add(mail.getId());
+        return recipient;
+    }
+
+    @Test
+    void sendsPendingMailInOneBatch() throws Exception {
+        List<String> recipients = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            recipients.add(enqueue("[문의 답변] " + i));
+        }
+
+        mailDispatcher.poll();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        List<String> receivedTo = new ArrayList<>();
+        for (MimeMessage message : received) {
+            Arrays.stream(message.getAllRecipients()).forEach(a -> receivedTo.add(a.toString()));
+        }
+        assertTrue(receivedTo.containsAll(recipients));
+        for (Long id : created) {
+            MailOutbox mail = mailOutboxRepository.findById(id).orElseThrow();
+            assertEquals(MailOutboxStatus.SENT, mail.getStatus());
+            assertNotNull(mail.getSentAt());
+        }
+    }
+
+    @Test
+    void retriesThenDeadLettersWhenServerIsDown() {
+        greenMail.stop();
+        enqueue("[문의 답변] 실패");
+        Long id = created.get(0);
+
+        mailDispatcher.dispatch();
+        MailOutbox first = mailOutboxRepository.findById(id).orElseThrow();
+        assertEquals(MailOutboxStatus.PENDING, first.getStatus());
+        assertEquals(1, first.getAttempts());
+        assertNotNull(first.getLastError());
+
+        mailDispatcher.dispatch();
+        MailOutbox second = mailOutboxRepository.findById(id).orElseThrow();
+        assertEquals(MailOutboxStatus.DEAD, second.getStatus());
+        assertEquals(2, second.getAttempts());
+    }
+
+    @Test
+    void enqueueRequiresCallerTransaction() {
+        assertThrows(Exception.class, () -> mailOutboxService.enqueue("a@example.com", "제목", "내용"));
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.demo.meal;
+
+import com.example.demo.food.model.Food;
+import com.example.demo.meal.NutritionCalculator.NutritionInfo;
+import com.example.demo.meal.NutritionCalculator.NutritionRequirement;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NutritionCalculatorTest {
+
+    private static Food food(Double calories, Double carbs, Double protein, Double fat) {
+        Food food = new Food();
+        food.setCalories(calories);
+        food.setCarbohydrates(carbs);
+        food.setProtein(protein);
+        food.setFat(fat);
+        return food;
+    }
+
+    @Test
+    void sumTreatsMissingValuesAsZero() {
+        NutritionInfo total = NutritionCalculator.sum(List.of(
+                food(300.0, 40.0, null, 5.0),
+                food(200.0, null, 10.0, 2.5)));
+
+        assertEquals(500.0, total.getCalories());
+        assertEquals(40.0, total.getCarbohydrates());
+        assertEquals(10.0, total.getProtein());
+        assertEquals(7.5, total.getFat());
+    }
+
+    @Test
+    void dailyRequirementUsesMifflinStJeor() {
+        NutritionRequirement male = NutritionCalculator.calculateDailyRequirement("남", 175, 70);
+        double bmr = 10 * 70 + 6.25 * 175 - 5 * 21 + 5;
+        assertEquals(bmr * 1.375, male.getCalories(), 1e-9);
+        assertEquals(male.getCalories() * 0.25 / 9, male.getFat(), 1e-9);
+
+        NutritionRequirement female = NutritionCalculator.calculateDailyRequirement("female", 175, 70);
+        assertEquals(166 * 1.375, male.getCalories() - female.getCalories(), 1e-9);
+    }
+
+    @Test
+    void assumedConsumedSkipsEatenAndNextMeal() {
+        NutritionRequirement req = new NutritionRequirement(2000, 250, 125, 55);
+
+        // 아침은 먹었고 다음은 점심 → 저녁(35%)만 가정
+        assertEquals(700, NutritionCalculator.calculateAssumedConsumedNutrition(req, true, false, false, "lunch").getCalories(), 1e-9);
+        // 아무것도 안 먹었고 다음은 아침 → 점심 + 저녁
+        assertEquals(1500, NutritionCalculator.calculateAssumedConsumedNutrition(req, false, false, false, "breakfast").getCalories(), 1e-9);
+    }
+
+    @Test
+    void mergeMealsAndCalendarSummary() {
+        assertEquals("밥", NutritionCalculator.mergeMeals(null, "밥"));
+        assertEquals("", NutritionCalculator.mergeMeals("", null));
+        assertEquals("밥, 김치", NutritionCalculator.mergeMeals("밥", "김치"));
+
+        Diet diet = new Diet();
+        diet.setDietDate(LocalDate.of(2025, 3, 1));
+        diet.setTotalKcal(1800.0);
+        Map<LocalDate, Double> summary = NutritionCalculator.summarizeKcalByDate(List.of(diet));
+        assertEquals(Map.of(LocalDate.of(2025, 3, 1), 1800.0), summary);
+    }
+}
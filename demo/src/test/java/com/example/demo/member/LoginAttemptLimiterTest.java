@@ -0,0 +1,51 @@
+package com.example.demo.member;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginAttemptLimiterTest {
+
+    private final LoginAttemptLimiter limiter = new LoginAttemptLimiter(new SimpleMeterRegistry(), 60, 1000, 3);
+
+    @Test
+    void successfulLoginsAreNotCountedAgainstTheAccount() {
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limiter.tryAcquire("10.0.0.1", "alice"));
+            limiter.recordSuccess("10.0.0.1", "alice");
+        }
+    }
+
+    @Test
+    void failuresFromOneIpDoNotLockOutOtherIps() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire("10.0.0.66", "alice"));
+            limiter.recordFailure("10.0.0.66", "alice");
+        }
+
+        assertFalse(limiter.tryAcquire("10.0.0.66", "alice"));
+        assertTrue(limiter.tryAcquire("10.0.0.1", "alice"));
+        assertTrue(limiter.tryAcquire("10.0.0.66", "bob"));
+    }
+
+    @Test
+    void successResetsFailures() {
+        limiter.recordFailure("10.0.0.1", "alice");
+        limiter.recordFailure("10.0.0.1", "alice");
+        limiter.recordSuccess("10.0.0.1", "alice");
+        limiter.recordFailure("10.0.0.1", "alice");
+        limiter.recordFailure("10.0.0.1", "alice");
+
+        assertTrue(limiter.tryAcquire("10.0.0.1", "alice"));
+    }
+
+    @Test
+    void ipLimitCountsEveryAttempt() {
+        LoginAttemptLimiter strict = new LoginAttemptLimiter(new SimpleMeterRegistry(), 60, 2, 10);
+
+        assertTrue(strict.tryAcquire("10.0.0.1", "alice"));
+        assertTrue(strict.tryAcquire("10.0.0.1", "bob"));
+        assertFalse(strict.tryAcquire("10.0.0.1", "carol"));
+    }
+}
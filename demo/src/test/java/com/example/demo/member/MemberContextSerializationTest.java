@@ -0,0 +1,77 @@
+package com.example.demo.member;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.io.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemberContextSerializationTest {
+
+    @Test
+    void sessionPrincipalRoundTripsWithoutPassword() throws Exception {
+        MemberContext principal = new MemberContext(sampleMember(), List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        principal.eraseCredentials();   // 로그인 후 세션에 들어가는 상태와 동일하게
+
+        MemberContext restored = (MemberContext) deserialize(serialize(principal));
+
+        assertEquals(42L, restored.getNum());
+        assertEquals("tester", restored.getUsername());
+        assertEquals("홍길동", restored.getMemberName());
+        assertTrue(restored.isEnabled());
+        assertEquals(principal.getAuthorities(), restored.getAuthorities());
+        assertEquals("", restored.getPassword());
+    }
+
+    @Test
+    void bytesPerSession() throws Exception {
+        MemberContext principal = new MemberContext(sampleMember(), List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        principal.eraseCredentials();
+        SecurityContextImpl context = new SecurityContextImpl(
+                UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities()));
+
+        int principalBytes = serialize(principal).length;
+        int contextBytes = serialize(context).length;
+
+        assertTrue(principalBytes < 200, "principal serialized size: " + principalBytes);
+        // 세션 저장소(SPRING_SESSION_ATTRIBUTES)에 실제로 들어가는 SPRING_SECURITY_CONTEXT 값 전체
+        assertTrue(contextBytes < 1536, "security context serialized size: " + contextBytes);
+    }
+
+    private static Member sampleMember() {
+        Member member = new Member();
+        member.setNum(42L);
+        member.setMemberId("tester");
+        member.setMemberName("홍길동");
+        member.setPassword("$2a$10$abcdefghijklmnopqrstuuN3Y0jEO8uJbc3wK0y1SbfQy0m1cU2K");
+        member.setSex("남");
+        member.setBirthday(LocalDate.of(2000, 1, 1));
+        member.setHeight(175);
+        member.setWeight(70);
+        member.setEmail("tester@example.com");
+        member.setTel("010-0000-0000");
+        member.setStatus(MemberStatus.ACTIVE);
+        member.setRegDate(LocalDateTime.now());
+        return member;
+    }
+
+    private static byte[] serialize(Object o) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(o);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] data) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            return in.readObject();
+        }
+    }
+}
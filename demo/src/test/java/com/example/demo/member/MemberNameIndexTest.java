@@ -0,0 +1,108 @@
+package com.example.demo.member;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class MemberNameIndexTest {
+
+    private final Map<Long, String> names = new TreeMap<>();
+    private final MemberRepository memberRepository = mock(MemberRepository.class);
+    private final MemberNameIndex index = new MemberNameIndex(memberRepository);
+
+    MemberNameIndexTest() {
+        when(memberRepository.findNamesAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            Pageable page = invocation.getArgument(1);
+            return names.entrySet().stream()
+                    .filter(e -> e.getKey() > after)
+                    .limit(page.getPageSize())
+                    .map(e -> (MemberRepository.NameView) new NameRow(e.getKey(), e.getValue()))
+                    .toList();
+        });
+    }
+
+    private record NameRow(Long num, String memberName) implements MemberRepository.NameView {
+        @Override
+        public Long getNum() {
+            return num;
+        }
+
+        @Override
+        public String getMemberName() {
+            return memberName;
+        }
+    }
+
+    @Test
+    void findsSubstringsAndChoseongNewestFirst() {
+        names.put(1L, "김민수");
+        names.put(2L, "이민수");
+        names.put(3L, "박지민");
+        index.build();
+
+        assertTrue(index.isReady());
+        assertEquals(List.of(2L, 1L), index.search("민수", 10));
+        assertEquals(List.of(3L, 2L, 1L), index.search("민", 10));
+        assertEquals(List.of(1L), index.search("ㄱㅁ", 10));
+        assertEquals(List.of(), index.search("ㄱ", 10));   // 초성 1글자는 검색하지 않음
+        assertEquals(List.of(), index.search("최", 10));
+    }
+
+    @Test
+    void pagesThroughCandidatesWithBeforeNum() {
+        for (long num = 1; num <= 25; num++) names.put(num, "홍길동" + num);
+        index.build();
+
+        List<Long> first = index.search("길동", 10);
+        List<Long> second = index.search("길동", first.get(first.size() - 1), 10);
+        List<Long> third = index.search("길동", second.get(second.size() - 1), 10);
+
+        assertEquals(25L, first.get(0));
+        assertEquals(15L, second.get(0));
+        assertEquals(5, third.size());
+        assertEquals(List.of(), index.search("길동", 1L, 10));
+    }
+
+    @Test
+    void signupAndRenameUpdateTheIndex() {
+        index.build();
+
+        index.update(10L, null, "정다은");
+        assertEquals(List.of(10L), index.search("다은", 10));
+
+        index.update(10L, "정다은", "정하늘");
+        assertEquals(List.of(), index.search("다은", 10));
+        assertEquals(List.of(10L), index.search("하늘", 10));
+    }
+
+    @Test
+    void withdrawalKeepsTheNameSearchable() {
+        // 탈퇴는 상태만 바뀌고 이름은 그대로라 관리자 검색(앞부분 일치와 같게)에 계속 나온다
+        names.put(7L, "탈퇴회원");
+        index.build();
+
+        assertEquals(List.of(7L), index.search("퇴회", 10));
+    }
+
+    @Test
+    void rebuildPicksUpRenamesFromOtherNodes() {
+        names.put(1L, "김민수");
+        index.build();
+
+        names.put(1L, "김철수");   // 다른 노드에서 이름 변경
+        assertEquals(List.of(1L), index.search("민수", 10));
+        index.build();
+
+        assertEquals(List.of(), index.search("민수", 10));
+        assertEquals(List.of(1L), index.search("철수", 10));
+    }
+}
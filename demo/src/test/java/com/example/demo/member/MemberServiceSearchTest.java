@@ -0,0 +1,83 @@
+package com.example.demo.member;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MemberServiceSearchTest {
+
+    private final Map<Long, Member> members = new TreeMap<>();
+    private final MemberRepository memberRepository = mock(MemberRepository.class);
+    private final MemberNameIndex index = new MemberNameIndex(memberRepository);
+    private final MemberService memberService = new MemberService(memberRepository, mock(PasswordEncoder.class),
+            mock(MemberUserCache.class), index);
+
+    MemberServiceSearchTest() {
+        when(memberRepository.findNamesAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            return members.values().stream()
+                    .filter(m -> m.getNum() > after)
+                    .limit(((Pageable) invocation.getArgument(1)).getPageSize())
+                    .map(m -> (MemberRepository.NameView) new MemberRepository.NameView() {
+                        @Override
+                        public Long getNum() {
+                            return m.getNum();
+                        }
+
+                        @Override
+                        public String getMemberName() {
+                            return m.getMemberName();
+                        }
+                    })
+                    .toList();
+        });
+        when(memberRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<Member> found = new ArrayList<>();
+            for (Object num : (Iterable<?>) invocation.getArgument(0)) {
+                if (members.containsKey(num)) found.add(members.get(num));
+            }
+            return found;
+        });
+    }
+
+    private void member(long num, String name) {
+        Member member = new Member();
+        member.setNum(num);
+        member.setMemberName(name);
+        members.put(num, member);
+    }
+
+    @Test
+    void realMatchesBehindManyFalseCandidatesAreFound() {
+        member(1, "김민수");
+        member(2, "김민수");
+        // "김민", "민수" 조각을 모두 가졌지만 "김민수"를 포함하지 않는 후보가 더 최근에 많이 가입
+        for (long num = 1000; num < 1500; num++) member(num, "민수김민");
+        index.build();
+
+        List<Member> result = memberService.search("김민수", 10);
+
+        assertEquals(List.of(2L, 1L), result.stream().map(Member::getNum).toList());
+    }
+
+    @Test
+    void fallsBackToDatabaseBeforeIndexIsReady() {
+        member(1, "김민수");
+        when(memberRepository.findByMemberNameContainingOrderByNumDesc(eq("민수"), any(Pageable.class)))
+                .thenReturn(List.of(members.get(1L)));
+
+        List<Member> result = memberService.search("민수", 10);
+
+        assertEquals(1, result.size());
+        verify(memberRepository, never()).findAllById(anyIterable());
+    }
+}
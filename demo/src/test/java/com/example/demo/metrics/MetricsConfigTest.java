@@ -0,0 +1,60 @@
+package com.example.demo.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsConfigTest {
+
+    @Test
+    void histogramOnlyForConfiguredUris() {
+        MeterFilter filter = MetricsConfig.histogramFor(Set.of("/diet"));
+
+        DistributionStatisticConfig diet = filter.configure(httpTimer("/diet"), DistributionStatisticConfig.DEFAULT);
+        DistributionStatisticConfig notice = filter.configure(httpTimer("/notice"), DistributionStatisticConfig.DEFAULT);
+
+        assertTrue(diet.isPercentileHistogram());
+        assertFalse(Boolean.TRUE.equals(notice.isPercentileHistogram()));
+    }
+
+    private static Meter.Id httpTimer(String uri) {
+        return new Meter.Id(MetricsConfig.HTTP_SERVER_REQUESTS, Tags.of("uri", uri), null, null, Meter.Type.TIMER);
+    }
+
+    @Test
+    void fastApiTimerTagsOutcome() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        FastApiTimer timer = new FastApiTimer(registry);
+
+        assertEquals("ok", timer.record("diet.recommend", () -> "ok"));
+        assertThrows(IllegalStateException.class, () -> timer.record("diet.recommend", () -> {
+            throw new IllegalStateException("down");
+        }));
+
+        assertEquals(1, registry.get("fastapi.requests").tags("call", "diet.recommend", "outcome", "success").timer().count());
+        assertEquals(1, registry.get("fastapi.requests").tags("call", "diet.recommend", "outcome", "error").timer().count());
+    }
+
+    @Test
+    void fastApiTimerRecordsMonoOnCompletion() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        FastApiTimer timer = new FastApiTimer(registry);
+
+        Mono<String> ok = timer.record("food.upload", Mono.just("ok"));
+        assertEquals(0, registry.find("fastapi.requests").timers().size());   // 구독 전에는 기록 없음
+        assertEquals("ok", ok.block());
+        assertThrows(IllegalStateException.class,
+                () -> timer.record("food.upload", Mono.error(new IllegalStateException("down"))).block());
+
+        assertEquals(1, registry.get("fastapi.requests").tags("call", "food.upload", "outcome", "success").timer().count());
+        assertEquals(1, registry.get("fastapi.requests").tags("call", "food.upload", "outcome", "error").timer().count());
+    }
+}
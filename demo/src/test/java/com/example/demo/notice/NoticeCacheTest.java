@@ -0,0 +1,122 @@
+package com.example.demo.notice;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class NoticeCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final NoticeRepository noticeRepository = mock(NoticeRepository.class);
+    // 갱신은 호출한 스레드에서 바로 실행 (Runnable::run), 시간은 advance()로만 흐른다
+    private final NoticeCache cache = new NoticeCache(noticeRepository, new SimpleMeterRegistry(),
+            30, 3600, 10, 2, nanos::get, Runnable::run);
+
+    private static Optional<Notice> notice(int id, String title) {
+        return Optional.of(Notice.builder().noticeId(id).noticeTitle(title).noticeContent("내용")
+                .regDate(LocalDateTime.now()).build());
+    }
+
+    private static Page<NoticeListItem> page(String... titles) {
+        List<NoticeListItem> items = new ArrayList<>();
+        for (int i = 0; i < titles.length; i++) {
+            items.add(new NoticeListItem(i + 1, titles[i], LocalDateTime.now(), null));
+        }
+        return new PageImpl<>(items);
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    void staleNoticeIsServedWhileRefreshing() {
+        when(noticeRepository.findWithAuthorByNoticeId(1)).thenReturn(notice(1, "점검 안내"), notice(1, "점검 안내 (수정)"));
+
+        assertEquals("점검 안내", cache.getNotice(1).getNoticeTitle());
+        assertEquals("점검 안내", cache.getNotice(1).getNoticeTitle());
+        verify(noticeRepository, times(1)).findWithAuthorByNoticeId(1);
+
+        advance(Duration.ofSeconds(31));
+        assertEquals("점검 안내", cache.getNotice(1).getNoticeTitle());   // 기존 값을 주면서 다시 읽음
+        assertEquals("점검 안내 (수정)", cache.getNotice(1).getNoticeTitle());
+        verify(noticeRepository, times(2)).findWithAuthorByNoticeId(1);
+    }
+
+    @Test
+    void failedRefreshKeepsServingStaleValueUntilMaxStale() {
+        when(noticeRepository.findWithAuthorByNoticeId(1))
+                .thenReturn(notice(1, "점검 안내"))
+                .thenThrow(new IllegalStateException("DB down"));
+
+        cache.getNotice(1);
+        advance(Duration.ofSeconds(31));
+        assertEquals("점검 안내", cache.getNotice(1).getNoticeTitle());
+        assertEquals("점검 안내", cache.getNotice(1).getNoticeTitle());
+
+        advance(Duration.ofSeconds(3600));
+        assertThrows(IllegalStateException.class, () -> cache.getNotice(1));
+    }
+
+    @Test
+    void deletedNoticeDropsOutOnRefresh() {
+        when(noticeRepository.findWithAuthorByNoticeId(1)).thenReturn(notice(1, "점검 안내"), Optional.empty());
+
+        cache.getNotice(1);
+        advance(Duration.ofSeconds(31));
+        cache.getNotice(1);   // 갱신에서 없음 -> 항목 제거
+        assertNull(cache.getNotice(1));
+    }
+
+    @Test
+    void missingNoticesAreNotCachedAndDoNotEvictRealOnes() {
+        when(noticeRepository.findWithAuthorByNoticeId(any())).thenReturn(Optional.empty());
+        when(noticeRepository.findWithAuthorByNoticeId(1)).thenReturn(notice(1, "점검 안내"));
+        cache.getNotice(1);
+
+        // max-notices(2)보다 훨씬 많은 없는 ID 조회
+        for (int id = 1000; id < 1100; id++) {
+            assertNull(cache.getNotice(id));
+        }
+        assertNull(cache.getNotice(1000));
+        verify(noticeRepository, times(2)).findWithAuthorByNoticeId(1000);   // 매번 DB 확인
+
+        assertEquals("점검 안내", cache.getNotice(1).getNoticeTitle());
+        verify(noticeRepository, times(1)).findWithAuthorByNoticeId(1);
+    }
+
+    @Test
+    void saveNoticeEvictsCachedPages() {
+        NoticeService noticeService = new NoticeService(noticeRepository, cache, mock(NoticeSearchIndex.class));
+        when(noticeRepository.findListItems(any())).thenReturn(page("기존 공지"), page("새 공지", "기존 공지"));
+        when(noticeRepository.findWithAuthorByNoticeId(2)).thenReturn(Optional.empty(), notice(2, "새 공지"));
+        when(noticeRepository.save(any())).thenAnswer(invocation -> {
+            Notice saved = invocation.getArgument(0);
+            saved.setNoticeId(2);
+            return saved;
+        });
+
+        assertEquals(1, noticeService.getNoticeList(PageRequest.of(0, 10)).getContent().size());
+        assertEquals(1, noticeService.getNoticeList(PageRequest.of(0, 10)).getContent().size());
+        assertNull(noticeService.findById(2));   // 등록 전에 조회된 ID
+
+        noticeService.saveNotice("새 공지", "내용");
+
+        assertEquals(2, noticeService.getNoticeList(PageRequest.of(0, 10)).getContent().size());
+        assertEquals("새 공지", noticeService.findById(2).getNoticeTitle());
+        verify(noticeRepository, times(2)).findListItems(any());
+    }
+}
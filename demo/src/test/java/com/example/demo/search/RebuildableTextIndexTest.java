@@ -0,0 +1,71 @@
+package com.example.demo.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RebuildableTextIndexTest {
+
+    private static List<Long> ids(RebuildableTextIndex index, String query) {
+        return index.search(query, null, 10).getHits().stream().map(SearchHit::getId).toList();
+    }
+
+    @Test
+    void rebuildPicksUpDocumentsSavedOrDeletedElsewhere() {
+        RebuildableTextIndex index = new RebuildableTextIndex(3);
+        index.put(1, "서버 점검", "");
+        index.put(2, "점검 완료", "");
+
+        // DB에는 1번이 지워지고 3번이 다른 노드에서 추가된 상태
+        index.rebuild(rebuilt -> {
+            rebuilt.put(2, "점검 완료", "");
+            rebuilt.put(3, "정기 점검", "");
+        });
+
+        assertEquals(List.of(3L, 2L), ids(index, "점검"));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void putsDuringRebuildAreReplayedIntoNewIndex() {
+        RebuildableTextIndex index = new RebuildableTextIndex(3);
+        index.put(1, "서버 점검", "");
+
+        index.rebuild(rebuilt -> {
+            rebuilt.put(1, "서버 점검", "");
+            // DB를 읽은 뒤 이 노드에서 저장된 공지 (새 인덱스의 읽기 결과에는 없음)
+            index.put(2, "긴급 점검", "");
+            assertEquals(List.of(2L, 1L), ids(index, "점검"));   // 만드는 동안에도 기존 인덱스에 바로 반영
+        });
+
+        assertEquals(List.of(2L, 1L), ids(index, "점검"));
+    }
+
+    @Test
+    void failedRebuildKeepsOldIndexAndAllowsRetry() {
+        RebuildableTextIndex index = new RebuildableTextIndex(3);
+        index.put(1, "서버 점검", "");
+
+        assertThrows(IllegalStateException.class, () -> index.rebuild(rebuilt -> {
+            throw new IllegalStateException("DB down");
+        }));
+        assertEquals(List.of(1L), ids(index, "점검"));
+
+        index.rebuild(rebuilt -> rebuilt.put(2, "정기 점검", ""));
+        assertEquals(List.of(2L), ids(index, "점검"));
+    }
+
+    @Test
+    void concurrentRebuildIsSkipped() {
+        RebuildableTextIndex index = new RebuildableTextIndex(3);
+
+        index.rebuild(rebuilt -> {
+            rebuilt.put(1, "서버 점검", "");
+            index.rebuild(inner -> fail("이미 만드는 중이면 다시 만들지 않는다"));
+        });
+
+        assertEquals(List.of(1L), ids(index, "점검"));
+    }
+}
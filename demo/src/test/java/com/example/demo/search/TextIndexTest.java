@@ -0,0 +1,89 @@
+package com.example.demo.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextIndexTest {
+
+    @Test
+    void findsKoreanSubstringsAndRanksTitleMatchesFirst() {
+        TextIndex index = new TextIndex(3);
+        index.put(1, "식단 기록 안내", "아침 식단을 기록하세요");
+        index.put(2, "서버 점검", "점검 중에는 식단 기록이 잠시 중단됩니다");
+        index.put(3, "이벤트", "사진 분석 이벤트");
+
+        SearchPage page = index.search("식단 기록", null, 10);
+
+        assertEquals(2, page.getMatchCount());
+        assertEquals(List.of(1L, 2L), page.getHits().stream().map(SearchHit::getId).toList());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void allTermsMustMatch() {
+        TextIndex index = new TextIndex(3);
+        index.put(1, "비밀번호 변경", "");
+        index.put(2, "비밀 이야기", "");
+
+        assertEquals(1, index.search("비밀번호", null, 10).getMatchCount());
+        assertEquals(0, index.search("없는단어", null, 10).getMatchCount());
+    }
+
+    @Test
+    void cursorPagingVisitsEveryMatchOnce() {
+        TextIndex index = new TextIndex(3);
+        for (long id = 1; id <= 95; id++) {
+            index.put(id, "문의 " + id, "칼로리 계산이 이상합니다".repeat((int) (id % 4) + 1));
+        }
+
+        Set<Long> seen = new HashSet<>();
+        SearchCursor cursor = null;
+        int pages = 0;
+        do {
+            SearchPage page = index.search("칼로리", cursor, 10);
+            page.getHits().forEach(hit -> assertTrue(seen.add(hit.getId()), "duplicate " + hit.getId()));
+            cursor = SearchCursor.decode(page.getNextCursor());
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(95, seen.size());
+        assertEquals(10, pages);
+    }
+
+    @Test
+    void putReplacesAndRemoveDeletes() {
+        TextIndex index = new TextIndex(3);
+        index.put(1, "공지", "식단 기록");
+        index.put(1, "공지", "사진 분석");
+
+        assertEquals(0, index.search("식단", null, 10).getMatchCount());
+        assertEquals(1, index.search("사진", null, 10).getMatchCount());
+
+        index.remove(1);
+        assertEquals(0, index.search("사진", null, 10).getMatchCount());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void largeBacklogReturnsExactMatchCount() {
+        TextIndex index = new TextIndex(3);
+        String[] words = {"식단", "기록", "칼로리", "사진", "분석", "회원", "탈퇴", "비밀번호", "로그인", "오류", "감정", "음식"};
+        int expected = 0;
+        for (long id = 1; id <= 100_000; id++) {
+            String title = words[(int) (id * 3 % words.length)] + " 관련";
+            String body = words[(int) (id % words.length)] + " " + words[(int) (id * 7 % words.length)] + " 문의드립니다";
+            index.put(id, title, body);
+            if ((title + " " + body).contains("칼로리")) expected++;
+        }
+
+        SearchPage page = index.search("칼로리 관련", null, 10);
+
+        assertEquals(expected, page.getMatchCount());
+        assertEquals(10, page.getHits().size());
+    }
+}
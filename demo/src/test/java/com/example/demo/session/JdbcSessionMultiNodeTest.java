@@ -0,0 +1,211 @@
+package com.example.demo.session;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.member.MemberRepository;
+import com.example.demo.member.MemberService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * jdbc-session 프로필로 노드 2대를 띄우고, 노드 A에서 만든 로그인 세션으로 노드 B를 호출한다. (sticky session 없이 동작하는지 확인)
+ * 한 노드에서 바꾼 비밀번호/회원정보가 다른 노드에 바로 반영되는지도 확인한다. (노드별 로그인 캐시와 2차 캐시를 끄는 설정)
+ * 로컬 MariaDB(application.properties의 datasource)가 필요하고 앱 노드 2대를 띄우므로 기본 test에서는 빠진다. (./gradlew integrationTest)
+ */
+@Tag("integration")
+class JdbcSessionMultiNodeTest {
+
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\" value=\"([^\"]+)\"");
+    private static final Pattern SESSION_COOKIE = Pattern.compile("SESSION=([^;]+)");
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+    private static final HttpClient client = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = startNode();
+        nodeB = startNode();
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeA != null) nodeA.close();
+        if (nodeB != null) nodeB.close();
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(DemoApplication.class)
+                .profiles("jdbc-session")
+                .properties("server.port=0")
+                .run();
+    }
+
+    private static String baseUrl(ConfigurableApplicationContext node) {
+        return "http://localhost:" + ((WebServerApplicationContext) node).getWebServer().getPort();
+    }
+
+    @Test
+    void sessionCreatedOnOneNodeIsValidOnTheOther() throws Exception {
+        String session = signUpOn(baseUrl(nodeA));
+
+        HttpResponse<String> mypage = get(baseUrl(nodeB) + "/member/mypage", session);
+        assertEquals(200, mypage.statusCode(), "노드 B에서 노드 A의 세션이 인식되지 않음");
+    }
+
+    @Test
+    void concurrentRequestsAlternatingNodes() throws Exception {
+        String session = signUpOn(baseUrl(nodeA));
+        List<String> nodes = List.of(baseUrl(nodeA), baseUrl(nodeB));
+
+        int requests = 200;
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                String node = nodes.get(i % nodes.size());
+                results.add(pool.submit(() -> get(node + "/member/mypage", session).statusCode()));
+            }
+            int ok = 0;
+            for (Future<Integer> result : results) {
+                if (result.get(30, TimeUnit.SECONDS) == 200) ok++;
+            }
+            assertEquals(requests, ok);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void passwordChangedOnOneNodeIsRejectedOnTheOther() throws Exception {
+        String memberId = newMemberId();
+        String session = signUpOn(baseUrl(nodeA), memberId);
+        assertTrue(login(baseUrl(nodeB), memberId, "pw-" + memberId), "노드 B 로그인 실패");   // 캐시가 켜져 있으면 여기서 노드 B에 올라간다
+
+        HttpResponse<String> form = get(baseUrl(nodeA) + "/member/modify", session);
+        Map<String, String> fields = new HashMap<>(memberFields(memberId, "new-" + memberId));
+        fields.put("_csrf", csrf(form));
+        HttpResponse<String> modify = post(baseUrl(nodeA) + "/member/modify", session, fields);
+        assertEquals(302, modify.statusCode(), "회원정보 수정 실패");
+
+        assertFalse(login(baseUrl(nodeB), memberId, "pw-" + memberId), "노드 B가 옛 비밀번호를 받아들임");
+        assertTrue(login(baseUrl(nodeB), memberId, "new-" + memberId), "노드 B가 새 비밀번호를 거부함");
+    }
+
+    @Test
+    void profileChangedOnOneNodeIsReadFreshOnTheOther() throws Exception {
+        String memberId = newMemberId();
+        String session = signUpOn(baseUrl(nodeA), memberId);
+        Long num = nodeA.getBean(MemberRepository.class).findByMemberId(memberId).orElseThrow().getNum();
+        MemberService memberServiceB = nodeB.getBean(MemberService.class);
+        assertEquals(175, memberServiceB.findByNum(num).orElseThrow().getHeight().intValue());   // 캐시가 켜져 있으면 여기서 노드 B에 올라간다
+
+        HttpResponse<String> form = get(baseUrl(nodeA) + "/member/modify", session);
+        Map<String, String> fields = new HashMap<>(memberFields(memberId, "pw-" + memberId));
+        fields.put("height", "180");
+        fields.put("_csrf", csrf(form));
+        assertEquals(302, post(baseUrl(nodeA) + "/member/modify", session, fields).statusCode(), "회원정보 수정 실패");
+
+        assertEquals(180, memberServiceB.findByNum(num).orElseThrow().getHeight().intValue(), "노드 B가 옛 회원정보를 줌");
+    }
+
+    private static String newMemberId() {
+        return "mn" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private static Map<String, String> memberFields(String memberId, String password) {
+        return Map.of(
+                "memberId", memberId,
+                "memberName", "세션테스트",
+                "password1", password,
+                "password2", password,
+                "sex", "남",
+                "birthday", "2000-01-01",
+                "height", "175",
+                "weight", "70");
+    }
+
+    private static String signUpOn(String baseUrl) throws Exception {
+        return signUpOn(baseUrl, newMemberId());
+    }
+
+    // 회원가입 후 자동 로그인된 세션 쿠키 값을 돌려준다
+    private static String signUpOn(String baseUrl, String memberId) throws Exception {
+        HttpResponse<String> form = get(baseUrl + "/member/signup", null);
+        String session = sessionCookie(form, null);
+        Map<String, String> fields = new HashMap<>(memberFields(memberId, "pw-" + memberId));
+        fields.put("_csrf", csrf(form));
+
+        HttpResponse<String> signup = post(baseUrl + "/member/signup", session, fields);
+        assertEquals(302, signup.statusCode(), "회원가입 실패");
+        return sessionCookie(signup, session);  // 로그인 시 세션 ID가 바뀐다
+    }
+
+    // 새 세션으로 로그인 폼을 제출한다. 실패하면 /member/login?error=...로 돌아간다
+    private static boolean login(String baseUrl, String memberId, String password) throws Exception {
+        HttpResponse<String> form = get(baseUrl + "/member/login", null);
+        HttpResponse<String> login = post(baseUrl + "/member/login", sessionCookie(form, null),
+                Map.of("_csrf", csrf(form), "memberId", memberId, "password", password));
+        assertEquals(302, login.statusCode());
+        return !login.headers().firstValue("Location").orElse("").contains("/member/login");
+    }
+
+    private static String csrf(HttpResponse<String> form) {
+        Matcher csrf = CSRF.matcher(form.body());
+        assertTrue(csrf.find(), "CSRF 토큰 없음");
+        return csrf.group(1);
+    }
+
+    private static HttpResponse<String> post(String url, String session, Map<String, String> fields) throws Exception {
+        String body = fields.entrySet().stream()
+                .map(e -> e.getKey() + "=" + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+        return client.send(HttpRequest.newBuilder(URI.create(url))
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .header("Cookie", "SESSION=" + session)
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpResponse<String> get(String url, String session) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url)).GET();
+        if (session != null) {
+            request.header("Cookie", "SESSION=" + session);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String sessionCookie(HttpResponse<?> response, String fallback) {
+        return response.headers().allValues("Set-Cookie").stream()
+                .map(SESSION_COOKIE::matcher)
+                .filter(Matcher::find)
+                .map(m -> m.group(1))
+                .findFirst()
+                .orElse(fallback);
+    }
+}
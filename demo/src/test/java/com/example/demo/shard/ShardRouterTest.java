@@ -0,0 +1,61 @@
+package com.example.demo.shard;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardRouterTest {
+
+    private static final int MEMBERS = 100_000;
+
+    @Test
+    void sequentialMemberNumbersSpreadEvenly() {
+        int shards = 4;
+        int[] counts = new int[shards];
+        ShardRouter router = new ShardRouter(shards);
+        for (long num = 1; num <= MEMBERS; num++) {
+            counts[router.shardOf(num)]++;
+        }
+        for (int count : counts) {
+            assertEquals(MEMBERS / shards, count, MEMBERS / shards * 0.05);
+        }
+    }
+
+    @Test
+    void addingShardMovesOnlyItsShareAndOnlyToTheNewShard() {
+        int moved = 0;
+        for (long num = 1; num <= MEMBERS; num++) {
+            int before = ShardRouter.shardOf(num, 4);
+            int after = ShardRouter.shardOf(num, 5);
+            if (before != after) {
+                assertEquals(4, after, "member " + num);
+                moved++;
+            }
+        }
+        assertEquals(MEMBERS / 5, moved, MEMBERS / 5 * 0.05);
+    }
+
+    @Test
+    void singleShardAndStableResults() {
+        assertEquals(0, new ShardRouter(1).shardOf(12345));
+        assertEquals(new ShardRouter(8).shardOf(777), new ShardRouter(8).shardOf(777));
+        assertThrows(IllegalArgumentException.class, () -> new ShardRouter(0));
+    }
+
+    @Test
+    void shardDdlDropsForeignKeys() {
+        String ddl = ShardSchemaInitializer.shardDdl("""
+                CREATE TABLE `food` (
+                  `id` bigint(20) NOT NULL AUTO_INCREMENT,
+                  `member_num` bigint(20) NOT NULL,
+                  PRIMARY KEY (`id`),
+                  KEY `FKmember` (`member_num`),
+                  CONSTRAINT `FKmember` FOREIGN KEY (`member_num`) REFERENCES `member` (`num`)
+                ) ENGINE=InnoDB AUTO_INCREMENT=42 DEFAULT CHARSET=utf8mb4""");
+
+        assertTrue(ddl.startsWith("CREATE TABLE IF NOT EXISTS `food`"));
+        assertFalse(ddl.contains("FOREIGN KEY"));
+        assertFalse(ddl.contains("AUTO_INCREMENT=42"));
+        assertTrue(ddl.contains("KEY `FKmember` (`member_num`)\n) ENGINE=InnoDB"));
+    }
+}
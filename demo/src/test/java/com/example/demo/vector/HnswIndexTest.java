@@ -0,0 +1,92 @@
+package com.example.demo.vector;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * HNSW 재현율을 전체 비교(BruteForceIndex)와 비교한다. (검색 시간 비교는 src/jmh의 VectorSearchBenchmark)
+ * 데이터는 감정 임베딩과 같은 384차원의 군집형 난수 벡터.
+ */
+class HnswIndexTest {
+
+    private static final int DIM = 384;
+    private static final int K = 10;
+
+    private static VectorStore clusteredVectors(int count, Random random) {
+        float[][] centers = new float[50][DIM];
+        for (float[] center : centers) {
+            for (int i = 0; i < DIM; i++) center[i] = (float) random.nextGaussian();
+        }
+        VectorStore store = new VectorStore(DIM, count);
+        float[] v = new float[DIM];
+        for (int n = 0; n < count; n++) {
+            float[] center = centers[random.nextInt(centers.length)];
+            for (int i = 0; i < DIM; i++) v[i] = center[i] + (float) random.nextGaussian() * 0.5f;
+            store.add(v);
+        }
+        return store;
+    }
+
+    @Test
+    void recallAgainstBruteForce() {
+        Random random = new Random(7);
+        VectorStore store = clusteredVectors(10_000, random);
+        BruteForceIndex exact = new BruteForceIndex(store);
+        HnswIndex hnsw = HnswIndex.build(store, 16, 200, 64);
+
+        int queries = 200;
+        float[][] queryVectors = new float[queries][];
+        for (int q = 0; q < queries; q++) {
+            float[] base = store.get(random.nextInt(store.size()));
+            for (int i = 0; i < DIM; i++) base[i] += (float) random.nextGaussian() * 0.1f;
+            queryVectors[q] = base;
+        }
+
+        int hits = 0;
+        for (float[] q : queryVectors) {
+            List<Neighbor> truth = exact.search(q, K);
+            List<Neighbor> approx = hnsw.search(q, K);
+
+            Set<Integer> truthIds = new HashSet<>();
+            truth.forEach(n -> truthIds.add(n.id()));
+            for (Neighbor n : approx) if (truthIds.contains(n.id())) hits++;
+        }
+        double recall = (double) hits / (queries * K);
+
+        assertTrue(recall >= 0.9, "recall " + recall);
+    }
+
+    @Test
+    void exactMatchIsNearest() {
+        VectorStore store = clusteredVectors(2_000, new Random(1));
+        HnswIndex hnsw = HnswIndex.build(store, 16, 100, 32);
+
+        for (int id = 0; id < 50; id++) {
+            assertEquals(id, hnsw.search(store.get(id), 1).get(0).id());
+        }
+    }
+
+    @Test
+    void readsFaissFlatIndexFromPredictDirectory() throws IOException {
+        Path file = Path.of("../Predict/emotion_vectors.faiss");
+        assumeTrue(Files.exists(file), "Predict/emotion_vectors.faiss 없음");
+
+        VectorStore store = FaissFlatReader.read(file);
+        assertEquals(384, store.dim());
+        assertEquals(7, store.size());
+
+        List<Neighbor> nearest = new BruteForceIndex(store).search(store.get(3), 3);
+        assertEquals(3, nearest.get(0).id());
+        assertEquals(0f, nearest.get(0).distance(), 1e-6);
+    }
+}